@@ -22,6 +22,19 @@ public class Camera {
         this.far = 100.0f;
     }
 
+    /**
+     * Копия камеры, например, для рендера кадра в другом потоке
+     */
+    public Camera(Camera other) {
+        this.position = other.position;
+        this.target = other.target;
+        this.up = other.up;
+        this.fov = other.fov;
+        this.aspect = other.aspect;
+        this.near = other.near;
+        this.far = other.far;
+    }
+
     public Vector3D getPosition() { return position; }
     public Vector3D getTarget() { return target; }
     public Vector3D getUp() { return up; }
@@ -34,6 +47,11 @@ public class Camera {
     public void setFov(float fov) { this.fov = fov; }
     public void setAspectRatio(float aspect) { this.aspect = aspect; }
 
+    public float getNear() { return near; }
+    public float getFar() { return far; }
+    public void setNear(float near) { this.near = near; }
+    public void setFar(float far) { this.far = far; }
+
     public Matrix4x4 getViewMatrix() {
         return Matrix4x4.lookAt(position, target, up);
     }
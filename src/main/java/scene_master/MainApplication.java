@@ -1,13 +1,13 @@
 package scene_master;
 
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.collections.ListChangeListener;
 import javafx.concurrent.Task;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
-import javafx.scene.image.Image;
 import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyCombination;
 import javafx.scene.input.KeyEvent;
@@ -28,7 +28,9 @@ import scene_master.model.Model3D;
 import scene_master.model.ModelWrapper;
 import scene_master.reader.ObjReader;
 import scene_master.renderer.RenderPanel;
+import scene_master.renderer.AsyncTextureLoader;
 import scene_master.renderer.TextureManager;
+import scene_master.renderer.TripleBuffer;
 import scene_master.util.DialogHelper;
 import scene_master.util.ErrorHandler;
 import scene_master.writer.ObjWriter;
@@ -38,6 +40,8 @@ import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 
 public class MainApplication extends Application {
@@ -50,11 +54,23 @@ public class MainApplication extends Application {
     private EditManager editManager = new EditManager();
     private String currentTheme = "dark";
     private RenderPanel renderPanel;
+    // Фоновая загрузка текстур; модель и интерфейс обновляются в FX-потоке
+    private final AsyncTextureLoader textureLoader = new AsyncTextureLoader(TextureManager.getInstance(), Platform::runLater);
 
     private CheckMenuItem useTextureMenuItem;
     private CheckMenuItem useLightingMenuItem;
     private CheckMenuItem showWireframeMenuItem;
+    private CheckMenuItem wireframeDepthTestMenuItem;
     private CheckMenuItem showVerticesMenuItem;
+    private CheckMenuItem parallelRasterMenuItem;
+    private CheckMenuItem backFaceCullingMenuItem;
+    private CheckMenuItem occlusionCullingMenuItem;
+    private CheckMenuItem deferredShadingMenuItem;
+    private CheckMenuItem fixedPointRasterMenuItem;
+    private CheckMenuItem gouraudShadingMenuItem;
+    private CheckMenuItem adaptiveResolutionMenuItem;
+    private CheckMenuItem progressiveRenderingMenuItem;
+    private CheckMenuItem mipmappingMenuItem;
 
     @Override
     public void start(Stage primaryStage) {
@@ -140,9 +156,22 @@ public class MainApplication extends Application {
 
         Menu viewMenu = new Menu("Вид");
         showWireframeMenuItem = new CheckMenuItem("Показать каркас");
+        wireframeDepthTestMenuItem = new CheckMenuItem("Скрывать невидимые рёбра");
         showVerticesMenuItem = new CheckMenuItem("Показать вершины");
         useTextureMenuItem = new CheckMenuItem("Использовать текстуру");
         useLightingMenuItem = new CheckMenuItem("Использовать освещение");
+        parallelRasterMenuItem = new CheckMenuItem("Параллельная растеризация");
+        backFaceCullingMenuItem = new CheckMenuItem("Отсекать задние грани");
+        backFaceCullingMenuItem.setSelected(true);
+        occlusionCullingMenuItem = new CheckMenuItem("Отсекать перекрытые (Hi-Z)");
+        occlusionCullingMenuItem.setSelected(true);
+        deferredShadingMenuItem = new CheckMenuItem("Отложенное затенение");
+        fixedPointRasterMenuItem = new CheckMenuItem("Целочисленная растеризация");
+        gouraudShadingMenuItem = new CheckMenuItem("Освещение по вершинам (Гуро)");
+        adaptiveResolutionMenuItem = new CheckMenuItem("Адаптивное разрешение при вращении");
+        progressiveRenderingMenuItem = new CheckMenuItem("Прогрессивный рендер");
+        mipmappingMenuItem = new CheckMenuItem("Мип-уровни текстур");
+        mipmappingMenuItem.setSelected(true);
 
         MenuItem darkThemeItem = new MenuItem("Тёмная тема");
         MenuItem lightThemeItem = new MenuItem("Светлая тема");
@@ -151,6 +180,9 @@ public class MainApplication extends Application {
         showWireframeMenuItem.selectedProperty().addListener((obs, oldVal, newVal) -> {
             if (renderPanel != null) renderPanel.setRenderWireframe(newVal);
         });
+        wireframeDepthTestMenuItem.selectedProperty().addListener((obs, oldVal, newVal) -> {
+            if (renderPanel != null) renderPanel.setWireframeDepthTest(newVal);
+        });
         showVerticesMenuItem.selectedProperty().addListener((obs, oldVal, newVal) -> {
             if (renderPanel != null) renderPanel.setShowVertices(newVal);
         });
@@ -160,15 +192,46 @@ public class MainApplication extends Application {
         useLightingMenuItem.selectedProperty().addListener((obs, oldVal, newVal) -> {
             if (renderPanel != null) renderPanel.setUseLighting(newVal);
         });
+        parallelRasterMenuItem.selectedProperty().addListener((obs, oldVal, newVal) -> {
+            if (renderPanel != null) renderPanel.setParallelRasterization(newVal);
+        });
+        backFaceCullingMenuItem.selectedProperty().addListener((obs, oldVal, newVal) -> {
+            if (renderPanel != null) renderPanel.setBackFaceCulling(newVal);
+        });
+        occlusionCullingMenuItem.selectedProperty().addListener((obs, oldVal, newVal) -> {
+            if (renderPanel != null) renderPanel.setOcclusionCulling(newVal);
+        });
+        deferredShadingMenuItem.selectedProperty().addListener((obs, oldVal, newVal) -> {
+            if (renderPanel != null) renderPanel.setDeferredShading(newVal);
+        });
+        fixedPointRasterMenuItem.selectedProperty().addListener((obs, oldVal, newVal) -> {
+            if (renderPanel != null) renderPanel.setFixedPointRasterization(newVal);
+        });
+        gouraudShadingMenuItem.selectedProperty().addListener((obs, oldVal, newVal) -> {
+            if (renderPanel != null) renderPanel.setGouraudShading(newVal);
+        });
+        adaptiveResolutionMenuItem.selectedProperty().addListener((obs, oldVal, newVal) -> {
+            if (renderPanel != null) renderPanel.setAdaptiveResolution(newVal);
+        });
+        progressiveRenderingMenuItem.selectedProperty().addListener((obs, oldVal, newVal) -> {
+            if (renderPanel != null) renderPanel.setProgressiveRendering(newVal);
+        });
+        mipmappingMenuItem.selectedProperty().addListener((obs, oldVal, newVal) -> {
+            if (renderPanel != null) renderPanel.setMipmapping(newVal);
+        });
 
         darkThemeItem.setOnAction(e -> switchTheme("dark"));
         lightThemeItem.setOnAction(e -> switchTheme("light"));
         resetViewItem.setOnAction(e -> resetCamera());
 
         viewMenu.getItems().addAll(
-                showWireframeMenuItem, showVerticesMenuItem,
+                showWireframeMenuItem, wireframeDepthTestMenuItem, showVerticesMenuItem,
                 useTextureMenuItem, useLightingMenuItem,
                 new SeparatorMenuItem(),
+                parallelRasterMenuItem, backFaceCullingMenuItem, occlusionCullingMenuItem, deferredShadingMenuItem,
+                fixedPointRasterMenuItem, gouraudShadingMenuItem, adaptiveResolutionMenuItem,
+                progressiveRenderingMenuItem, mipmappingMenuItem,
+                new SeparatorMenuItem(),
                 darkThemeItem, lightThemeItem,
                 new SeparatorMenuItem(),
                 resetViewItem
@@ -205,48 +268,33 @@ public class MainApplication extends Application {
         File file = fileChooser.showOpenDialog(primaryStage);
 
         if (file != null) {
-            showLoadingIndicator(true);
-
-            Task<Image> textureTask = new Task<>() {
-                @Override
-                protected Image call() throws Exception {
-                    return new Image(file.toURI().toString(), false);
-                }
-            };
-
-            textureTask.setOnSucceeded(event -> {
-                Image texture = textureTask.getValue();
-                if (texture.isError()) {
-                    ErrorHandler.handleException(new RuntimeException("Ошибка загрузки текстуры"), "загрузка текстуры");
-                    showLoadingIndicator(false);
-                    return;
-                }
-
-                activeModel.setTexture(texture);
-                if (activeModel.getTextureCoords().isEmpty()) {
-                    activeModel.generateUVFromGeometry();
-                }
-
-                if (renderPanel != null) {
-                    renderPanel.setUseTexture(true);
-                    useTextureMenuItem.setSelected(true);
-                    renderPanel.render();
-                }
+            if (activeModel.getTextureCoords().isEmpty()) {
+                activeModel.generateUVFromGeometry();
+            }
 
+            // Пока файл раскодируется в фоне, модель показывает шахматку; по готовности — одна перерисовка
+            textureLoader.load(activeModel, file, () -> {
+                if (renderPanel != null) renderPanel.render();
+            }).whenComplete((texture, error) -> {
                 updateModelPropertiesPanel(activeModel);
-                showLoadingIndicator(false);
                 updateStatusBarTextureInfo();
-
+                // Загрузку перебила более новая для той же модели: эта текстура не применялась
+                if (error instanceof CancellationException) return;
+                if (error != null) {
+                    ErrorHandler.handleException(error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause() : error, "загрузка текстуры");
+                    return;
+                }
                 DialogHelper.showInfoDialog("Текстура загружена",
                         "Текстура '" + file.getName() + "' применена к модели");
             });
 
-            textureTask.setOnFailed(event -> {
-                showLoadingIndicator(false);
-                ErrorHandler.handleException(textureTask.getException(), "загрузка текстуры");
-            });
-
-            new Thread(textureTask).start();
+            if (renderPanel != null) {
+                renderPanel.setUseTexture(true);
+                useTextureMenuItem.setSelected(true);
+                renderPanel.render();
+            }
+            updateModelPropertiesPanel(activeModel);
         }
     }
 
@@ -536,6 +584,10 @@ public class MainApplication extends Application {
         slider.setMinWidth(100);
         slider.setMaxWidth(Double.MAX_VALUE);
         HBox.setHgrow(slider, Priority.ALWAYS);
+        // Пока ползунок тянут, сцена рисуется как при вращении камеры (адаптивное разрешение)
+        slider.valueProperty().addListener((obs, oldVal, newVal) -> {
+            if (slider.isValueChanging() && renderPanel != null) renderPanel.notifyInteraction();
+        });
         return slider;
     }
 
@@ -570,11 +622,24 @@ public class MainApplication extends Application {
         textureInfoLabel.setTextFill(Color.GRAY);
         Label modelInfoLabel = new Label("Моделей: 0");
         modelInfoLabel.setId("model-count");
+        Label culledLabel = new Label("Отсечено: 0 моделей, 0 треугольников");
+        culledLabel.setId("culled-count");
+        Label occludedLabel = new Label("Перекрыто: 0 моделей, 0 треугольников");
+        occludedLabel.setId("occluded-count");
+
+        renderPanel.setRenderListener(() -> {
+            TripleBuffer.Frame frame = renderPanel.getPresentedFrame();
+            culledLabel.setText(String.format("Отсечено: %d моделей, %d треугольников",
+                    frame.getCulledModelCount(), frame.getCulledTriangleCount()));
+            occludedLabel.setText(String.format("Перекрыто: %d моделей, %d треугольников",
+                    frame.getOccludedModelCount(), frame.getOccludedTriangleCount()));
+        });
 
         statusBar.getChildren().addAll(
                 statusLabel, editModeLabel, new Separator(),
                 vertexCountLabel, polygonCountLabel, textureCountLabel, normalCountLabel,
-                new Separator(), textureInfoLabel, new Separator(), modelInfoLabel
+                new Separator(), textureInfoLabel, new Separator(), modelInfoLabel,
+                new Separator(), culledLabel, occludedLabel
         );
         return statusBar;
     }
@@ -1087,6 +1152,8 @@ public class MainApplication extends Application {
                 duplicate.scaleZProperty().set(original.scaleZProperty().get());
 
                 duplicate.setTexture(original.getTexture());
+                duplicate.setTextureHandle(original.getTextureHandle());
+                duplicate.setTextureWrap(original.getTextureWrap());
                 duplicate.setBaseColor(original.getBaseColor());
 
                 ModelWrapper newWrapper = new ModelWrapper(null, duplicate.getName());
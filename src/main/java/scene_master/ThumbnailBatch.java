@@ -0,0 +1,226 @@
+package scene_master;
+
+import math.Camera;
+import scene_master.model.Model;
+import scene_master.model.Model3D;
+import scene_master.model.ModelWrapper;
+import scene_master.reader.ObjReader;
+import scene_master.renderer.OffscreenRenderer;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Пакетный рендер превью без JavaFX: каждый OBJ из входной папки читается ObjReader, триангулируется
+ * (через ModelWrapper, как при открытии в редакторе), кадрируется по ограничивающей сфере и сохраняется
+ * в PNG с тем же именем. Файлы разбирают threads потоков, у каждого свой OffscreenRenderer, поэтому
+ * в памяти одновременно не больше threads моделей и буферов кадра. В конце печатается сводка времени.
+ *
+ * Запуск: ThumbnailBatch <входная папка> <выходная папка> [размер: 256 или 320x240] [потоки]
+ */
+public class ThumbnailBatch {
+    private static final int DEFAULT_SIZE = 256;
+    // Итоги ObjReader по каждому файлу перемешались бы со сводкой в System.out
+    private static final PrintStream QUIET = new PrintStream(OutputStream.nullOutputStream());
+
+    /**
+     * Результат обработки одного файла; время в наносекундах, error == null при успехе
+     */
+    public static class Result {
+        private final File file;
+        private int triangleCount;
+        private long loadNanos;
+        private long renderNanos;
+        private long writeNanos;
+        private String error;
+
+        Result(File file) {
+            this.file = file;
+        }
+
+        public File getFile() { return file; }
+        public int getTriangleCount() { return triangleCount; }
+        public long getLoadNanos() { return loadNanos; }
+        public long getRenderNanos() { return renderNanos; }
+        public long getWriteNanos() { return writeNanos; }
+        public long getTotalNanos() { return loadNanos + renderNanos + writeNanos; }
+        public String getError() { return error; }
+        public boolean isSuccessful() { return error == null; }
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 2 || args.length > 4) {
+            System.err.println("Использование: ThumbnailBatch <входная папка> <выходная папка> "
+                    + "[размер: " + DEFAULT_SIZE + " или 320x240] [потоки]");
+            System.exit(2);
+        }
+
+        File inputDirectory = new File(args[0]);
+        File outputDirectory = new File(args[1]);
+        int width = DEFAULT_SIZE, height = DEFAULT_SIZE;
+        int threads = Runtime.getRuntime().availableProcessors();
+        try {
+            if (args.length > 2) {
+                String[] size = args[2].toLowerCase(Locale.ROOT).split("x");
+                width = Integer.parseInt(size[0]);
+                height = size.length > 1 ? Integer.parseInt(size[1]) : width;
+            }
+            if (args.length > 3) {
+                threads = Integer.parseInt(args[3]);
+            }
+        } catch (NumberFormatException e) {
+            System.err.println("Неверный размер или число потоков: " + e.getMessage());
+            System.exit(2);
+        }
+
+        try {
+            long start = System.nanoTime();
+            List<Result> results = run(inputDirectory, outputDirectory, width, height, threads);
+            printSummary(results, System.nanoTime() - start, System.out);
+            System.exit(results.stream().allMatch(Result::isSuccessful) ? 0 : 1);
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+        } catch (InterruptedException e) {
+            System.err.println("Прервано");
+            System.exit(130);
+        }
+    }
+
+    /**
+     * Рендер всех *.obj из inputDirectory (без подпапок) в outputDirectory. Ошибка в одном файле
+     * записывается в его Result и не останавливает остальные. Результаты — в порядке имён файлов
+     */
+    public static List<Result> run(File inputDirectory, File outputDirectory, int width, int height, int threads)
+            throws IOException, InterruptedException {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Размер кадра должен быть положительным: " + width + "x" + height);
+        }
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Число потоков должно быть положительным: " + threads);
+        }
+        File[] files = inputDirectory.listFiles((dir, name) -> name.toLowerCase(Locale.ROOT).endsWith(".obj"));
+        if (files == null) {
+            throw new IOException("Папка не найдена: " + inputDirectory);
+        }
+        if (!outputDirectory.isDirectory() && !outputDirectory.mkdirs()) {
+            throw new IOException("Не удалось создать папку: " + outputDirectory);
+        }
+        Arrays.sort(files);
+
+        Result[] results = new Result[files.length];
+        AtomicInteger next = new AtomicInteger();
+        int workerCount = Math.min(threads, Math.max(1, files.length));
+        ExecutorService executor = Executors.newFixedThreadPool(workerCount);
+        try {
+            for (int t = 0; t < workerCount; t++) {
+                // Поток забирает файлы по одному, пока они не кончатся; рендерер и буферы переиспользуются
+                executor.execute(() -> {
+                    OffscreenRenderer renderer = createRenderer(width, height);
+                    int index;
+                    while ((index = next.getAndIncrement()) < files.length) {
+                        results[index] = renderFile(renderer, files[index], outputDirectory);
+                    }
+                });
+            }
+        } finally {
+            executor.shutdown();
+        }
+        if (!executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS)) {
+            throw new InterruptedException();
+        }
+        return new ArrayList<>(Arrays.asList(results));
+    }
+
+    private static OffscreenRenderer createRenderer(int width, int height) {
+        OffscreenRenderer renderer = new OffscreenRenderer(width, height);
+        renderer.getRenderer().setUseLighting(true);
+        return renderer;
+    }
+
+    private static Result renderFile(OffscreenRenderer renderer, File file, File outputDirectory) {
+        Result result = new Result(file);
+        long start = System.nanoTime();
+        try {
+            Model model = new ObjReader(QUIET).readModel(file.getPath());
+            Model3D uiModel = new ModelWrapper(model, file.getName()).getUIModel();
+            if (uiModel.getPolygons().isEmpty()) {
+                throw new IOException("Модель не содержит полигонов");
+            }
+            result.triangleCount = uiModel.getPolygons().size();
+            long loaded = System.nanoTime();
+            result.loadNanos = loaded - start;
+
+            Camera camera = OffscreenRenderer.frameCamera(uiModel.getBoundingSphere(),
+                    (float) renderer.getWidth() / renderer.getHeight());
+            renderer.render(List.of(uiModel), camera);
+            long rendered = System.nanoTime();
+            result.renderNanos = rendered - loaded;
+
+            String name = file.getName();
+            renderer.writePng(new File(outputDirectory, name.substring(0, name.length() - 4) + ".png"));
+            result.writeNanos = System.nanoTime() - rendered;
+        } catch (Exception | OutOfMemoryError e) {
+            // Слишком большая модель отбрасывается целиком, остальные файлы обрабатываются дальше
+            result.error = e.getMessage() != null ? e.getMessage().split("\n")[0] : e.toString();
+        }
+        return result;
+    }
+
+    /**
+     * Таблица: файл, треугольники, время загрузки/рендера/записи в мс; затем итоги и самые медленные файлы
+     */
+    public static void printSummary(List<Result> results, long wallNanos, PrintStream out) {
+        out.println();
+        out.printf(Locale.ROOT, "%-40s %10s %10s %10s %10s %10s%n",
+                "Файл", "Треуг.", "Загр., мс", "Рендер, мс", "Запись, мс", "Всего, мс");
+        long load = 0, render = 0, write = 0;
+        int failed = 0;
+        for (Result result : results) {
+            String name = result.getFile().getName();
+            if (!result.isSuccessful()) {
+                failed++;
+                out.printf(Locale.ROOT, "%-40s ОШИБКА: %s%n", name, result.getError());
+                continue;
+            }
+            load += result.getLoadNanos();
+            render += result.getRenderNanos();
+            write += result.getWriteNanos();
+            out.printf(Locale.ROOT, "%-40s %10d %10.1f %10.1f %10.1f %10.1f%n", name, result.getTriangleCount(),
+                    millis(result.getLoadNanos()), millis(result.getRenderNanos()),
+                    millis(result.getWriteNanos()), millis(result.getTotalNanos()));
+        }
+
+        out.println();
+        out.printf(Locale.ROOT, "Файлов: %d, успешно: %d, с ошибками: %d, общее время: %.1f мс%n",
+                results.size(), results.size() - failed, failed, millis(wallNanos));
+        out.printf(Locale.ROOT, "Сумма по файлам: загрузка %.1f мс, рендер %.1f мс, запись %.1f мс%n",
+                millis(load), millis(render), millis(write));
+
+        List<Result> slowest = new ArrayList<>();
+        for (Result result : results) {
+            if (result.isSuccessful()) slowest.add(result);
+        }
+        slowest.sort((a, b) -> Long.compare(b.getTotalNanos(), a.getTotalNanos()));
+        if (!slowest.isEmpty()) {
+            out.println("Самые медленные:");
+            for (Result result : slowest.subList(0, Math.min(5, slowest.size()))) {
+                out.printf(Locale.ROOT, "  %-38s %10.1f мс%n", result.getFile().getName(), millis(result.getTotalNanos()));
+            }
+        }
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -24,9 +24,13 @@ public class SceneManager {
     public void removeModelWrapper(ModelWrapper modelWrapper) { // удаление модели со сцены
         modelWrappers.remove(modelWrapper); // удаляем из списка
         selectionManager.deselectModel(modelWrapper.getUIModel()); // снимаем выделение
+        modelWrapper.getUIModel().setTextureHandle(null); // отпускаем текстуру, кэш сможет её выгрузить
     }
 
     public void clear() { // очистка всей сцены
+        for (ModelWrapper modelWrapper : modelWrappers) {
+            modelWrapper.getUIModel().setTextureHandle(null); // отпускаем текстуры моделей
+        }
         modelWrappers.clear(); // очищаем список моделей
         selectionManager.clearSelection(); // очищаем выделение
     }
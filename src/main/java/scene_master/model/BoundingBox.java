@@ -0,0 +1,62 @@
+package scene_master.model;
+
+import math.LinealAlgebra.Vector3D;
+
+import java.util.List;
+
+/**
+ * Ограничивающий параллелепипед (AABB) в координатах модели
+ */
+public class BoundingBox {
+    private final double minX, minY, minZ;
+    private final double maxX, maxY, maxZ;
+
+    public BoundingBox(double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+        this.minX = minX;
+        this.minY = minY;
+        this.minZ = minZ;
+        this.maxX = maxX;
+        this.maxY = maxY;
+        this.maxZ = maxZ;
+    }
+
+    /**
+     * Параллелепипед по списку вершин; для пустого списка — точка в начале координат
+     */
+    public static BoundingBox of(List<Vector3D> vertices) {
+        if (vertices.isEmpty()) {
+            return new BoundingBox(0, 0, 0, 0, 0, 0);
+        }
+
+        double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY, minZ = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY, maxZ = Double.NEGATIVE_INFINITY;
+        for (Vector3D v : vertices) {
+            minX = Math.min(minX, v.getX());
+            minY = Math.min(minY, v.getY());
+            minZ = Math.min(minZ, v.getZ());
+            maxX = Math.max(maxX, v.getX());
+            maxY = Math.max(maxY, v.getY());
+            maxZ = Math.max(maxZ, v.getZ());
+        }
+        return new BoundingBox(minX, minY, minZ, maxX, maxY, maxZ);
+    }
+
+    /**
+     * Угол с номером 0..7: биты 0, 1, 2 выбирают max по x, y, z
+     */
+    public double getCornerX(int corner) { return (corner & 1) == 0 ? minX : maxX; }
+    public double getCornerY(int corner) { return (corner & 2) == 0 ? minY : maxY; }
+    public double getCornerZ(int corner) { return (corner & 4) == 0 ? minZ : maxZ; }
+
+    public double getMinX() { return minX; }
+    public double getMinY() { return minY; }
+    public double getMinZ() { return minZ; }
+    public double getMaxX() { return maxX; }
+    public double getMaxY() { return maxY; }
+    public double getMaxZ() { return maxZ; }
+
+    @Override
+    public String toString() {
+        return String.format("[(%.4f, %.4f, %.4f) - (%.4f, %.4f, %.4f)]", minX, minY, minZ, maxX, maxY, maxZ);
+    }
+}
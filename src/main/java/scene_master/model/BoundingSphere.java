@@ -0,0 +1,65 @@
+package scene_master.model;
+
+import math.LinealAlgebra.Vector3D;
+
+import java.util.List;
+
+/**
+ * Ограничивающая сфера в координатах модели: центр в середине AABB, радиус до самой дальней вершины
+ */
+public class BoundingSphere {
+    private final double centerX;
+    private final double centerY;
+    private final double centerZ;
+    private final double radius;
+
+    public BoundingSphere(double centerX, double centerY, double centerZ, double radius) {
+        this.centerX = centerX;
+        this.centerY = centerY;
+        this.centerZ = centerZ;
+        this.radius = radius;
+    }
+
+    /**
+     * Сфера по списку вершин; для пустого списка — сфера нулевого радиуса в начале координат
+     */
+    public static BoundingSphere of(List<Vector3D> vertices) {
+        return of(BoundingBox.of(vertices), vertices);
+    }
+
+    /**
+     * Сфера с центром в середине уже посчитанного box
+     */
+    public static BoundingSphere of(BoundingBox box, List<Vector3D> vertices) {
+        double cx = (box.getMinX() + box.getMaxX()) / 2;
+        double cy = (box.getMinY() + box.getMaxY()) / 2;
+        double cz = (box.getMinZ() + box.getMaxZ()) / 2;
+        double radiusSquared = 0;
+        for (Vector3D v : vertices) {
+            double dx = v.getX() - cx, dy = v.getY() - cy, dz = v.getZ() - cz;
+            radiusSquared = Math.max(radiusSquared, dx * dx + dy * dy + dz * dz);
+        }
+        return new BoundingSphere(cx, cy, cz, Math.sqrt(radiusSquared));
+    }
+
+    public double getCenterX() {
+        return centerX;
+    }
+
+    public double getCenterY() {
+        return centerY;
+    }
+
+    public double getCenterZ() {
+        return centerZ;
+    }
+
+    public double getRadius() {
+        return radius;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("(%.4f, %.4f, %.4f) r=%.4f", centerX, centerY, centerZ, radius);
+    }
+}
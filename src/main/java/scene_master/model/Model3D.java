@@ -2,6 +2,7 @@ package scene_master.model;
 
 import javafx.beans.property.*;
 import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 import javafx.scene.image.Image;
 import javafx.scene.paint.Color;
@@ -13,10 +14,10 @@ import java.util.List;
 public class Model3D {
     private final StringProperty name = new SimpleStringProperty();
     private final BooleanProperty visible = new SimpleBooleanProperty(true);
-    private final ObservableList<Vector3D> vertices = FXCollections.observableArrayList();
+    private final ObservableList<Vector3D> vertices;
     private final ObservableList<TexturePoint> texturePoints = FXCollections.observableArrayList();
     private final ObservableList<Vector3D> normals = FXCollections.observableArrayList();
-    private final ObservableList<Polygon> polygons = FXCollections.observableArrayList();
+    private final ObservableList<Polygon> polygons;
     private final DoubleProperty translateX = new SimpleDoubleProperty(0.0);
     private final DoubleProperty translateY = new SimpleDoubleProperty(0.0);
     private final DoubleProperty translateZ = new SimpleDoubleProperty(0.0);
@@ -27,19 +28,179 @@ public class Model3D {
     private final DoubleProperty scaleY = new SimpleDoubleProperty(1.0);
     private final DoubleProperty scaleZ = new SimpleDoubleProperty(1.0);
     private final ObjectProperty<Image> texture = new SimpleObjectProperty<>(null);
+    // Раскодированная текстура для рендера; сбрасывается, если setTexture() ставит другое изображение.
+    // Меняется под замком модели: рендерер ставит её из своего потока (adoptTextureHandle)
+    private volatile Texture textureHandle;
+    private final ObjectProperty<Texture.WrapMode> textureWrap = new SimpleObjectProperty<>(Texture.WrapMode.CLAMP);
     private final ObjectProperty<Color> baseColor = new SimpleObjectProperty<>(Color.LIGHTBLUE);
-    private final ObservableList<TextureCoordinate> textureCoords = FXCollections.observableArrayList();
+    private final ObservableList<TextureCoordinate> textureCoords;
     private final DoubleProperty textureScaleU = new SimpleDoubleProperty(1.0);
     private final DoubleProperty textureScaleV = new SimpleDoubleProperty(1.0);
-    private List<Vector3D> vertexNormals = new ArrayList<>();
+    private final List<Vector3D> vertexNormals;
+    private BoundingBox boundingBox;
+    private BoundingSphere boundingSphere;
+
+    // Снимки для рендера в другом потоке: renderKey — исходная модель снимка (null у обычной модели),
+    // renderGeometry — неизменяемая копия геометрии версии renderGeometryVersion
+    private final Model3D renderKey;
+    private long geometryVersion = 0;
+    private long renderGeometryVersion = -1;
+    private Model3D renderGeometry;
 
     public Model3D(String name) {
+        this(name, FXCollections.observableArrayList(), FXCollections.observableArrayList(),
+                FXCollections.observableArrayList(), new ArrayList<>(), null);
+        ListChangeListener<Object> geometryListener = change -> markGeometryChanged();
+        vertices.addListener(geometryListener);
+        polygons.addListener(geometryListener);
+        textureCoords.addListener(geometryListener);
+    }
+
+    private Model3D(String name, ObservableList<Vector3D> vertices, ObservableList<Polygon> polygons,
+                    ObservableList<TextureCoordinate> textureCoords, List<Vector3D> vertexNormals, Model3D renderKey) {
         this.name.set(name);
+        this.vertices = vertices;
+        this.polygons = polygons;
+        this.textureCoords = textureCoords;
+        this.vertexNormals = vertexNormals;
+        this.renderKey = renderKey;
+    }
+
+    /**
+     * Снимок модели для рендера: свойства копируются, геометрия общая с неизменяемой копией,
+     * которая пересобирается только после изменения модели. Вызывать из потока JavaFX
+     */
+    public Model3D renderSnapshot() {
+        if (renderGeometry == null || renderGeometryVersion != geometryVersion) {
+            renderGeometry = copyGeometry();
+            renderGeometryVersion = geometryVersion;
+        }
+
+        Model3D geometry = renderGeometry;
+        Model3D snapshot = new Model3D(getName(), geometry.vertices, geometry.polygons,
+                geometry.textureCoords, geometry.vertexNormals, this);
+        snapshot.visible.set(isVisible());
+        snapshot.translateX.set(translateX.get());
+        snapshot.translateY.set(translateY.get());
+        snapshot.translateZ.set(translateZ.get());
+        snapshot.rotateX.set(rotateX.get());
+        snapshot.rotateY.set(rotateY.get());
+        snapshot.rotateZ.set(rotateZ.get());
+        snapshot.scaleX.set(scaleX.get());
+        snapshot.scaleY.set(scaleY.get());
+        snapshot.scaleZ.set(scaleZ.get());
+        snapshot.texture.set(getTexture());
+        // Снимок живёт один кадр и ссылку на текстуру не держит
+        snapshot.textureHandle = textureHandle;
+        snapshot.textureWrap.set(getTextureWrap());
+        snapshot.baseColor.set(getBaseColor());
+        snapshot.textureScaleU.set(getTextureScaleU());
+        snapshot.textureScaleV.set(getTextureScaleV());
+        snapshot.boundingBox = geometry.getBoundingBox();
+        snapshot.boundingSphere = geometry.getBoundingSphere();
+        // Версия та же, что у исходной модели: кэши по getRenderKey() сверяют её у снимков
+        snapshot.geometryVersion = geometryVersion;
+        return snapshot;
+    }
+
+    private Model3D copyGeometry() {
+        List<Polygon> polygonCopies = new ArrayList<>(polygons.size());
+        for (Polygon polygon : polygons) {
+            polygonCopies.add(new Polygon(polygon));
+        }
+        Model3D geometry = new Model3D(getName(),
+                FXCollections.unmodifiableObservableList(FXCollections.observableArrayList(vertices)),
+                FXCollections.unmodifiableObservableList(FXCollections.observableArrayList(polygonCopies)),
+                FXCollections.unmodifiableObservableList(FXCollections.observableArrayList(textureCoords)),
+                List.copyOf(vertexNormals), null);
+        // Ограничивающие объёмы считаются один раз на версию геометрии, снимки берут их готовыми
+        geometry.getBoundingSphere();
+        return geometry;
+    }
+
+    /**
+     * Ключ для кэшей рендерера: у снимка — исходная модель, иначе сама модель
+     */
+    public Model3D getRenderKey() {
+        return renderKey != null ? renderKey : this;
+    }
+
+    /**
+     * Сообщить об изменении геометрии в обход списков (например, правка индексов полигона).
+     * Изменения списков вершин, полигонов и текстурных координат отслеживаются сами
+     */
+    public void markGeometryChanged() {
+        geometryVersion++;
+        boundingBox = null;
+        boundingSphere = null;
+    }
+
+    public long getGeometryVersion() {
+        return geometryVersion;
+    }
+
+    /**
+     * Ограничивающая сфера в координатах модели, пересчитывается только после изменения вершин
+     */
+    public BoundingSphere getBoundingSphere() {
+        BoundingSphere sphere = boundingSphere;
+        if (sphere == null) {
+            sphere = BoundingSphere.of(getBoundingBox(), vertices);
+            boundingSphere = sphere;
+        }
+        return sphere;
+    }
+
+    /**
+     * Ограничивающий параллелепипед в координатах модели, кэшируется так же, как сфера
+     */
+    public BoundingBox getBoundingBox() {
+        BoundingBox box = boundingBox;
+        if (box == null) {
+            box = BoundingBox.of(vertices);
+            boundingBox = box;
+        }
+        return box;
     }
 
     public ObjectProperty<Image> textureProperty() { return texture; }
     public Image getTexture() { return texture.get(); }
-    public void setTexture(Image texture) { this.texture.set(texture); }
+    public synchronized void setTexture(Image texture) {
+        if (textureHandle != null && textureHandle.getSource() != texture) {
+            setTextureHandle(null);
+        }
+        this.texture.set(texture);
+    }
+
+    /**
+     * Раскодированная текстура модели или null, если её ещё не регистрировали в TextureManager
+     */
+    public Texture getTextureHandle() { return textureHandle; }
+
+    /**
+     * Ручка держит ссылку на текстуру: пока она установлена, TextureManager не выгружает текстуру из кэша.
+     * Модель, убранная со сцены, должна отпустить ручку (setTextureHandle(null))
+     */
+    public synchronized void setTextureHandle(Texture textureHandle) {
+        if (textureHandle == this.textureHandle) return;
+        if (textureHandle != null) textureHandle.retain();
+        if (this.textureHandle != null) this.textureHandle.release();
+        this.textureHandle = textureHandle;
+    }
+
+    /**
+     * Поставить ручку, только если она от текущего изображения модели: изображение могли сменить,
+     * пока рендерер регистрировал прежнее
+     */
+    public synchronized void adoptTextureHandle(Texture textureHandle) {
+        if (textureHandle.getSource() == getTexture()) {
+            setTextureHandle(textureHandle);
+        }
+    }
+
+    public ObjectProperty<Texture.WrapMode> textureWrapProperty() { return textureWrap; }
+    public Texture.WrapMode getTextureWrap() { return textureWrap.get(); }
+    public void setTextureWrap(Texture.WrapMode wrap) { textureWrap.set(wrap); }
 
     public void addTextureCoord(double u, double v) {
         textureCoords.add(new TextureCoordinate(u, v));
@@ -207,6 +368,7 @@ public class Model3D {
     public void setTextureScaleV(double scale) { textureScaleV.set(scale); }
 
     public void calculateVertexNormals() {
+        markGeometryChanged();
         vertexNormals.clear();
         for (int i = 0; i < vertices.size(); i++) {
             vertexNormals.add(new Vector3D(0, 0, 0));
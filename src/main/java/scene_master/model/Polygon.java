@@ -25,6 +25,16 @@ public class Polygon {
         this.normalIndices = new ArrayList<>();
     }
 
+    /**
+     * Копия полигона со своими списками индексов
+     */
+    public Polygon(Polygon other) {
+        this(other.vertexIndices);
+        this.textureIndices = new ArrayList<>(other.textureIndices);
+        this.normalIndices = new ArrayList<>(other.normalIndices);
+        this.normal = other.normal;
+    }
+
     public void setNormal(Vector3D normal) {
         this.normal = normal;
     }
@@ -0,0 +1,235 @@
+package scene_master.model;
+
+import javafx.scene.image.Image;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Текстура, один раз раскодированная в массив ARGB (без предумножения) построчно сверху вниз.
+ * Выборка возвращает упакованный int без создания Color. Модель хранит её как ручку (Model3D.getTextureHandle()),
+ * поэтому рендер не ищет текстуру по изображению на каждом пикселе. Тексели после создания не меняются;
+ * меняется только счётчик ссылок моделей, по которому TextureManager решает, можно ли выгрузить текстуру.
+ * Текстура, созданная через withMipmaps(), хранит цепочку уменьшенных вдвое уровней для сжатых на экране моделей.
+ * Большие уровни могут храниться блоками 4x4 (Layout.TILED): соседние по вертикали тексели тогда лежат
+ * в одной строке кэша, и повёрнутая модель не промахивается в кэш почти на каждом текселе.
+ */
+public final class Texture {
+    /**
+     * Что делать с координатами вне [0, 1]
+     */
+    public enum WrapMode {
+        /** Прижать к краю; u * (width - 1), как в прежнем TextureManager.getTextureColor */
+        CLAMP,
+        /** Повторять текстуру */
+        REPEAT,
+        /** Повторять с отражением каждой второй копии */
+        MIRROR
+    }
+
+    /**
+     * Порядок текселей в массиве
+     */
+    public enum Layout {
+        /** Построчно: индекс y * width + x */
+        LINEAR,
+        /** Блоки 4x4 по 16 текселей (64 байта, строка кэша) построчно, внутри блока тоже построчно */
+        TILED
+    }
+
+    private static final int TILE_SHIFT = 2;
+    private static final int TILE_MASK = (1 << TILE_SHIFT) - 1;
+
+    private final int width;
+    private final int height;
+    private final int[] texels;
+    private final Image source;
+    private final Layout layout;
+    // Число блоков 4x4 в ряду для TILED
+    private final int tilesX;
+    // Уровни детализации, уровень 0 — сама текстура; у уровней цепочки свой массив не строится
+    private Texture[] levels = {this};
+    // Сколько моделей держат текстуру ручкой (Model3D.setTextureHandle)
+    private final AtomicInteger references = new AtomicInteger();
+
+    /**
+     * texels — width * height пикселей ARGB, индекс y * width + x; массив не копируется.
+     * source — изображение, из которого раскодирована текстура (или null)
+     */
+    public Texture(int width, int height, int[] texels, Image source) {
+        this(width, height, texels, source, Layout.LINEAR);
+    }
+
+    /**
+     * texels уже уложены в layout; для TILED длина — storageSize(width, height, TILED)
+     */
+    public Texture(int width, int height, int[] texels, Image source, Layout layout) {
+        if (width <= 0 || height <= 0 || texels.length < storageSize(width, height, layout)) {
+            throw new IllegalArgumentException("Invalid texture size " + width + "x" + height);
+        }
+        this.width = width;
+        this.height = height;
+        this.texels = texels;
+        this.source = source;
+        this.layout = layout;
+        this.tilesX = (width + TILE_MASK) >> TILE_SHIFT;
+    }
+
+    public int getWidth() { return width; }
+    public int getHeight() { return height; }
+    /** Тексели в порядке getLayout() */
+    public int[] getTexels() { return texels; }
+    public Image getSource() { return source; }
+    public Layout getLayout() { return layout; }
+
+    /**
+     * Длина массива текселей: для TILED стороны дополняются до кратных 4
+     */
+    public static int storageSize(int width, int height, Layout layout) {
+        if (layout == Layout.LINEAR) return width * height;
+        return ((width + TILE_MASK) >> TILE_SHIFT) * ((height + TILE_MASK) >> TILE_SHIFT) << (TILE_SHIFT * 2);
+    }
+
+    /**
+     * Текстура с цепочкой мип-уровней до 1x1; каждый следующий уровень — среднее блоков 2x2 предыдущего.
+     * Все уровни построчные
+     */
+    public static Texture withMipmaps(int width, int height, int[] texels, Image source) {
+        return withMipmaps(width, height, texels, source, Long.MAX_VALUE);
+    }
+
+    /**
+     * То же, но уровни больше tiledAboveBytes байт хранятся блоками (TILED); мелкие уровни и так помещаются в кэш
+     */
+    public static Texture withMipmaps(int width, int height, int[] texels, Image source, long tiledAboveBytes) {
+        int count = 1;
+        for (int size = Math.max(width, height); size > 1; size >>= 1) {
+            count++;
+        }
+        Texture[] levels = new Texture[count];
+        levels[0] = new Texture(width, height, texels, source);
+        for (int i = 1; i < count; i++) {
+            levels[i] = levels[i - 1].downsample();
+        }
+        for (int i = 0; i < count; i++) {
+            if ((long) levels[i].width * levels[i].height * Integer.BYTES > tiledAboveBytes) {
+                levels[i] = levels[i].withLayout(Layout.TILED);
+            }
+        }
+        levels[0].levels = levels;
+        return levels[0];
+    }
+
+    /**
+     * Копия текстуры (только этот уровень) с текселями в порядке layout
+     */
+    public Texture withLayout(Layout layout) {
+        int[] result = new int[storageSize(width, height, layout)];
+        Texture copy = new Texture(width, height, result, source, layout);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                result[copy.index(x, y)] = texels[index(x, y)];
+            }
+        }
+        return copy;
+    }
+
+    /**
+     * Тексель в столбце x строки y (y = 0 — верхняя строка изображения)
+     */
+    public int getTexel(int x, int y) {
+        return texels[index(x, y)];
+    }
+
+    private int index(int x, int y) {
+        if (layout == Layout.LINEAR) return y * width + x;
+        return ((((y >> TILE_SHIFT) * tilesX + (x >> TILE_SHIFT)) << TILE_SHIFT | (y & TILE_MASK)) << TILE_SHIFT)
+                | (x & TILE_MASK);
+    }
+
+    public int getLevelCount() { return levels.length; }
+
+    /**
+     * Память текселей всех мип-уровней в байтах
+     */
+    public long getByteSize() {
+        long bytes = 0;
+        for (Texture level : levels) {
+            bytes += (long) level.texels.length * Integer.BYTES;
+        }
+        return bytes;
+    }
+
+    public void retain() { references.incrementAndGet(); }
+    public void release() { references.decrementAndGet(); }
+    public int getReferenceCount() { return references.get(); }
+
+    /**
+     * Мип-уровень level, прижатый к [0, getLevelCount() - 1]
+     */
+    public Texture getLevel(int level) {
+        return levels[Math.max(0, Math.min(levels.length - 1, level))];
+    }
+
+    /**
+     * Уровень для треугольника, у которого на pixelArea пикселей экрана приходится uvArea площади UV.
+     * Каждый уровень вчетверо уменьшает число текселей на пиксель; выбирается ближайший, как GL_NEAREST_MIPMAP_NEAREST
+     */
+    public int selectLevel(double uvArea, double pixelArea) {
+        double texelArea = Math.abs(uvArea) * width * height;
+        if (!(texelArea > 0)) return 0;
+        if (!(Math.abs(pixelArea) > 0)) return levels.length - 1;
+        double lod = 0.5 * Math.log(texelArea / Math.abs(pixelArea)) / Math.log(2);
+        return (int) Math.max(0, Math.min(levels.length - 1, Math.floor(lod + 0.5)));
+    }
+
+    /**
+     * Следующий уровень: вдвое меньше по каждой стороне (не меньше 1), каналы усредняются по блоку 2x2.
+     * Цвет взвешивается альфой, чтобы прозрачные тексели не затемняли края
+     */
+    private Texture downsample() {
+        int w = Math.max(1, width >> 1);
+        int h = Math.max(1, height >> 1);
+        int[] result = new int[w * h];
+        for (int y = 0; y < h; y++) {
+            int y0 = Math.min(height - 1, y * 2), y1 = Math.min(height - 1, y * 2 + 1);
+            for (int x = 0; x < w; x++) {
+                int x0 = Math.min(width - 1, x * 2), x1 = Math.min(width - 1, x * 2 + 1);
+                int a = 0, r = 0, g = 0, b = 0;
+                for (int k = 0; k < 4; k++) {
+                    int argb = getTexel((k & 1) == 0 ? x0 : x1, k < 2 ? y0 : y1);
+                    int alpha = argb >>> 24;
+                    a += alpha;
+                    r += ((argb >> 16) & 0xFF) * alpha;
+                    g += ((argb >> 8) & 0xFF) * alpha;
+                    b += (argb & 0xFF) * alpha;
+                }
+                if (a == 0) continue;
+                result[y * w + x] = ((a + 2) / 4) << 24 | ((r + a / 2) / a) << 16 | ((g + a / 2) / a) << 8 | (b + a / 2) / a;
+            }
+        }
+        return new Texture(w, h, result, source);
+    }
+
+    /**
+     * Ближайший тексель для (u, v); v = 0 — нижний край изображения
+     */
+    public int sample(double u, double v, WrapMode wrap) {
+        int x, y;
+        if (wrap == WrapMode.CLAMP) {
+            x = (int) (Math.max(0, Math.min(1, u)) * (width - 1));
+            y = (int) ((1 - Math.max(0, Math.min(1, v))) * (height - 1));
+        } else {
+            x = wrap(Math.floor(u * width), width, wrap == WrapMode.MIRROR);
+            y = wrap(Math.floor((1 - v) * height), height, wrap == WrapMode.MIRROR);
+        }
+        return texels[index(x, y)];
+    }
+
+    private static int wrap(double coordinate, int size, boolean mirror) {
+        // Координаты за пределами int (огромные UV) сводятся к периоду до приведения типа
+        int period = mirror ? size * 2 : size;
+        int i = (int) (coordinate - Math.floor(coordinate / period) * period);
+        if (i >= period) i = period - 1;
+        return mirror && i >= size ? period - 1 - i : i;
+    }
+}
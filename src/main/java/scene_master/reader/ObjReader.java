@@ -8,6 +8,7 @@ import scene_master.model.TexturePoint;
 import java.io.BufferedReader;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.PrintStream;
 import java.text.NumberFormat;
 import java.text.ParseException;
 import java.util.ArrayList;
@@ -15,6 +16,16 @@ import java.util.List;
 import java.util.Locale;
 
 public class ObjReader {
+    // Куда пишутся сообщения о пропущенных директивах и итоги загрузки
+    private final PrintStream log;
+
+    public ObjReader() {
+        this(System.out);
+    }
+
+    public ObjReader(PrintStream log) {
+        this.log = log;
+    }
 
     public Model readModel(String filename) throws IOException {
         Model model = new Model();
@@ -65,10 +76,10 @@ public class ObjReader {
                         case "s":  // сглаживание
                         case "o":  // объект
                         case "g":  // группа
-                            System.out.println("Директива [" + tokens[0] + "] проигнорирована (строка " + lineNumber + ")");
+                            log.println("Директива [" + tokens[0] + "] проигнорирована (строка " + lineNumber + ")");
                             break;// игнорируем эти директивы, но логируем
                         default:
-                            System.out.println("Неизвестная директива [" + tokens[0] + "] проигнорирована (строка " + lineNumber + ")");
+                            log.println("Неизвестная директива [" + tokens[0] + "] проигнорирована (строка " + lineNumber + ")");
                     }
                 } catch (Exception e) {
                     throw new IOException("Ошибка парсинга строки " + lineNumber + ": " + line +
@@ -84,14 +95,14 @@ public class ObjReader {
         }
 
         if (model.getPolygons().isEmpty()) {
-            System.out.println("Предупреждение: модель не содержит полигонов");
+            log.println("Предупреждение: модель не содержит полигонов");
         }
 
-        System.out.println("Модель успешно загружена:");
-        System.out.println("  Вершин: " + model.getVertices().size());
-        System.out.println("  Текстурных координат: " + model.getTexturePoints().size());
-        System.out.println("  Нормалей: " + model.getNormals().size());
-        System.out.println("  Полигонов: " + model.getPolygons().size());
+        log.println("Модель успешно загружена:");
+        log.println("  Вершин: " + model.getVertices().size());
+        log.println("  Текстурных координат: " + model.getTexturePoints().size());
+        log.println("  Нормалей: " + model.getNormals().size());
+        log.println("  Полигонов: " + model.getPolygons().size());
 
         return model;
     }
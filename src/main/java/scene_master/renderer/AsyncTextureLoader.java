@@ -0,0 +1,183 @@
+package scene_master.renderer;
+
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import scene_master.model.Model3D;
+import scene_master.model.Texture;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Фоновая загрузка текстур: файл читается через ImageIO и раскодируется в тексели Texture (с мип-уровнями)
+ * на ограниченном пуле потоков, вне FX-потока. Пока файл грузится, модель показывает шахматку
+ * TextureManager.getDefaultTexture(); когда текстура готова, она ставится модели и перерисовка вызывается
+ * ровно один раз. Повторный запрос файла, который ещё грузится, ждёт ту же загрузку.
+ * Новая загрузка той же модели отменяет прежнюю: её результат модели уже не ставится.
+ * Если очередь пула заполнена, загрузка сразу завершается RejectedExecutionException
+ */
+public class AsyncTextureLoader {
+    public static final int DEFAULT_THREADS = 2;
+    public static final int DEFAULT_QUEUE_CAPACITY = 16;
+
+    private final TextureManager manager;
+    private final ThreadPoolExecutor executor;
+    // Где меняется модель и вызывается перерисовка; в приложении — Platform::runLater
+    private final Executor callbackExecutor;
+    // Загрузки по пути файла, которые ещё идут
+    private final Map<String, CompletableFuture<Texture>> inFlight = new ConcurrentHashMap<>();
+    // Последняя загрузка каждой модели: результат более ранней, завершившейся позже, не применяется
+    private final Map<Model3D, PendingLoad> latestLoads = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * Незавершённая загрузка модели и текстура модели до первой из идущих подряд загрузок:
+     * пока загрузка идёт, у модели шахматка, и вернуть при ошибке нужно именно эту текстуру
+     */
+    private static final class PendingLoad {
+        final CompletableFuture<Texture> result = new CompletableFuture<>();
+        final Image original;
+        final Texture originalHandle;
+
+        PendingLoad(Image original, Texture originalHandle) {
+            this.original = original;
+            this.originalHandle = originalHandle;
+        }
+    }
+
+    public AsyncTextureLoader(TextureManager manager, Executor callbackExecutor) {
+        this(manager, DEFAULT_THREADS, DEFAULT_QUEUE_CAPACITY, callbackExecutor);
+    }
+
+    public AsyncTextureLoader(TextureManager manager, int threads, int queueCapacity, Executor callbackExecutor) {
+        this.manager = manager;
+        this.callbackExecutor = callbackExecutor;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "texture-loader-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Загрузка текстуры модели. Сразу ставит модели шахматку, по готовности — загруженную текстуру
+     * (при ошибке — прежнюю, бывшую до перебитых загрузок) и вызывает onLoaded. Всё это выполняется в callbackExecutor.
+     * Возвращаемая загрузка завершается после того, как модель обновлена, а если её перебила
+     * более новая загрузка той же модели — сразу отменяется (CancellationException)
+     */
+    public CompletableFuture<Texture> load(Model3D model, File file, Runnable onLoaded) {
+        PendingLoad pending;
+        synchronized (latestLoads) {
+            PendingLoad superseded = latestLoads.get(model);
+            // Перебитая загрузка уже поставила шахматку: прежняя текстура — та, что была до неё
+            pending = superseded != null
+                    ? new PendingLoad(superseded.original, superseded.originalHandle)
+                    : new PendingLoad(model.getTexture(), model.getTextureHandle());
+            latestLoads.put(model, pending);
+            if (superseded != null) superseded.result.cancel(false);
+        }
+        Texture previousHandle = pending.originalHandle;
+        // Прежняя текстура не выгружается из кэша, пока её может понадобиться вернуть
+        if (previousHandle != null) previousHandle.retain();
+
+        Image placeholder = manager.getDefaultTexture();
+        model.setTexture(placeholder);
+        model.setTextureHandle(manager.register(placeholder));
+        CompletableFuture<Texture> result = pending.result;
+
+        decode(file).whenCompleteAsync((texture, error) -> {
+            try {
+                if (!latestLoads.remove(model, pending)) return;
+                if (texture != null) {
+                    model.setTexture(texture.getSource());
+                    model.setTextureHandle(texture);
+                } else {
+                    model.setTexture(pending.original);
+                    model.setTextureHandle(previousHandle);
+                }
+                onLoaded.run();
+                if (texture != null) {
+                    result.complete(texture);
+                } else {
+                    result.completeExceptionally(error);
+                }
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            } finally {
+                if (previousHandle != null) previousHandle.release();
+            }
+        }, callbackExecutor);
+        return result;
+    }
+
+    /**
+     * Раскодированная текстура файла, уже зарегистрированная в TextureManager
+     */
+    public CompletableFuture<Texture> decode(File file) {
+        Texture loaded = manager.findLoaded(file);
+        if (loaded != null) {
+            return CompletableFuture.completedFuture(loaded);
+        }
+
+        String path = file.getAbsolutePath();
+        CompletableFuture<Texture> future = inFlight.computeIfAbsent(path, key -> {
+            CompletableFuture<Texture> decoding = new CompletableFuture<>();
+            try {
+                executor.execute(() -> {
+                    try {
+                        decoding.complete(read(file));
+                    } catch (Exception | OutOfMemoryError e) {
+                        decoding.completeExceptionally(e);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                decoding.completeExceptionally(e);
+            }
+            return decoding;
+        });
+        future.whenComplete((texture, error) -> inFlight.remove(path, future));
+        return future;
+    }
+
+    private Texture read(File file) throws IOException {
+        BufferedImage image = ImageIO.read(file);
+        if (image == null) {
+            throw new IOException("Неподдерживаемый формат изображения: " + file.getName());
+        }
+        int width = image.getWidth();
+        int height = image.getHeight();
+        // getRGB отдаёт ARGB без предумножения построчно — тот же формат, что у Texture
+        int[] texels = image.getRGB(0, 0, width, height, null, 0, width);
+        // Изображение JavaFX нужно интерфейсу (Model3D.getTexture()); рендер читает тексели
+        WritableImage fxImage = new WritableImage(width, height);
+        fxImage.getPixelWriter().setPixels(0, 0, width, height, PixelFormat.getIntArgbInstance(), texels, 0, width);
+        return manager.register(file, fxImage, width, height, texels);
+    }
+
+    /**
+     * Число загрузок, ожидающих свободного потока
+     */
+    public int getQueuedCount() {
+        return executor.getQueue().size();
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,62 @@
+package scene_master.renderer;
+
+import java.util.Arrays;
+
+/**
+ * Буфер глубины: один массив float[] по строкам (индекс y * width + x),
+ * в том же порядке, что и FrameBuffer. Выделяется один раз на размер кадра.
+ * Рядом хранится пирамида максимумов HiZBuffer для отсечения перекрытой геометрии.
+ */
+public class DepthBuffer {
+    public static final float FAR = Float.POSITIVE_INFINITY;
+
+    private final int width;
+    private final int height;
+    private final float[] depth;
+    private final HiZBuffer hiZ;
+
+    public DepthBuffer(int width, int height) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Depth buffer size must be positive");
+        }
+        this.width = width;
+        this.height = height;
+        this.depth = new float[width * height];
+        this.hiZ = new HiZBuffer(width, height);
+        clear();
+    }
+
+    public int getWidth() { return width; }
+    public int getHeight() { return height; }
+
+    /**
+     * Прямой доступ к значениям глубины для внутренних циклов растеризации
+     */
+    public float[] getData() { return depth; }
+
+    public HiZBuffer getHiZ() { return hiZ; }
+
+    /**
+     * Очистка одним проходом Arrays.fill (компилируется в заполнение памяти блоками)
+     */
+    public void clear() {
+        Arrays.fill(depth, FAR);
+        hiZ.clear();
+    }
+
+    public float get(int x, int y) {
+        return depth[y * width + x];
+    }
+
+    /**
+     * Тест глубины: записывает z и возвращает true, если точка ближе сохранённой
+     */
+    public boolean testAndSet(int x, int y, float z) {
+        int index = y * width + x;
+        if (z < depth[index]) {
+            depth[index] = z;
+            return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,77 @@
+package scene_master.renderer;
+
+import scene_master.model.Polygon;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Уникальные рёбра модели для каркаса: ребро, общее для соседних полигонов, хранится один раз.
+ * Ребро i соединяет вершины getFrom(i) и getTo(i), getFrom(i) < getTo(i).
+ * Рёбра упорядочены по первой вершине, поэтому обход идёт по mesh почти последовательно.
+ */
+public final class EdgeList {
+    private final int[] vertices;
+    private final long geometryVersion;
+
+    private EdgeList(int[] vertices, long geometryVersion) {
+        this.vertices = vertices;
+        this.geometryVersion = geometryVersion;
+    }
+
+    /**
+     * Сборка списка: рёбра всех полигонов упаковываются в long (меньший индекс в старших битах),
+     * сортируются, и повторы отбрасываются. Без коллекций с упаковкой, память — один long[] на все рёбра
+     */
+    public static EdgeList build(List<Polygon> polygons, long geometryVersion) {
+        int total = 0;
+        for (Polygon polygon : polygons) {
+            total += polygon.getVertexIndices().size();
+        }
+
+        long[] keys = new long[total];
+        int count = 0;
+        for (Polygon polygon : polygons) {
+            List<Integer> indices = polygon.getVertexIndices();
+            int size = indices.size();
+            if (size < 2) continue;
+
+            for (int i = 0; i < size; i++) {
+                int a = indices.get(i);
+                int b = indices.get((i + 1) % size);
+                if (a == b || a < 0 || b < 0) continue;
+                keys[count++] = a < b ? ((long) a << 32) | b : ((long) b << 32) | a;
+            }
+        }
+        Arrays.sort(keys, 0, count);
+
+        int[] vertices = new int[count * 2];
+        int unique = 0;
+        for (int i = 0; i < count; i++) {
+            if (i > 0 && keys[i] == keys[i - 1]) continue;
+            vertices[unique * 2] = (int) (keys[i] >>> 32);
+            vertices[unique * 2 + 1] = (int) keys[i];
+            unique++;
+        }
+        return new EdgeList(Arrays.copyOf(vertices, unique * 2), geometryVersion);
+    }
+
+    public int getEdgeCount() {
+        return vertices.length / 2;
+    }
+
+    public int getFrom(int edge) {
+        return vertices[edge * 2];
+    }
+
+    public int getTo(int edge) {
+        return vertices[edge * 2 + 1];
+    }
+
+    /**
+     * Версия геометрии модели, по которой построен список (Model3D.getGeometryVersion)
+     */
+    public long getGeometryVersion() {
+        return geometryVersion;
+    }
+}
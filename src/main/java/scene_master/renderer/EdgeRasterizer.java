@@ -0,0 +1,159 @@
+package scene_master.renderer;
+
+/**
+ * Растеризатор на функциях рёбер с инкрементальным шагом.
+ * Область обходится блоками 8x8: блок целиком вне треугольника отбрасывается,
+ * блок целиком внутри закрашивается без проверки рёбер. Внутри строки значения рёбер
+ * и глубины меняются одним сложением на пиксель. Выборка в центрах пикселей (x + 0.5, y + 0.5),
+ * точки на общих рёбрах отдаются одному треугольнику по правилу top-left.
+ * Если передан DepthBuffer, блок, целиком лежащий дальше максимума его клетки Hi-Z, пропускается,
+ * а после записи глубины клетка Hi-Z пересчитывается.
+ */
+public class EdgeRasterizer {
+    public static final int BLOCK_SIZE = 8;
+
+    static final int OUTSIDE = 0;
+    static final int PARTIAL = 1;
+    static final int INSIDE = 2;
+
+    /**
+     * Пиксель прошёл тест глубины. index = y * width + x, w1..w3 — барицентрические координаты
+     */
+    public interface FragmentShader {
+        void shade(RasterTriangle triangle, int index, int x, int y, double w1, double w2, double w3);
+    }
+
+    private EdgeRasterizer() {
+    }
+
+    /**
+     * Растеризация треугольника внутри прямоугольника clip (границы включительно)
+     * с тестом и записью глубины в depth (по строкам, ширина width)
+     */
+    public static void rasterize(RasterTriangle t, int clipMinX, int clipMinY, int clipMaxX, int clipMaxY,
+                                 float[] depth, int width, FragmentShader shader) {
+        rasterize(t, clipMinX, clipMinY, clipMaxX, clipMaxY, depth, width, 0, null, shader);
+    }
+
+    /**
+     * То же с отсечением блоков по Hi-Z буфера глубины
+     */
+    public static void rasterize(RasterTriangle t, int clipMinX, int clipMinY, int clipMaxX, int clipMaxY,
+                                 DepthBuffer depthBuffer, FragmentShader shader) {
+        rasterize(t, clipMinX, clipMinY, clipMaxX, clipMaxY, depthBuffer.getData(), depthBuffer.getWidth(),
+                depthBuffer.getHeight(), depthBuffer.getHiZ(), shader);
+    }
+
+    private static void rasterize(RasterTriangle t, int clipMinX, int clipMinY, int clipMaxX, int clipMaxY,
+                                  float[] depth, int width, int height, HiZBuffer hiZ, FragmentShader shader) {
+        int minX = Math.max(t.minX, clipMinX);
+        int maxX = Math.min(t.maxX, clipMaxX);
+        int minY = Math.max(t.minY, clipMinY);
+        int maxY = Math.min(t.maxY, clipMaxY);
+        if (minX > maxX || minY > maxY) return;
+
+        int firstBlockX = minX & -BLOCK_SIZE;
+        int firstBlockY = minY & -BLOCK_SIZE;
+
+        for (int blockY = firstBlockY; blockY <= maxY; blockY += BLOCK_SIZE) {
+            int y0 = Math.max(blockY, minY);
+            int y1 = Math.min(blockY + BLOCK_SIZE - 1, maxY);
+
+            for (int blockX = firstBlockX; blockX <= maxX; blockX += BLOCK_SIZE) {
+                int x0 = Math.max(blockX, minX);
+                int x1 = Math.min(blockX + BLOCK_SIZE - 1, maxX);
+
+                int coverage = classifyBlock(t, x0, y0, x1, y1);
+                if (coverage == OUTSIDE) continue;
+
+                if (hiZ == null) {
+                    rasterizeBlock(t, x0, y0, x1, y1, coverage == INSIDE, depth, width, shader);
+                    continue;
+                }
+
+                int cellX = blockX / BLOCK_SIZE, cellY = blockY / BLOCK_SIZE;
+                if (nearestDepth(t, x0, y0, x1, y1) >= hiZ.getCellMax(cellX, cellY)) continue;
+
+                if (rasterizeBlock(t, x0, y0, x1, y1, coverage == INSIDE, depth, width, shader)) {
+                    hiZ.updateCell(cellX, cellY, depth, width, height);
+                }
+            }
+        }
+    }
+
+    /**
+     * Функции рёбер линейны, поэтому их минимум и максимум на блоке достигаются в угловых пикселях
+     */
+    static int classifyBlock(RasterTriangle t, int x0, int y0, int x1, int y1) {
+        double px = x0 + 0.5, py = y0 + 0.5;
+        int spanX = x1 - x0, spanY = y1 - y0;
+        boolean inside = true;
+
+        double e = t.a1 * px + t.b1 * py + t.c1;
+        double dx = t.a1 * spanX, dy = t.b1 * spanY;
+        if (e + Math.max(dx, 0) + Math.max(dy, 0) < t.bias1) return OUTSIDE;
+        inside &= e + Math.min(dx, 0) + Math.min(dy, 0) >= t.bias1;
+
+        e = t.a2 * px + t.b2 * py + t.c2;
+        dx = t.a2 * spanX;
+        dy = t.b2 * spanY;
+        if (e + Math.max(dx, 0) + Math.max(dy, 0) < t.bias2) return OUTSIDE;
+        inside &= e + Math.min(dx, 0) + Math.min(dy, 0) >= t.bias2;
+
+        e = t.a3 * px + t.b3 * py + t.c3;
+        dx = t.a3 * spanX;
+        dy = t.b3 * spanY;
+        if (e + Math.max(dx, 0) + Math.max(dy, 0) < t.bias3) return OUTSIDE;
+        inside &= e + Math.min(dx, 0) + Math.min(dy, 0) >= t.bias3;
+
+        return inside ? INSIDE : PARTIAL;
+    }
+
+    /**
+     * Нижняя граница глубины треугольника на блоке: минимум плоскости по угловым пикселям, но не ближе вершин
+     */
+    static double nearestDepth(RasterTriangle t, int x0, int y0, int x1, int y1) {
+        double z = t.zA * (x0 + 0.5) + t.zB * (y0 + 0.5) + t.zC
+                + Math.min(t.zA * (x1 - x0), 0) + Math.min(t.zB * (y1 - y0), 0);
+        return Math.max(z, t.minZ);
+    }
+
+    /**
+     * Растеризация блока, возвращает true, если записана хотя бы одна глубина
+     */
+    private static boolean rasterizeBlock(RasterTriangle t, int x0, int y0, int x1, int y1, boolean inside,
+                                          float[] depth, int width, FragmentShader shader) {
+        boolean written = false;
+        double a1 = t.a1, a2 = t.a2, a3 = t.a3;
+        double bias1 = t.bias1, bias2 = t.bias2, bias3 = t.bias3;
+        double zA = t.zA;
+        double invArea = t.invArea;
+        double px = x0 + 0.5;
+
+        for (int y = y0; y <= y1; y++) {
+            double py = y + 0.5;
+            // Начало строки считаем точно, чтобы ошибка шага не накапливалась по вертикали
+            double e1 = a1 * px + t.b1 * py + t.c1;
+            double e2 = a2 * px + t.b2 * py + t.c2;
+            double e3 = a3 * px + t.b3 * py + t.c3;
+            double z = zA * px + t.zB * py + t.zC;
+            int index = y * width + x0;
+
+            for (int x = x0; x <= x1; x++, index++) {
+                if (inside || (e1 >= bias1 && e2 >= bias2 && e3 >= bias3)) {
+                    float depthValue = (float) z;
+                    if (depthValue < depth[index]) {
+                        depth[index] = depthValue;
+                        written = true;
+                        shader.shade(t, index, x, y, e1 * invArea, e2 * invArea, e3 * invArea);
+                    }
+                }
+                e1 += a1;
+                e2 += a2;
+                e3 += a3;
+                z += zA;
+            }
+        }
+        return written;
+    }
+}
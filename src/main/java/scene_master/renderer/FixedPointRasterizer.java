@@ -0,0 +1,220 @@
+package scene_master.renderer;
+
+/**
+ * Целочисленный растеризатор: вершины снимаются на сетку 1/256 пикселя (8 бит субпикселя),
+ * рёбра считаются в long без округлений. Покрытие точное: соседние треугольники с общим ребром
+ * делят его пиксели без дыр и двойной записи, результат не зависит от порядка обхода и разбиения на тайлы.
+ * Рёбра, глубина и барицентрики меняются одним сложением на пиксель и на строку, как в EdgeRasterizer,
+ * но шаги точные: рёбра — в long, глубина и барицентрики — целые числа квантов в double
+ * (RasterTriangle.fixedDepth, fixedWeight2, fixedWeight3). Значения в пикселе не зависят от пути обхода,
+ * поэтому кадр повторяется бит в бит. Обход блоками BLOCK_SIZE и отсечение по Hi-Z — как в EdgeRasterizer.
+ */
+public class FixedPointRasterizer {
+    public static final int SUBPIXEL_BITS = 8;
+    public static final long SUBPIXEL_SCALE = 1L << SUBPIXEL_BITS;
+
+    private static final int BLOCK_SIZE = EdgeRasterizer.BLOCK_SIZE;
+    private static final long HALF = SUBPIXEL_SCALE / 2;
+
+    private static final int OUTSIDE = 0;
+    private static final int PARTIAL = 1;
+    private static final int INSIDE = 2;
+
+    private FixedPointRasterizer() {
+    }
+
+    /**
+     * Растеризация треугольника внутри прямоугольника clip (границы включительно)
+     * с тестом и записью глубины в depth (по строкам, ширина width)
+     */
+    public static void rasterize(RasterTriangle t, int clipMinX, int clipMinY, int clipMaxX, int clipMaxY,
+                                 float[] depth, int width, EdgeRasterizer.FragmentShader shader) {
+        rasterize(t, clipMinX, clipMinY, clipMaxX, clipMaxY, depth, width, 0, null, shader);
+    }
+
+    /**
+     * То же с отсечением блоков по Hi-Z буфера глубины
+     */
+    public static void rasterize(RasterTriangle t, int clipMinX, int clipMinY, int clipMaxX, int clipMaxY,
+                                 DepthBuffer depthBuffer, EdgeRasterizer.FragmentShader shader) {
+        rasterize(t, clipMinX, clipMinY, clipMaxX, clipMaxY, depthBuffer.getData(), depthBuffer.getWidth(),
+                depthBuffer.getHeight(), depthBuffer.getHiZ(), shader);
+    }
+
+    private static void rasterize(RasterTriangle t, int clipMinX, int clipMinY, int clipMaxX, int clipMaxY,
+                                  float[] depth, int width, int height, HiZBuffer hiZ,
+                                  EdgeRasterizer.FragmentShader shader) {
+        if (t.fixedArea == 0) return;
+
+        int minX = Math.max(t.fixedMinX, clipMinX);
+        int maxX = Math.min(t.fixedMaxX, clipMaxX);
+        int minY = Math.max(t.fixedMinY, clipMinY);
+        int maxY = Math.min(t.fixedMaxY, clipMaxY);
+        if (minX > maxX || minY > maxY) return;
+
+        int firstBlockX = minX & -BLOCK_SIZE;
+        int firstBlockY = minY & -BLOCK_SIZE;
+
+        for (int blockY = firstBlockY; blockY <= maxY; blockY += BLOCK_SIZE) {
+            int y0 = Math.max(blockY, minY);
+            int y1 = Math.min(blockY + BLOCK_SIZE - 1, maxY);
+
+            for (int blockX = firstBlockX; blockX <= maxX; blockX += BLOCK_SIZE) {
+                int x0 = Math.max(blockX, minX);
+                int x1 = Math.min(blockX + BLOCK_SIZE - 1, maxX);
+
+                int coverage = classifyBlock(t, x0, y0, x1, y1);
+                if (coverage == OUTSIDE) continue;
+
+                if (hiZ == null) {
+                    rasterizeBlock(t, x0, y0, x1, y1, coverage == INSIDE, depth, width, shader);
+                    continue;
+                }
+
+                int cellX = blockX / BLOCK_SIZE, cellY = blockY / BLOCK_SIZE;
+                if (nearestDepth(t, x0, y0, x1, y1) >= hiZ.getCellMax(cellX, cellY)) continue;
+
+                if (rasterizeBlock(t, x0, y0, x1, y1, coverage == INSIDE, depth, width, shader)) {
+                    hiZ.updateCell(cellX, cellY, depth, width, height);
+                }
+            }
+        }
+    }
+
+    private static long center(int pixel) {
+        return ((long) pixel << SUBPIXEL_BITS) + HALF;
+    }
+
+    /**
+     * Классификация блока по угловым пикселям, как в EdgeRasterizer, но в точной целочисленной арифметике
+     */
+    private static int classifyBlock(RasterTriangle t, int x0, int y0, int x1, int y1) {
+        long px = center(x0), py = center(y0);
+        long spanX = (long) (x1 - x0) << SUBPIXEL_BITS, spanY = (long) (y1 - y0) << SUBPIXEL_BITS;
+        boolean inside = true;
+
+        long e = t.fa1 * px + t.fb1 * py + t.fc1;
+        long dx = t.fa1 * spanX, dy = t.fb1 * spanY;
+        if (e + Math.max(dx, 0) + Math.max(dy, 0) < 0) return OUTSIDE;
+        inside &= e + Math.min(dx, 0) + Math.min(dy, 0) >= 0;
+
+        e = t.fa2 * px + t.fb2 * py + t.fc2;
+        dx = t.fa2 * spanX;
+        dy = t.fb2 * spanY;
+        if (e + Math.max(dx, 0) + Math.max(dy, 0) < 0) return OUTSIDE;
+        inside &= e + Math.min(dx, 0) + Math.min(dy, 0) >= 0;
+
+        e = t.fa3 * px + t.fb3 * py + t.fc3;
+        dx = t.fa3 * spanX;
+        dy = t.fb3 * spanY;
+        if (e + Math.max(dx, 0) + Math.max(dy, 0) < 0) return OUTSIDE;
+        inside &= e + Math.min(dx, 0) + Math.min(dy, 0) >= 0;
+
+        return inside ? INSIDE : PARTIAL;
+    }
+
+    /**
+     * Нижняя граница глубины на блоке: глубина линейна по экрану, минимум — в одном из угловых пикселей.
+     * Внутри треугольника глубина — выпуклая комбинация вершин, поэтому она не ближе minZ
+     */
+    private static double nearestDepth(RasterTriangle t, int x0, int y0, int x1, int y1) {
+        double z = Math.min(
+                Math.min(planeAt(t, t.fixedDepth, x0, y0), planeAt(t, t.fixedDepth, x1, y0)),
+                Math.min(planeAt(t, t.fixedDepth, x0, y1), planeAt(t, t.fixedDepth, x1, y1)));
+        return Math.max(z, t.minZ);
+    }
+
+    /**
+     * Значение плоскости RasterTriangle.fixed* в центре пикселя; точное, как и при накоплении шагов
+     */
+    private static double planeAt(RasterTriangle t, double[] plane, int x, int y) {
+        return plane[0] + (x - t.fixedMinX) * plane[1] + (y - t.fixedMinY) * plane[2];
+    }
+
+    /**
+     * Растеризация блока, возвращает true, если записана хотя бы одна глубина.
+     * Блок целиком внутри треугольника обходится без рёбер
+     */
+    private static boolean rasterizeBlock(RasterTriangle t, int x0, int y0, int x1, int y1, boolean inside,
+                                          float[] depth, int width, EdgeRasterizer.FragmentShader shader) {
+        if (inside) return fillBlock(t, x0, y0, x1, y1, depth, width, shader);
+
+        boolean written = false;
+        long stepX1 = t.fa1 << SUBPIXEL_BITS, stepX2 = t.fa2 << SUBPIXEL_BITS, stepX3 = t.fa3 << SUBPIXEL_BITS;
+        long stepY1 = t.fb1 << SUBPIXEL_BITS, stepY2 = t.fb2 << SUBPIXEL_BITS, stepY3 = t.fb3 << SUBPIXEL_BITS;
+        double depthStepX = t.fixedDepth[1], depthStepY = t.fixedDepth[2];
+        double w2StepX = t.fixedWeight2[1], w2StepY = t.fixedWeight2[2];
+        double w3StepX = t.fixedWeight3[1], w3StepY = t.fixedWeight3[2];
+
+        long px = center(x0), py = center(y0);
+        long row1 = t.fa1 * px + t.fb1 * py + t.fc1;
+        long row2 = t.fa2 * px + t.fb2 * py + t.fc2;
+        long row3 = t.fa3 * px + t.fb3 * py + t.fc3;
+        double rowDepth = planeAt(t, t.fixedDepth, x0, y0);
+        double rowW2 = planeAt(t, t.fixedWeight2, x0, y0);
+        double rowW3 = planeAt(t, t.fixedWeight3, x0, y0);
+
+        for (int y = y0; y <= y1; y++) {
+            long e1 = row1, e2 = row2, e3 = row3;
+            double z = rowDepth, w2 = rowW2, w3 = rowW3;
+            int index = y * width + x0;
+
+            for (int x = x0; x <= x1; x++, index++) {
+                // Все три значения неотрицательны, когда неотрицательно их побитовое ИЛИ
+                if ((e1 | e2 | e3) >= 0) {
+                    float depthValue = (float) z;
+                    if (depthValue < depth[index]) {
+                        depth[index] = depthValue;
+                        written = true;
+                        shader.shade(t, index, x, y, 1 - w2 - w3, w2, w3);
+                    }
+                }
+                e1 += stepX1;
+                e2 += stepX2;
+                e3 += stepX3;
+                z += depthStepX;
+                w2 += w2StepX;
+                w3 += w3StepX;
+            }
+            row1 += stepY1;
+            row2 += stepY2;
+            row3 += stepY3;
+            rowDepth += depthStepY;
+            rowW2 += w2StepY;
+            rowW3 += w3StepY;
+        }
+        return written;
+    }
+
+    private static boolean fillBlock(RasterTriangle t, int x0, int y0, int x1, int y1,
+                                     float[] depth, int width, EdgeRasterizer.FragmentShader shader) {
+        boolean written = false;
+        double depthStepX = t.fixedDepth[1], depthStepY = t.fixedDepth[2];
+        double w2StepX = t.fixedWeight2[1], w2StepY = t.fixedWeight2[2];
+        double w3StepX = t.fixedWeight3[1], w3StepY = t.fixedWeight3[2];
+        double rowDepth = planeAt(t, t.fixedDepth, x0, y0);
+        double rowW2 = planeAt(t, t.fixedWeight2, x0, y0);
+        double rowW3 = planeAt(t, t.fixedWeight3, x0, y0);
+
+        for (int y = y0; y <= y1; y++) {
+            double z = rowDepth, w2 = rowW2, w3 = rowW3;
+            int index = y * width + x0;
+
+            for (int x = x0; x <= x1; x++, index++) {
+                float depthValue = (float) z;
+                if (depthValue < depth[index]) {
+                    depth[index] = depthValue;
+                    written = true;
+                    shader.shade(t, index, x, y, 1 - w2 - w3, w2, w3);
+                }
+                z += depthStepX;
+                w2 += w2StepX;
+                w3 += w3StepX;
+            }
+            rowDepth += depthStepY;
+            rowW2 += w2StepY;
+            rowW3 += w3StepY;
+        }
+        return written;
+    }
+}
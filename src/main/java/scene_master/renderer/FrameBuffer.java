@@ -0,0 +1,103 @@
+package scene_master.renderer;
+
+import javafx.scene.image.PixelBuffer;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+
+import java.nio.IntBuffer;
+import java.util.Arrays;
+
+/**
+ * Буфер кадра: упакованные ARGB-пиксели (premultiplied) в одном массиве int[], по строкам.
+ * Для показа массив оборачивается в PixelBuffer, так что WritableImage смотрит
+ * прямо в него и копирования пикселей не происходит.
+ */
+public class FrameBuffer {
+    private final int width;
+    private final int height;
+    private final int[] pixels;
+
+    private PixelBuffer<IntBuffer> pixelBuffer;
+    private WritableImage image;
+
+    public FrameBuffer(int width, int height) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Frame size must be positive");
+        }
+        this.width = width;
+        this.height = height;
+        this.pixels = new int[width * height];
+    }
+
+    public int getWidth() { return width; }
+    public int getHeight() { return height; }
+
+    /**
+     * Прямой доступ к пикселям: индекс y * width + x
+     */
+    public int[] getPixels() { return pixels; }
+
+    public void clear(int argb) {
+        Arrays.fill(pixels, argb);
+    }
+
+    public void setPixel(int x, int y, int argb) {
+        pixels[y * width + x] = argb;
+    }
+
+    public int getPixel(int x, int y) {
+        return pixels[y * width + x];
+    }
+
+    /**
+     * Изображение для показа на экране. Создаётся один раз и затем только помечается
+     * как изменённое. Вызывать из потока JavaFX.
+     */
+    public WritableImage toImage() {
+        if (image == null) {
+            createImage();
+        } else {
+            pixelBuffer.updateBuffer(buffer -> null);
+        }
+        return image;
+    }
+
+    /**
+     * Показ готового кадра из буфера того же размера, который заполняется в другом потоке.
+     * Пиксели копируются внутри updateBuffer, как требует PixelBuffer, так что источник можно
+     * сразу отдавать обратно на рендер. Вызывать из потока JavaFX.
+     */
+    public WritableImage present(FrameBuffer source) {
+        if (source.width != width || source.height != height) {
+            throw new IllegalArgumentException("Frame size mismatch");
+        }
+        if (image == null) {
+            System.arraycopy(source.pixels, 0, pixels, 0, pixels.length);
+            createImage();
+        } else {
+            pixelBuffer.updateBuffer(buffer -> {
+                System.arraycopy(source.pixels, 0, pixels, 0, pixels.length);
+                return null;
+            });
+        }
+        return image;
+    }
+
+    private void createImage() {
+        pixelBuffer = new PixelBuffer<>(width, height, IntBuffer.wrap(pixels), PixelFormat.getIntArgbPreInstance());
+        image = new WritableImage(pixelBuffer);
+    }
+
+    /**
+     * Упаковка цвета в ARGB с предумноженной альфой (формат PixelBuffer)
+     */
+    public static int toArgb(Color color) {
+        double alpha = color.getOpacity();
+        int a = (int) Math.round(alpha * 255);
+        int r = (int) Math.round(color.getRed() * alpha * 255);
+        int g = (int) Math.round(color.getGreen() * alpha * 255);
+        int b = (int) Math.round(color.getBlue() * alpha * 255);
+        return (a << 24) | (r << 16) | (g << 8) | b;
+    }
+}
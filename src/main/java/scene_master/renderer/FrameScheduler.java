@@ -0,0 +1,82 @@
+package scene_master.renderer;
+
+import javafx.animation.AnimationTimer;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Планировщик кадров на импульсах JavaFX (AnimationTimer).
+ * Запросы только ставят флаг "грязный"; на ближайшем импульсе кадр рисуется один раз,
+ * сколько бы запросов ни пришло. Последнее состояние сцены не теряется: флаг снимается до отрисовки,
+ * и изменение во время кадра даст ещё один кадр.
+ */
+public class FrameScheduler {
+    private final Runnable renderAction;
+    private Runnable pulseListener;
+    private final AtomicBoolean dirty = new AtomicBoolean(false);
+    private AnimationTimer timer;
+    private long frameCount = 0;
+
+    public FrameScheduler(Runnable renderAction) {
+        this.renderAction = renderAction;
+    }
+
+    /**
+     * Запуск на FX-потоке; таймер создаётся здесь, чтобы сам планировщик не требовал запущенного toolkit
+     */
+    public void start() {
+        if (timer == null) {
+            timer = new AnimationTimer() {
+                @Override
+                public void handle(long now) {
+                    onPulse();
+                }
+            };
+        }
+        timer.start();
+    }
+
+    public void stop() {
+        if (timer != null) {
+            timer.stop();
+        }
+    }
+
+    /**
+     * Действие на каждом импульсе после renderAction, например показ кадра, готового в другом потоке
+     */
+    public void setPulseListener(Runnable pulseListener) {
+        this.pulseListener = pulseListener;
+    }
+
+    /**
+     * Запросить кадр. Можно вызывать сколько угодно раз за импульс
+     */
+    public void requestFrame() {
+        dirty.set(true);
+    }
+
+    public boolean isFramePending() {
+        return dirty.get();
+    }
+
+    /**
+     * Один импульс: если были запросы, рисуем ровно один кадр
+     */
+    public void onPulse() {
+        if (dirty.getAndSet(false)) {
+            frameCount++;
+            renderAction.run();
+        }
+        if (pulseListener != null) {
+            pulseListener.run();
+        }
+    }
+
+    /**
+     * Сколько кадров нарисовано с начала работы
+     */
+    public long getFrameCount() {
+        return frameCount;
+    }
+}
@@ -0,0 +1,70 @@
+package scene_master.renderer;
+
+import math.Matrix.Matrix4x4;
+import scene_master.model.BoundingSphere;
+
+/**
+ * Пирамида видимости из шести плоскостей, извлечённых из строк матрицы проекции (метод Gribb–Hartmann).
+ * Если построить её по MVP модели, плоскости оказываются в координатах модели
+ * и сферу модели можно проверять без перевода в мировые координаты.
+ */
+public class Frustum {
+    // Плоскости a*x + b*y + c*z + d >= 0 внутри: left, right, bottom, top, near, far
+    private final double[] planes = new double[6 * 4];
+
+    public Frustum() {
+    }
+
+    public Frustum(Matrix4x4 matrix) {
+        update(matrix);
+    }
+
+    /**
+     * Перестроение плоскостей по матрице clip = matrix * p (OpenGL, -w <= x, y, z <= w)
+     */
+    public Frustum update(Matrix4x4 matrix) {
+        for (int i = 0; i < 3; i++) {
+            setPlane(2 * i, matrix, i, 1);
+            setPlane(2 * i + 1, matrix, i, -1);
+        }
+        return this;
+    }
+
+    private void setPlane(int plane, Matrix4x4 m, int row, int sign) {
+        double a = m.get(3, 0) + sign * m.get(row, 0);
+        double b = m.get(3, 1) + sign * m.get(row, 1);
+        double c = m.get(3, 2) + sign * m.get(row, 2);
+        double d = m.get(3, 3) + sign * m.get(row, 3);
+
+        // Нормируем, чтобы значение плоскости было расстоянием в единицах пространства модели
+        double length = Math.sqrt(a * a + b * b + c * c);
+        if (length > 0) {
+            a /= length;
+            b /= length;
+            c /= length;
+            d /= length;
+        }
+
+        int o = plane * 4;
+        planes[o] = a;
+        planes[o + 1] = b;
+        planes[o + 2] = c;
+        planes[o + 3] = d;
+    }
+
+    /**
+     * false, только если сфера целиком снаружи хотя бы одной плоскости
+     */
+    public boolean intersectsSphere(double x, double y, double z, double radius) {
+        for (int o = 0; o < planes.length; o += 4) {
+            if (planes[o] * x + planes[o + 1] * y + planes[o + 2] * z + planes[o + 3] < -radius) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean intersectsSphere(BoundingSphere sphere) {
+        return intersectsSphere(sphere.getCenterX(), sphere.getCenterY(), sphere.getCenterZ(), sphere.getRadius());
+    }
+}
@@ -0,0 +1,49 @@
+package scene_master.renderer;
+
+import java.util.Arrays;
+
+/**
+ * G-буфер для отложенного затенения: для каждого пикселя номер победившего по глубине треугольника
+ * и две его барицентрические координаты (третья равна 1 - w1 - w2). Раскладка по строкам, как у FrameBuffer.
+ */
+public class GBuffer {
+    public static final int EMPTY = -1;
+
+    private final int width;
+    private final int height;
+    private final int[] triangleIds;
+    private final float[] w1;
+    private final float[] w2;
+
+    public GBuffer(int width, int height) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("G-buffer size must be positive");
+        }
+        this.width = width;
+        this.height = height;
+        this.triangleIds = new int[width * height];
+        this.w1 = new float[width * height];
+        this.w2 = new float[width * height];
+        clear();
+    }
+
+    public int getWidth() { return width; }
+    public int getHeight() { return height; }
+
+    /**
+     * Барицентрики пустых пикселей не читаются, поэтому очищаются только номера
+     */
+    public void clear() {
+        Arrays.fill(triangleIds, EMPTY);
+    }
+
+    public void set(int index, int triangleId, double w1, double w2) {
+        triangleIds[index] = triangleId;
+        this.w1[index] = (float) w1;
+        this.w2[index] = (float) w2;
+    }
+
+    public int[] getTriangleIds() { return triangleIds; }
+    public float[] getW1() { return w1; }
+    public float[] getW2() { return w2; }
+}
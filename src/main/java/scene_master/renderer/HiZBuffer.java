@@ -0,0 +1,133 @@
+package scene_master.renderer;
+
+import java.util.Arrays;
+
+/**
+ * Иерархический буфер глубины (Hi-Z): пирамида максимумов глубины.
+ * Уровень 0 хранит максимум по клетке CELL_SIZE x CELL_SIZE пикселей (совпадает с блоком EdgeRasterizer),
+ * каждый следующий уровень — максимум по 2x2 клеткам предыдущего.
+ * Если ближайшая точка объекта не ближе максимума по всем клеткам под ним, объект целиком перекрыт.
+ * Завышенный (устаревший) максимум безопасен: он только реже отбрасывает, поэтому запись
+ * в глубину мимо Hi-Z не ломает отсечение.
+ */
+public class HiZBuffer {
+    public static final int CELL_SIZE = EdgeRasterizer.BLOCK_SIZE;
+    private static final int CELL_SHIFT = Integer.numberOfTrailingZeros(CELL_SIZE);
+
+    private final float[][] levels;
+    private final int[] levelWidths;
+    private final int[] levelHeights;
+
+    public HiZBuffer(int width, int height) {
+        int levelWidth = (width + CELL_SIZE - 1) >> CELL_SHIFT;
+        int levelHeight = (height + CELL_SIZE - 1) >> CELL_SHIFT;
+
+        int count = 1;
+        for (int w = levelWidth, h = levelHeight; w > 1 || h > 1; w = (w + 1) >> 1, h = (h + 1) >> 1) {
+            count++;
+        }
+
+        levels = new float[count][];
+        levelWidths = new int[count];
+        levelHeights = new int[count];
+        for (int level = 0; level < count; level++) {
+            levels[level] = new float[levelWidth * levelHeight];
+            levelWidths[level] = levelWidth;
+            levelHeights[level] = levelHeight;
+            levelWidth = (levelWidth + 1) >> 1;
+            levelHeight = (levelHeight + 1) >> 1;
+        }
+        clear();
+    }
+
+    public void clear() {
+        for (float[] level : levels) {
+            Arrays.fill(level, DepthBuffer.FAR);
+        }
+    }
+
+    public int getLevelCount() {
+        return levels.length;
+    }
+
+    /**
+     * Максимум глубины клетки нулевого уровня
+     */
+    public float getCellMax(int cellX, int cellY) {
+        return levels[0][cellY * levelWidths[0] + cellX];
+    }
+
+    /**
+     * Пересчёт клетки нулевого уровня по буферу глубины. Клетки разных тайлов TileRasterizer не пересекаются,
+     * поэтому вызов безопасен из параллельных тайлов; верхние уровни обновляет rebuildLevels
+     */
+    public void updateCell(int cellX, int cellY, float[] depth, int width, int height) {
+        int x0 = cellX << CELL_SHIFT, y0 = cellY << CELL_SHIFT;
+        int x1 = Math.min(x0 + CELL_SIZE, width), y1 = Math.min(y0 + CELL_SIZE, height);
+
+        float max = 0;
+        boolean first = true;
+        for (int y = y0; y < y1; y++) {
+            int row = y * width;
+            for (int x = x0; x < x1; x++) {
+                float value = depth[row + x];
+                if (first || value > max) {
+                    max = value;
+                    first = false;
+                }
+            }
+        }
+        levels[0][cellY * levelWidths[0] + cellX] = max;
+    }
+
+    /**
+     * Пересборка верхних уровней из нулевого
+     */
+    public void rebuildLevels() {
+        for (int level = 1; level < levels.length; level++) {
+            float[] source = levels[level - 1];
+            int sourceWidth = levelWidths[level - 1], sourceHeight = levelHeights[level - 1];
+            float[] target = levels[level];
+            int targetWidth = levelWidths[level], targetHeight = levelHeights[level];
+
+            for (int y = 0; y < targetHeight; y++) {
+                int sy0 = y * 2, sy1 = Math.min(sy0 + 1, sourceHeight - 1);
+                for (int x = 0; x < targetWidth; x++) {
+                    int sx0 = x * 2, sx1 = Math.min(sx0 + 1, sourceWidth - 1);
+                    float max = Math.max(
+                            Math.max(source[sy0 * sourceWidth + sx0], source[sy0 * sourceWidth + sx1]),
+                            Math.max(source[sy1 * sourceWidth + sx0], source[sy1 * sourceWidth + sx1]));
+                    target[y * targetWidth + x] = max;
+                }
+            }
+        }
+    }
+
+    /**
+     * true, если прямоугольник пикселей minX..maxX, minY..maxY (включительно) с ближайшей глубиной minZ
+     * полностью закрыт уже нарисованным. Берётся уровень, на котором прямоугольник покрывает не больше 4x4 клеток
+     */
+    public boolean isOccluded(int minX, int minY, int maxX, int maxY, double minZ) {
+        int cellMinX = minX >> CELL_SHIFT, cellMinY = minY >> CELL_SHIFT;
+        int cellMaxX = maxX >> CELL_SHIFT, cellMaxY = maxY >> CELL_SHIFT;
+
+        int level = 0;
+        while (level < levels.length - 1 && (cellMaxX - cellMinX >= 4 || cellMaxY - cellMinY >= 4)) {
+            cellMinX >>= 1;
+            cellMinY >>= 1;
+            cellMaxX >>= 1;
+            cellMaxY >>= 1;
+            level++;
+        }
+
+        float[] cells = levels[level];
+        int levelWidth = levelWidths[level];
+        for (int y = cellMinY; y <= cellMaxY; y++) {
+            for (int x = cellMinX; x <= cellMaxX; x++) {
+                // Тест глубины строгий (z < depth), поэтому равная глубина тоже не пройдёт
+                if (minZ < cells[y * levelWidth + x]) return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,125 @@
+package scene_master.renderer;
+
+import math.Camera;
+import math.LinealAlgebra.Vector3D;
+import scene_master.model.BoundingSphere;
+import scene_master.model.Model3D;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Рендер вне экрана: тот же конвейер SoftwareRenderer, но результат остаётся в int[] цвета (ARGB, premultiplied)
+ * и float[] глубины (NDC z, DepthBuffer.FAR там, где ничего не нарисовано). Не нужен ни Canvas, ни поток
+ * JavaFX, сам инструментарий JavaFX не запускается, пока в сцене нет текстур. PNG пишется через javax.imageio.
+ * Режимы рендера настраиваются через getRenderer(). Экземпляр не потокобезопасен: на поток свой рендерер.
+ */
+public class OffscreenRenderer {
+    // Направление от центра сцены к камере: спереди, чуть сверху и справа
+    private static final float VIEW_X = 0.5f, VIEW_Y = 0.4f, VIEW_Z = 1.0f;
+    // Запас вокруг сферы, чтобы силуэт не касался краёв кадра
+    private static final double FRAME_MARGIN = 1.05;
+
+    private final SoftwareRenderer renderer;
+    private final FrameBuffer frameBuffer;
+
+    public OffscreenRenderer(int width, int height) {
+        this.frameBuffer = new FrameBuffer(width, height);
+        // Камера заменяется той, что передана в render()
+        this.renderer = new SoftwareRenderer(null, new Camera(new Vector3D(0, 0, 5), new Vector3D(0, 0, 0)));
+    }
+
+    /**
+     * Рендеринг кадра; соотношение сторон камеры подстраивается под размер буфера
+     */
+    public void render(List<Model3D> models, Camera camera) {
+        renderer.setCamera(camera);
+        renderer.renderToBuffer(models, frameBuffer);
+    }
+
+    /**
+     * Камера, в кадр которой целиком помещается sphere при соотношении сторон aspect (ширина / высота).
+     * Расстояние берётся по меньшему из углов обзора, ближняя и дальняя плоскости охватывают сферу
+     */
+    public static Camera frameCamera(BoundingSphere sphere, float aspect) {
+        double radius = sphere.getRadius() > 0 ? sphere.getRadius() : 1;
+        Vector3D center = new Vector3D((float) sphere.getCenterX(), (float) sphere.getCenterY(), (float) sphere.getCenterZ());
+        Camera camera = new Camera(center, center);
+        camera.setAspectRatio(aspect);
+
+        double halfFov = Math.toRadians(camera.getFov()) / 2;
+        double halfAngle = Math.min(halfFov, Math.atan(Math.tan(halfFov) * aspect));
+        double distance = radius / Math.sin(halfAngle) * FRAME_MARGIN;
+
+        double length = Math.sqrt(VIEW_X * VIEW_X + VIEW_Y * VIEW_Y + VIEW_Z * VIEW_Z);
+        double scale = distance / length;
+        camera.setPosition(new Vector3D(
+                (float) (center.getX() + VIEW_X * scale),
+                (float) (center.getY() + VIEW_Y * scale),
+                (float) (center.getZ() + VIEW_Z * scale)));
+        camera.setNear((float) ((distance - radius) * 0.5));
+        camera.setFar((float) ((distance + radius) * 1.5));
+        return camera;
+    }
+
+    /**
+     * Рендерер для настройки режимов (освещение, каркас, отсечение и т.д.)
+     */
+    public SoftwareRenderer getRenderer() { return renderer; }
+
+    public int getWidth() { return frameBuffer.getWidth(); }
+    public int getHeight() { return frameBuffer.getHeight(); }
+
+    /**
+     * Пиксели последнего кадра, индекс y * width + x. Массив переиспользуется следующим render()
+     */
+    public int[] getPixels() { return frameBuffer.getPixels(); }
+
+    /**
+     * Глубина последнего кадра, индекс y * width + x. Массив переиспользуется следующим render()
+     */
+    public float[] getDepth() {
+        DepthBuffer depthBuffer = renderer.getDepthBuffer();
+        if (depthBuffer == null) {
+            throw new IllegalStateException("Nothing rendered yet");
+        }
+        return depthBuffer.getData();
+    }
+
+    public int getPixel(int x, int y) { return frameBuffer.getPixel(x, y); }
+
+    public float getDepth(int x, int y) { return getDepth()[y * getWidth() + x]; }
+
+    /**
+     * Копия кадра в BufferedImage TYPE_INT_ARGB (альфа снята с каналов)
+     */
+    public BufferedImage toBufferedImage() {
+        int width = getWidth(), height = getHeight();
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        int[] target = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        int[] pixels = getPixels();
+        for (int i = 0; i < pixels.length; i++) {
+            target[i] = unpremultiply(pixels[i]);
+        }
+        return image;
+    }
+
+    public void writePng(File file) throws IOException {
+        if (!ImageIO.write(toBufferedImage(), "png", file)) {
+            throw new IOException("No PNG writer available");
+        }
+    }
+
+    private static int unpremultiply(int argb) {
+        int a = argb >>> 24;
+        if (a == 255 || a == 0) return argb;
+        int r = Math.min(255, (((argb >> 16) & 0xFF) * 255 + a / 2) / a);
+        int g = Math.min(255, (((argb >> 8) & 0xFF) * 255 + a / 2) / a);
+        int b = Math.min(255, ((argb & 0xFF) * 255 + a / 2) / a);
+        return (a << 24) | (r << 16) | (g << 8) | b;
+    }
+}
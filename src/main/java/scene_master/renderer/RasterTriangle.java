@@ -0,0 +1,218 @@
+package scene_master.renderer;
+
+import scene_master.model.Model3D;
+import scene_master.model.Polygon;
+import scene_master.model.Texture;
+
+/**
+ * Треугольник, подготовленный к растеризации: индексы вершин в преобразованной сетке,
+ * текстурные координаты, ограничивающий прямоугольник в пикселях
+ * и уравнения рёбер/глубины вида a*x + b*y + c для EdgeRasterizer.
+ * Для FixedPointRasterizer те же рёбра строятся в целых числах по вершинам, снятым на субпиксельную сетку
+ */
+public class RasterTriangle {
+    public final TransformedMesh mesh;
+    public final int v1, v2, v3;
+    public final double[] uv1, uv2, uv3;
+    public final Model3D model;
+    public final Polygon polygon;
+    public final boolean textureReady;
+
+    public final double area;
+    public final int minX, minY, maxX, maxY;
+
+    // Рёбра ориентированы так, что внутри треугольника значения положительны.
+    // Ребро i лежит напротив вершины i, поэтому e_i / |area| — её барицентрическая координата.
+    public final double a1, b1, c1;
+    public final double a2, b2, c2;
+    public final double a3, b3, c3;
+    // Правило top-left: 0 для верхних и левых рёбер, иначе Double.MIN_VALUE (строгое неравенство)
+    public final double bias1, bias2, bias3;
+    public final double invArea;
+    // Плоскость глубины z = zA * x + zB * y + zC
+    public final double zA, zB, zC;
+    // Ближайшая глубина вершин, для проверки по Hi-Z
+    public final double minZ;
+    // 1/w вершин: в экране линейно меняются 1/w и атрибут/w, а не сам атрибут
+    public final double invW1, invW2, invW3;
+
+    // Целочисленные рёбра в единицах 1/SUBPIXEL_SCALE пикселя. fc уже уменьшено на fixedBias
+    // (1 для рёбер не top-left), поэтому пиксель внутри, если все три значения >= 0
+    public final long fa1, fb1, fc1;
+    public final long fa2, fb2, fc2;
+    public final long fa3, fb3, fc3;
+    public final int fixedBias1, fixedBias2, fixedBias3;
+    // Удвоенная площадь по снятым вершинам (0 — треугольник выродился при снятии на сетку)
+    public final long fixedArea;
+    // Пиксели, центры которых могут попасть в треугольник, уже обрезанные по экрану
+    public final int fixedMinX, fixedMinY, fixedMaxX, fixedMaxY;
+    // Глубина через барицентрики: z = z1 + w2 * dz2 + w3 * dz3
+    public final double z1, dz2, dz3;
+    // Плоскости для FixedPointRasterizer: {значение в центре пикселя (fixedMinX, fixedMinY), шаг по x, шаг по y}
+    // для глубины и барицентрик вершин 2 и 3. Все три числа — целые числа квантов (степень двойки),
+    // меньше 2^51 квантов, поэтому сложения шагов точны и значение в пикселе не зависит от порядка обхода
+    public final double[] fixedDepth, fixedWeight2, fixedWeight3;
+    // Номер треугольника в кадре, по нему G-буфер находит треугольник при отложенном затенении
+    public int id;
+    // Освещённость вершин для затенения по Гуро, заполняет SoftwareRenderer
+    public double light1, light2, light3;
+    // Раскодированная текстура модели и режим повтора, заполняет SoftwareRenderer (null — без текстуры)
+    public Texture texture;
+    public Texture.WrapMode textureWrap;
+
+    public RasterTriangle(TransformedMesh mesh, int v1, int v2, int v3,
+                          double[] uv1, double[] uv2, double[] uv3,
+                          Model3D model, Polygon polygon, boolean textureReady,
+                          int width, int height) {
+        this.mesh = mesh;
+        this.v1 = v1;
+        this.v2 = v2;
+        this.v3 = v3;
+        this.uv1 = uv1;
+        this.uv2 = uv2;
+        this.uv3 = uv3;
+        this.model = model;
+        this.polygon = polygon;
+        this.textureReady = textureReady;
+
+        float[] screen = mesh.screen;
+        double x1 = screen[v1 * 3], y1 = screen[v1 * 3 + 1], z1 = screen[v1 * 3 + 2];
+        double x2 = screen[v2 * 3], y2 = screen[v2 * 3 + 1], z2 = screen[v2 * 3 + 2];
+        double x3 = screen[v3 * 3], y3 = screen[v3 * 3 + 1], z3 = screen[v3 * 3 + 2];
+
+        this.area = (x2 - x1) * (y3 - y1) - (y2 - y1) * (x3 - x1);
+        this.minX = (int) Math.max(0, Math.min(Math.min(x1, x2), x3));
+        this.maxX = (int) Math.min(width - 1, Math.max(Math.max(x1, x2), x3));
+        this.minY = (int) Math.max(0, Math.min(Math.min(y1, y2), y3));
+        this.maxY = (int) Math.min(height - 1, Math.max(Math.max(y1, y2), y3));
+
+        double sign = area < 0 ? -1 : 1;
+        this.a1 = sign * (y2 - y3);
+        this.b1 = sign * (x3 - x2);
+        this.c1 = sign * ((y3 - y2) * x2 - (x3 - x2) * y2);
+        this.a2 = sign * (y3 - y1);
+        this.b2 = sign * (x1 - x3);
+        this.c2 = sign * ((y1 - y3) * x3 - (x1 - x3) * y3);
+        this.a3 = sign * (y1 - y2);
+        this.b3 = sign * (x2 - x1);
+        this.c3 = sign * ((y2 - y1) * x1 - (x2 - x1) * y1);
+
+        this.bias1 = isTopLeft(a1, b1) ? 0 : Double.MIN_VALUE;
+        this.bias2 = isTopLeft(a2, b2) ? 0 : Double.MIN_VALUE;
+        this.bias3 = isTopLeft(a3, b3) ? 0 : Double.MIN_VALUE;
+
+        this.invArea = area != 0 ? 1.0 / Math.abs(area) : 0;
+        this.zA = (a1 * z1 + a2 * z2 + a3 * z3) * invArea;
+        this.zB = (b1 * z1 + b2 * z2 + b3 * z3) * invArea;
+        this.zC = (c1 * z1 + c2 * z2 + c3 * z3) * invArea;
+        this.minZ = Math.min(Math.min(z1, z2), z3);
+
+        float[] clipW = mesh.clipW;
+        float w1 = clipW[v1], w2 = clipW[v2], w3 = clipW[v3];
+        if (w1 > 0 && w2 > 0 && w3 > 0) {
+            this.invW1 = 1.0 / w1;
+            this.invW2 = 1.0 / w2;
+            this.invW3 = 1.0 / w3;
+        } else {
+            // Сетка без clipW (собрана вручную в экранных координатах): аффинная интерполяция
+            this.invW1 = 1;
+            this.invW2 = 1;
+            this.invW3 = 1;
+        }
+
+        long fx1 = snap(x1), fy1 = snap(y1);
+        long fx2 = snap(x2), fy2 = snap(y2);
+        long fx3 = snap(x3), fy3 = snap(y3);
+        long fixedSignedArea = (fx2 - fx1) * (fy3 - fy1) - (fy2 - fy1) * (fx3 - fx1);
+        long fixedSign = fixedSignedArea < 0 ? -1 : 1;
+        long ea1 = fixedSign * (fy2 - fy3), eb1 = fixedSign * (fx3 - fx2);
+        long ea2 = fixedSign * (fy3 - fy1), eb2 = fixedSign * (fx1 - fx3);
+        long ea3 = fixedSign * (fy1 - fy2), eb3 = fixedSign * (fx2 - fx1);
+        this.fixedBias1 = isTopLeft(ea1, eb1) ? 0 : 1;
+        this.fixedBias2 = isTopLeft(ea2, eb2) ? 0 : 1;
+        this.fixedBias3 = isTopLeft(ea3, eb3) ? 0 : 1;
+        this.fa1 = ea1;
+        this.fb1 = eb1;
+        this.fc1 = fixedSign * (fx2 * fy3 - fx3 * fy2) - fixedBias1;
+        this.fa2 = ea2;
+        this.fb2 = eb2;
+        this.fc2 = fixedSign * (fx3 * fy1 - fx1 * fy3) - fixedBias2;
+        this.fa3 = ea3;
+        this.fb3 = eb3;
+        this.fc3 = fixedSign * (fx1 * fy2 - fx2 * fy1) - fixedBias3;
+        this.fixedArea = Math.abs(fixedSignedArea);
+
+        // Центр пикселя px: px * SCALE + HALF, он не левее минимума при px >= ceil((min - HALF) / SCALE)
+        int shift = FixedPointRasterizer.SUBPIXEL_BITS;
+        long half = FixedPointRasterizer.SUBPIXEL_SCALE / 2;
+        long scaleMinus = FixedPointRasterizer.SUBPIXEL_SCALE - 1;
+        this.fixedMinX = (int) Math.max(0, (Math.min(Math.min(fx1, fx2), fx3) - half + scaleMinus) >> shift);
+        this.fixedMinY = (int) Math.max(0, (Math.min(Math.min(fy1, fy2), fy3) - half + scaleMinus) >> shift);
+        this.fixedMaxX = (int) Math.min(width - 1, (Math.max(Math.max(fx1, fx2), fx3) - half) >> shift);
+        this.fixedMaxY = (int) Math.min(height - 1, (Math.max(Math.max(fy1, fy2), fy3) - half) >> shift);
+
+        this.z1 = z1;
+        this.dz2 = z2 - z1;
+        this.dz3 = z3 - z1;
+
+        if (fixedArea != 0) {
+            // w = (e + bias) / area, z = z1 + w2 * dz2 + w3 * dz3
+            double invFixedArea = 1.0 / fixedArea;
+            long px = ((long) fixedMinX << shift) + half, py = ((long) fixedMinY << shift) + half;
+            double weight2 = (fa2 * px + fb2 * py + fc2 + fixedBias2) * invFixedArea;
+            double weight3 = (fa3 * px + fb3 * py + fc3 + fixedBias3) * invFixedArea;
+            double weight2X = fa2 * FixedPointRasterizer.SUBPIXEL_SCALE * invFixedArea;
+            double weight2Y = fb2 * FixedPointRasterizer.SUBPIXEL_SCALE * invFixedArea;
+            double weight3X = fa3 * FixedPointRasterizer.SUBPIXEL_SCALE * invFixedArea;
+            double weight3Y = fb3 * FixedPointRasterizer.SUBPIXEL_SCALE * invFixedArea;
+            this.fixedWeight2 = fixedPlane(weight2, weight2X, weight2Y);
+            this.fixedWeight3 = fixedPlane(weight3, weight3X, weight3Y);
+            this.fixedDepth = fixedPlane(z1 + weight2 * dz2 + weight3 * dz3,
+                    weight2X * dz2 + weight3X * dz3, weight2Y * dz2 + weight3Y * dz3);
+        } else {
+            this.fixedWeight2 = new double[3];
+            this.fixedWeight3 = new double[3];
+            this.fixedDepth = new double[3];
+        }
+    }
+
+    /**
+     * Линейная функция на пикселях прямоугольника fixed*, снятая на сетку кванта 2^-48 от наибольшего
+     * по модулю значения (оно в углу прямоугольника). Ошибка снятия много меньше точности float
+     */
+    private double[] fixedPlane(double origin, double stepX, double stepY) {
+        double spanX = stepX * Math.max(0, fixedMaxX - fixedMinX);
+        double spanY = stepY * Math.max(0, fixedMaxY - fixedMinY);
+        double bound = Math.max(Math.max(Math.abs(origin), Math.abs(origin + spanX)),
+                Math.max(Math.abs(origin + spanY), Math.abs(origin + spanX + spanY)));
+        double quantum = Math.scalb(1.0, Math.getExponent(Math.max(bound, Double.MIN_NORMAL)) - 48);
+        return new double[]{
+                Math.rint(origin / quantum) * quantum,
+                Math.rint(stepX / quantum) * quantum,
+                Math.rint(stepY / quantum) * quantum
+        };
+    }
+
+    private static long snap(double coordinate) {
+        return Math.round(coordinate * FixedPointRasterizer.SUBPIXEL_SCALE);
+    }
+
+    private static boolean isTopLeft(long a, long b) {
+        return a > 0 || (a == 0 && b > 0);
+    }
+
+    /**
+     * Левое ребро: значение растёт вправо. Верхнее: горизонтальное, значение растёт вниз (ось y экрана)
+     */
+    private static boolean isTopLeft(double a, double b) {
+        return a > 0 || (a == 0 && b > 0);
+    }
+
+    /**
+     * Треугольник вырожден или целиком вне экрана. Прямоугольник в один пиксель шириной или высотой
+     * не пуст: тонкий треугольник может накрыть центры пикселей, это решают тесты рёбер растеризатора
+     */
+    public boolean isEmpty() {
+        return minX > maxX || minY > maxY || area == 0;
+    }
+}
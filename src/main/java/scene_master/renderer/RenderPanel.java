@@ -1,7 +1,6 @@
 package scene_master.renderer;
 
 import javafx.scene.canvas.Canvas;
-import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.layout.Pane;
 import javafx.scene.paint.Color;
 import math.Camera;
@@ -22,10 +21,28 @@ public class RenderPanel extends Pane {
     private Camera camera;
 
     private boolean renderWireframe = false;
+    private boolean wireframeDepthTest = false;
     private boolean showVertices = false;
     private boolean useTexture = false;
     private boolean useLighting = false;
     private boolean editModeEnabled = false;
+    private boolean parallelRasterization = false;
+    private boolean backFaceCulling = true;
+    private boolean occlusionCulling = true;
+    private boolean deferredShading = false;
+    private boolean fixedPointRasterization = false;
+    private boolean gouraudShading = false;
+    private boolean adaptiveResolution = false;
+    private boolean progressiveRendering = false;
+    private boolean mipmapping = true;
+    private final ResolutionScaler resolutionScaler = new ResolutionScaler();
+    // Масштаб последнего отправленного на рендер кадра
+    private double submittedScale = 1.0;
+    private Runnable renderListener;
+    private final FrameScheduler frameScheduler = new FrameScheduler(this::renderFrame);
+    private final RenderWorker renderWorker = new RenderWorker();
+    private FrameBuffer displayBuffer;
+    private TripleBuffer.Frame presentedFrame;
 
     private double vertexSize = 5.0;
     private Color vertexColor = Color.YELLOW;
@@ -51,6 +68,13 @@ public class RenderPanel extends Pane {
 
         setFocusTraversable(true);
         canvas.setOnMouseClicked(e -> requestFocus());
+
+        // После изменения размера холст пуст, перерисовываем
+        canvas.widthProperty().addListener((obs, oldVal, newVal) -> render());
+        canvas.heightProperty().addListener((obs, oldVal, newVal) -> render());
+        frameScheduler.setPulseListener(this::presentFrame);
+        renderWorker.start();
+        frameScheduler.start();
     }
 
     public void setModels(List<Model3D> models) {
@@ -74,12 +98,14 @@ public class RenderPanel extends Pane {
             renderer.handleMouseDragged(event.getX(), event.getY(), lastMousePos[0], lastMousePos[1]);
             lastMousePos[0] = event.getX();
             lastMousePos[1] = event.getY();
+            notifyInteraction();
             render();
         });
 
         setFocusTraversable(true);
         setOnKeyPressed(event -> {
             renderer.handleKeyPress(event.getCode());
+            notifyInteraction();
             render();
         });
     }
@@ -233,7 +259,8 @@ public class RenderPanel extends Pane {
         Matrix4x4 viewMatrix = camera.getViewMatrix();
         Matrix4x4 projectionMatrix = camera.getProjectionMatrix();
 
-        return renderer.projectWithCamera(world, viewMatrix, projectionMatrix);
+        return SoftwareRenderer.projectWithCamera(world, viewMatrix, projectionMatrix,
+                (int) canvas.getWidth(), (int) canvas.getHeight());
     }
 
     public Camera getCamera() {
@@ -255,110 +282,107 @@ public class RenderPanel extends Pane {
         render();
     }
 
+    /**
+     * Запрос перерисовки. Кадр рисуется на ближайшем импульсе JavaFX,
+     * несколько запросов за импульс дают один кадр с последним состоянием
+     */
     public void render() {
+        frameScheduler.requestFrame();
+    }
+
+    /**
+     * Непрерывный ввод (перетаскивание камеры, ползунок): в адаптивном режиме следующие кадры
+     * рисуются в уменьшенном разрешении, пока ввод не прекратится
+     */
+    public void notifyInteraction() {
+        resolutionScaler.onInteraction(System.nanoTime());
+    }
+
+    public FrameScheduler getFrameScheduler() {
+        return frameScheduler;
+    }
+
+    /**
+     * Снимок сцены уходит в поток рендера; здесь FX-поток только копирует состояние
+     */
+    private void renderFrame() {
         renderer.setRenderWireframe(renderWireframe);
+        renderer.setWireframeDepthTest(wireframeDepthTest);
         renderer.setUseTexture(useTexture);
         renderer.setUseLighting(useLighting);
-        renderer.renderScene(models);
-
-        if (showVertices) {
-            renderVertices();
+        renderer.setParallelRasterization(parallelRasterization);
+        renderer.setBackFaceCulling(backFaceCulling);
+        renderer.setOcclusionCulling(occlusionCulling);
+        renderer.setDeferredShading(deferredShading);
+        renderer.setFixedPointRasterization(fixedPointRasterization);
+        renderer.setGouraudShading(gouraudShading);
+        renderer.setProgressiveRendering(progressiveRendering);
+        renderer.setMipmapping(mipmapping);
+        // Наложение вершин рисует поток рендера по уже спроецированным вершинам кадра
+        renderer.setShowVertices(showVertices);
+        renderer.setEditMode(editModeEnabled);
+        renderer.setVertexSize(vertexSize);
+        renderer.setVertexColor(vertexColor);
+        renderer.setSelectedVertexColor(selectedVertexColor);
+        renderer.setSelection(selectionManager != null ? selectionManager.getActiveModel() : null,
+                editManager.getSelectedVertexIndex(), editManager.getSelectedPolygonIndex());
+
+        int width = Math.max(1, (int) canvas.getWidth());
+        int height = Math.max(1, (int) canvas.getHeight());
+        // Соотношение сторон нужно и живой камере: по ней считается выбор вершин мышью
+        camera.setAspectRatio((float) width / height);
+
+        submittedScale = adaptiveResolution ? resolutionScaler.getScale(System.nanoTime()) : 1.0;
+        if (submittedScale < 1.0) {
+            width = ResolutionScaler.scaledSize(width, submittedScale);
+            height = ResolutionScaler.scaledSize(height, submittedScale);
         }
+        renderWorker.submit(SceneSnapshot.capture(models, camera, RenderSettings.of(renderer), width, height));
     }
 
-    private void renderVertices() {
-        GraphicsContext gc = canvas.getGraphicsContext2D();
-
-        for (Model3D model : models) {
-            if (!model.isVisible()) continue;
-
-            double tx = model.translateXProperty().get();
-            double ty = model.translateYProperty().get();
-            double tz = model.translateZProperty().get();
-            double rx = Math.toRadians(model.rotateXProperty().get());
-            double ry = Math.toRadians(model.rotateYProperty().get());
-            double rz = Math.toRadians(model.rotateZProperty().get());
-            double sx = model.scaleXProperty().get();
-            double sy = model.scaleYProperty().get();
-            double sz = model.scaleZProperty().get();
-
-            for (int i = 0; i < model.getVertices().size(); i++) {
-                Vector3D vertex = model.getVertices().get(i);
-
-                double[] world = renderer.transformVertex(vertex, tx, ty, tz, rx, ry, rz, sx, sy, sz);
-
-                Vector3D worldVec = new Vector3D((float)world[0], (float)world[1], (float)world[2]);
-
-                double[] screen = projectVertex(worldVec, model);
-
-                Color currentVertexColor = vertexColor;
-                if (editModeEnabled &&
-                        selectionManager.getActiveModel() == model) {
-                    if (editManager.getSelectedVertexIndex() == i) {
-                        currentVertexColor = Color.RED;
-                    } else if (editManager.getSelectedPolygonIndex() != -1) {
-                        currentVertexColor = Color.ORANGE;
-                    }
-                }
-
-                gc.setFill(currentVertexColor);
-                gc.fillOval(screen[0] - vertexSize/2, screen[1] - vertexSize/2,
-                        vertexSize, vertexSize);
+    /**
+     * На каждом импульсе: если поток рендера закончил новый кадр, показываем его
+     */
+    private void presentFrame() {
+        // Ввод прекратился, а на экране уменьшенный кадр: перерисовываем в полном разрешении
+        if (adaptiveResolution && submittedScale < 1.0 && !resolutionScaler.isInteracting(System.nanoTime())) {
+            render();
+        }
 
-                gc.setStroke(Color.BLACK);
-                gc.setLineWidth(1);
-                gc.strokeOval(screen[0] - vertexSize/2, screen[1] - vertexSize/2,
-                        vertexSize, vertexSize);
+        TripleBuffer.Frame frame = renderWorker.getFrames().acquire();
+        if (frame == null) return;
 
-                if (editModeEnabled && vertexSize > 6) {
-                    gc.setFill(Color.WHITE);
-                    gc.setFont(javafx.scene.text.Font.font(10));
-                    gc.fillText(String.valueOf(i),
-                            screen[0] - 4, screen[1] + 4);
-                }
+        FrameBuffer source = frame.getBuffer();
+        if (displayBuffer == null || displayBuffer.getWidth() != source.getWidth()
+                || displayBuffer.getHeight() != source.getHeight()) {
+            displayBuffer = new FrameBuffer(source.getWidth(), source.getHeight());
+        }
+        double canvasWidth = canvas.getWidth(), canvasHeight = canvas.getHeight();
+        if (adaptiveResolution && canvasWidth >= 1 && canvasHeight >= 1) {
+            // Уменьшенный кадр растягивается на весь холст; по его времени подбирается следующий масштаб
+            canvas.getGraphicsContext2D().drawImage(displayBuffer.present(source), 0, 0, canvasWidth, canvasHeight);
+            if (frame.isComplete()) {
+                resolutionScaler.recordFrame(frame.getRenderNanos(), source.getWidth() / Math.floor(canvasWidth));
             }
+        } else {
+            canvas.getGraphicsContext2D().drawImage(displayBuffer.present(source), 0, 0);
+        }
+        presentedFrame = frame;
 
-            if (editModeEnabled) {
-                renderPolygonCenters(model, tx, ty, tz, rx, ry, rz, sx, sy, sz);
-            }
+        if (renderListener != null) {
+            renderListener.run();
         }
     }
 
-    private void renderPolygonCenters(Model3D model,
-                                      double tx, double ty, double tz,
-                                      double rx, double ry, double rz,
-                                      double sx, double sy, double sz) {
-        GraphicsContext gc = canvas.getGraphicsContext2D();
-
-        for (int i = 0; i < model.getPolygons().size(); i++) {
-            Polygon polygon = model.getPolygons().get(i);
-            List<Integer> indices = polygon.getVertexIndices();
-
-            if (indices.isEmpty()) continue;
-
-            double centerX = 0, centerY = 0, centerZ = 0;
-            for (int idx : indices) {
-                Vector3D vertex = model.getVertices().get(idx);
-                centerX += vertex.getX();
-                centerY += vertex.getY();
-                centerZ += vertex.getZ();
-            }
-
-            centerX /= indices.size();
-            centerY /= indices.size();
-            centerZ /= indices.size();
-
-            Vector3D center = new Vector3D((float)centerX, (float)centerY, (float)centerZ);
-
-            double[] screen = projectVertex(center, model); // ← ПЕРЕДАЁМ Vector3D и Model3D
-
-            gc.setFill(Color.LIMEGREEN);
-            gc.fillRect(screen[0] - 4, screen[1] - 4, 8, 8);
+    /**
+     * Последний показанный кадр (статистика отсечения) или null, пока кадров не было
+     */
+    public TripleBuffer.Frame getPresentedFrame() {
+        return presentedFrame;
+    }
 
-            gc.setFill(Color.WHITE);
-            gc.setFont(javafx.scene.text.Font.font(10));
-            gc.fillText("P" + i, screen[0] + 6, screen[1] + 4);
-        }
+    public RenderWorker getRenderWorker() {
+        return renderWorker;
     }
 
     public void setRenderWireframe(boolean renderWireframe) {
@@ -366,6 +390,11 @@ public class RenderPanel extends Pane {
         render();
     }
 
+    public void setWireframeDepthTest(boolean wireframeDepthTest) {
+        this.wireframeDepthTest = wireframeDepthTest;
+        render();
+    }
+
     public void setShowVertices(boolean showVertices) {
         this.showVertices = showVertices;
         render();
@@ -381,6 +410,58 @@ public class RenderPanel extends Pane {
         render();
     }
 
+    public void setParallelRasterization(boolean parallelRasterization) {
+        this.parallelRasterization = parallelRasterization;
+        render();
+    }
+
+    public void setBackFaceCulling(boolean backFaceCulling) {
+        this.backFaceCulling = backFaceCulling;
+        render();
+    }
+
+    public void setOcclusionCulling(boolean occlusionCulling) {
+        this.occlusionCulling = occlusionCulling;
+        render();
+    }
+
+    public void setDeferredShading(boolean deferredShading) {
+        this.deferredShading = deferredShading;
+        render();
+    }
+
+    public void setFixedPointRasterization(boolean fixedPointRasterization) {
+        this.fixedPointRasterization = fixedPointRasterization;
+        render();
+    }
+
+    public void setGouraudShading(boolean gouraudShading) {
+        this.gouraudShading = gouraudShading;
+        render();
+    }
+
+    public void setProgressiveRendering(boolean progressiveRendering) {
+        this.progressiveRendering = progressiveRendering;
+        render();
+    }
+
+    public void setMipmapping(boolean mipmapping) {
+        this.mipmapping = mipmapping;
+        render();
+    }
+
+    public void setAdaptiveResolution(boolean adaptiveResolution) {
+        this.adaptiveResolution = adaptiveResolution;
+        render();
+    }
+
+    /**
+     * Вызывается после каждого кадра, например для обновления статистики отсечения
+     */
+    public void setRenderListener(Runnable listener) {
+        this.renderListener = listener;
+    }
+
     public void setEditModeEnabled(boolean enabled) {
         this.editModeEnabled = enabled;
         if (enabled) {
@@ -424,9 +505,20 @@ public class RenderPanel extends Pane {
     public double getAmbientLight() { return renderer.getAmbientLight(); }
     public double getDiffuseIntensity() { return renderer.getDiffuseIntensity(); }
     public boolean isRenderWireframe() { return renderWireframe; }
+    public boolean isWireframeDepthTest() { return wireframeDepthTest; }
     public boolean isShowVertices() { return showVertices; }
     public boolean isUseTexture() { return useTexture; }
     public boolean isUseLighting() { return useLighting; }
     public boolean isEditModeEnabled() { return editModeEnabled; }
+    public boolean isParallelRasterization() { return parallelRasterization; }
+    public boolean isBackFaceCulling() { return backFaceCulling; }
+    public boolean isOcclusionCulling() { return occlusionCulling; }
+    public boolean isDeferredShading() { return deferredShading; }
+    public boolean isFixedPointRasterization() { return fixedPointRasterization; }
+    public boolean isGouraudShading() { return gouraudShading; }
+    public boolean isAdaptiveResolution() { return adaptiveResolution; }
+    public boolean isProgressiveRendering() { return progressiveRendering; }
+    public boolean isMipmapping() { return mipmapping; }
+    public ResolutionScaler getResolutionScaler() { return resolutionScaler; }
     public SoftwareRenderer getRenderer() { return renderer; }
 }
\ No newline at end of file
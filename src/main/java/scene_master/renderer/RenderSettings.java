@@ -0,0 +1,94 @@
+package scene_master.renderer;
+
+import javafx.scene.paint.Color;
+import scene_master.model.Model3D;
+
+/**
+ * Неизменяемый набор режимов, параметров освещения и наложения вершин для одного кадра.
+ * Снимается с рендерера панели в FX-потоке и применяется к рендереру RenderWorker
+ */
+public final class RenderSettings {
+    private final boolean renderWireframe;
+    private final boolean wireframeDepthTest;
+    private final boolean showVertices;
+    private final boolean useTexture;
+    private final boolean useLighting;
+    private final boolean parallelRasterization;
+    private final boolean backFaceCulling;
+    private final boolean occlusionCulling;
+    private final boolean deferredShading;
+    private final boolean fixedPointRasterization;
+    private final boolean gouraudShading;
+    private final boolean vectorShading;
+    private final boolean progressiveRendering;
+    private final boolean mipmapping;
+    private final double ambientLight;
+    private final double diffuseIntensity;
+    private final Color backgroundColor;
+    private final Color vertexColor;
+    private final Color selectedVertexColor;
+    private final double vertexSize;
+    private final boolean editMode;
+    private final Model3D activeModel;
+    private final int selectedVertexIndex;
+    private final int selectedPolygonIndex;
+
+    private RenderSettings(SoftwareRenderer renderer) {
+        this.renderWireframe = renderer.isRenderWireframe();
+        this.wireframeDepthTest = renderer.isWireframeDepthTest();
+        this.showVertices = renderer.isShowVertices();
+        this.useTexture = renderer.isUseTexture();
+        this.useLighting = renderer.isUseLighting();
+        this.parallelRasterization = renderer.isParallelRasterization();
+        this.backFaceCulling = renderer.isBackFaceCulling();
+        this.occlusionCulling = renderer.isOcclusionCulling();
+        this.deferredShading = renderer.isDeferredShading();
+        this.fixedPointRasterization = renderer.isFixedPointRasterization();
+        this.gouraudShading = renderer.isGouraudShading();
+        this.vectorShading = renderer.isVectorShading();
+        this.progressiveRendering = renderer.isProgressiveRendering();
+        this.mipmapping = renderer.isMipmapping();
+        this.ambientLight = renderer.getAmbientLight();
+        this.diffuseIntensity = renderer.getDiffuseIntensity();
+        this.backgroundColor = renderer.getBackgroundColor();
+        this.vertexColor = renderer.getVertexColor();
+        this.selectedVertexColor = renderer.getSelectedVertexColor();
+        this.vertexSize = renderer.getVertexSize();
+        this.editMode = renderer.isEditMode();
+        this.activeModel = renderer.getActiveModel();
+        this.selectedVertexIndex = renderer.getSelectedVertexIndex();
+        this.selectedPolygonIndex = renderer.getSelectedPolygonIndex();
+    }
+
+    /**
+     * Текущие настройки рендерера
+     */
+    public static RenderSettings of(SoftwareRenderer renderer) {
+        return new RenderSettings(renderer);
+    }
+
+    public void applyTo(SoftwareRenderer renderer) {
+        renderer.setRenderWireframe(renderWireframe);
+        renderer.setWireframeDepthTest(wireframeDepthTest);
+        renderer.setShowVertices(showVertices);
+        renderer.setUseTexture(useTexture);
+        renderer.setUseLighting(useLighting);
+        renderer.setParallelRasterization(parallelRasterization);
+        renderer.setBackFaceCulling(backFaceCulling);
+        renderer.setOcclusionCulling(occlusionCulling);
+        renderer.setDeferredShading(deferredShading);
+        renderer.setFixedPointRasterization(fixedPointRasterization);
+        renderer.setGouraudShading(gouraudShading);
+        renderer.setVectorShading(vectorShading);
+        renderer.setProgressiveRendering(progressiveRendering);
+        renderer.setMipmapping(mipmapping);
+        renderer.setAmbientLight(ambientLight);
+        renderer.setDiffuseIntensity(diffuseIntensity);
+        renderer.setBackgroundColor(backgroundColor);
+        renderer.setVertexColor(vertexColor);
+        renderer.setSelectedVertexColor(selectedVertexColor);
+        renderer.setVertexSize(vertexSize);
+        renderer.setEditMode(editMode);
+        renderer.setSelection(activeModel, selectedVertexIndex, selectedPolygonIndex);
+    }
+}
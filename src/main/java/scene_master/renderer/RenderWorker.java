@@ -0,0 +1,154 @@
+package scene_master.renderer;
+
+import math.Camera;
+import math.LinealAlgebra.Vector3D;
+import scene_master.util.ErrorHandler;
+
+/**
+ * Поток рендера: рисует снимки сцены (SceneSnapshot) своим SoftwareRenderer вне FX-потока
+ * и публикует готовые кадры через TripleBuffer. Ждёт только последний снимок:
+ * если за время кадра пришло несколько, промежуточные пропускаются.
+ * В прогрессивном режиме кадр рисуется в собственный буфер потока, после каждого отрезка времени его копия
+ * публикуется как промежуточный кадр, а новый снимок прерывает недорисованный.
+ */
+public class RenderWorker {
+    private final SoftwareRenderer renderer = new SoftwareRenderer(null, new Camera(new Vector3D(0, 0, 5), new Vector3D(0, 0, 0)));
+    private final TripleBuffer frames = new TripleBuffer();
+    private final Object lock = new Object();
+
+    private Thread thread;
+    private boolean running = false;
+    private SceneSnapshot pending;
+    private long submittedCount = 0;
+    private long pendingSequence = 0;
+
+    // Буфер прогрессивного кадра и данные кадра, который сейчас рисуется
+    private FrameBuffer progressiveBuffer;
+    private long currentSequence;
+    private long currentStart;
+    // Сообщено ли уже о сбое рендера; сбрасывается удачным кадром. Только поток рендера
+    private boolean failureReported = false;
+
+    public RenderWorker() {
+        renderer.setProgressListener(this::onSlice);
+    }
+
+    /**
+     * Запуск потока; повторный вызов ничего не делает
+     */
+    public void start() {
+        synchronized (lock) {
+            if (running) return;
+            running = true;
+            thread = new Thread(this::run, "render-worker");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    public void stop() {
+        synchronized (lock) {
+            running = false;
+            pending = null;
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * Поставить снимок на рендер; более ранний ещё не начатый снимок заменяется.
+     * Возвращает номер снимка, он попадёт в TripleBuffer.Frame.getSequence()
+     */
+    public long submit(SceneSnapshot snapshot) {
+        synchronized (lock) {
+            pending = snapshot;
+            pendingSequence = ++submittedCount;
+            lock.notifyAll();
+            return pendingSequence;
+        }
+    }
+
+    public TripleBuffer getFrames() {
+        return frames;
+    }
+
+    private void run() {
+        while (true) {
+            SceneSnapshot snapshot;
+            long sequence;
+            synchronized (lock) {
+                while (running && pending == null) {
+                    try {
+                        lock.wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+                if (!running) return;
+                snapshot = pending;
+                sequence = pendingSequence;
+                pending = null;
+            }
+
+            try {
+                renderSnapshot(snapshot, sequence);
+                failureReported = false;
+            } catch (RuntimeException e) {
+                // Сбой кадра не останавливает поток рендера. Сообщаем о первом сбое,
+                // повторы молчат до первого удачного кадра, иначе ошибка выводилась бы каждый кадр
+                if (!failureReported) {
+                    failureReported = true;
+                    ErrorHandler.handleException(e, "рендер кадра");
+                }
+            }
+        }
+    }
+
+    private void renderSnapshot(SceneSnapshot snapshot, long sequence) {
+        long start = System.nanoTime();
+        snapshot.getSettings().applyTo(renderer);
+        renderer.setCamera(snapshot.getCamera());
+        if (renderer.isProgressiveRendering()) {
+            renderProgressive(snapshot, sequence, start);
+            return;
+        }
+
+        TripleBuffer.Frame frame = frames.getBack();
+        FrameBuffer target = frame.ensureBuffer(snapshot.getWidth(), snapshot.getHeight());
+        renderer.renderToBuffer(snapshot.getModels(), target);
+
+        frame.record(renderer, sequence, System.nanoTime() - start);
+        frames.publish();
+    }
+
+    private void renderProgressive(SceneSnapshot snapshot, long sequence, long start) {
+        if (progressiveBuffer == null || progressiveBuffer.getWidth() != snapshot.getWidth()
+                || progressiveBuffer.getHeight() != snapshot.getHeight()) {
+            progressiveBuffer = new FrameBuffer(snapshot.getWidth(), snapshot.getHeight());
+        }
+        currentSequence = sequence;
+        currentStart = start;
+        renderer.renderToBuffer(snapshot.getModels(), progressiveBuffer);
+        if (!renderer.isFrameAborted()) {
+            publishCopy(true);
+        }
+    }
+
+    /**
+     * Конец отрезка: показать частичный кадр и продолжать, только если не пришёл новый снимок
+     */
+    private boolean onSlice() {
+        publishCopy(false);
+        synchronized (lock) {
+            return running && pending == null;
+        }
+    }
+
+    private void publishCopy(boolean complete) {
+        TripleBuffer.Frame frame = frames.getBack();
+        FrameBuffer target = frame.ensureBuffer(progressiveBuffer.getWidth(), progressiveBuffer.getHeight());
+        System.arraycopy(progressiveBuffer.getPixels(), 0, target.getPixels(), 0, target.getPixels().length);
+        frame.record(renderer, currentSequence, System.nanoTime() - currentStart, complete);
+        frames.publish();
+    }
+}
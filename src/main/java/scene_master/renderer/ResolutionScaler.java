@@ -0,0 +1,83 @@
+package scene_master.renderer;
+
+/**
+ * Динамическое разрешение: пока пользователь крутит камеру или тянет ползунок, кадр рисуется в уменьшенном
+ * внутреннем разрешении, чтобы уложиться в бюджет времени кадра, и растягивается на холст. Масштаб
+ * подбирается по времени уже нарисованных кадров: стоимость растеризации примерно пропорциональна числу
+ * пикселей, то есть квадрату масштаба. Через idleNanos без ввода снова рисуется полное разрешение.
+ * Используется из одного (FX) потока.
+ */
+public class ResolutionScaler {
+    public static final long DEFAULT_BUDGET_NANOS = 16_000_000L;
+    public static final long DEFAULT_IDLE_NANOS = 150_000_000L;
+    public static final double MIN_SCALE = 0.25;
+
+    // Масштаб округляется до шага, чтобы буферы кадра не пересоздавались на каждом кадре
+    private static final double SCALE_STEP = 1.0 / 16;
+    // Доля пути к новому масштабу за кадр: сглаживает скачки времени отдельных кадров
+    private static final double SMOOTHING = 0.5;
+
+    private long budgetNanos = DEFAULT_BUDGET_NANOS;
+    private long idleNanos = DEFAULT_IDLE_NANOS;
+    private double interactiveScale = 1.0;
+    private long lastInteractionNanos;
+    private boolean interacting = false;
+
+    public long getBudgetNanos() { return budgetNanos; }
+    public void setBudgetNanos(long budgetNanos) { this.budgetNanos = Math.max(1, budgetNanos); }
+    public long getIdleNanos() { return idleNanos; }
+    public void setIdleNanos(long idleNanos) { this.idleNanos = Math.max(0, idleNanos); }
+
+    /**
+     * Ввод пользователя (перетаскивание, клавиша, ползунок) в момент now
+     */
+    public void onInteraction(long now) {
+        lastInteractionNanos = now;
+        interacting = true;
+    }
+
+    /**
+     * Идёт ли ещё взаимодействие: последний ввод был не раньше idleNanos назад
+     */
+    public boolean isInteracting(long now) {
+        if (interacting && now - lastInteractionNanos >= idleNanos) {
+            interacting = false;
+        }
+        return interacting;
+    }
+
+    /**
+     * Масштаб для кадра, который рисуется сейчас: уменьшенный во время взаимодействия, иначе 1
+     */
+    public double getScale(long now) {
+        return isInteracting(now) ? interactiveScale : 1.0;
+    }
+
+    /**
+     * Масштаб, который будет использован при следующем взаимодействии
+     */
+    public double getInteractiveScale() {
+        return interactiveScale;
+    }
+
+    /**
+     * Время готового кадра, нарисованного с масштабом scale. Кадры полного разрешения тоже учитываются:
+     * по ним видно, нужно ли уменьшать разрешение ещё до первого перетаскивания
+     */
+    public void recordFrame(long renderNanos, double scale) {
+        if (renderNanos <= 0 || scale <= 0) return;
+        double target = scale * Math.sqrt((double) budgetNanos / renderNanos);
+        target = Math.max(MIN_SCALE, Math.min(1.0, target));
+        double smoothed = interactiveScale + (target - interactiveScale) * SMOOTHING;
+        // Вниз округляем с запасом (перебор бюджета заметнее), вверх — до ближайшего шага
+        double steps = smoothed < interactiveScale ? Math.floor(smoothed / SCALE_STEP) : Math.round(smoothed / SCALE_STEP);
+        interactiveScale = Math.max(MIN_SCALE, Math.min(1.0, steps * SCALE_STEP));
+    }
+
+    /**
+     * Размер внутреннего буфера для стороны холста size при масштабе scale
+     */
+    public static int scaledSize(int size, double scale) {
+        return Math.max(1, (int) Math.round(size * scale));
+    }
+}
@@ -0,0 +1,49 @@
+package scene_master.renderer;
+
+import math.Camera;
+import scene_master.model.Model3D;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Неизменяемое состояние сцены для одного кадра: снимки моделей, копия камеры, настройки и размер кадра.
+ * Собирается в FX-потоке и передаётся в RenderWorker; после этого UI может менять сцену, не мешая рендеру
+ */
+public final class SceneSnapshot {
+    private final List<Model3D> models;
+    private final Camera camera;
+    private final RenderSettings settings;
+    private final int width;
+    private final int height;
+
+    private SceneSnapshot(List<Model3D> models, Camera camera, RenderSettings settings, int width, int height) {
+        this.models = models;
+        this.camera = camera;
+        this.settings = settings;
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * Снимок сцены. Вызывать из потока JavaFX: модели читаются через свойства
+     */
+    public static SceneSnapshot capture(List<Model3D> models, Camera camera, RenderSettings settings,
+                                        int width, int height) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Frame size must be positive");
+        }
+        List<Model3D> snapshots = new ArrayList<>(models.size());
+        for (Model3D model : models) {
+            snapshots.add(model.renderSnapshot());
+        }
+        return new SceneSnapshot(Collections.unmodifiableList(snapshots), new Camera(camera), settings, width, height);
+    }
+
+    public List<Model3D> getModels() { return models; }
+    public Camera getCamera() { return camera; }
+    public RenderSettings getSettings() { return settings; }
+    public int getWidth() { return width; }
+    public int getHeight() { return height; }
+}
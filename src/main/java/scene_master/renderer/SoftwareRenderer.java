@@ -1,19 +1,20 @@
 package scene_master.renderer;
 
 import javafx.scene.image.Image;
-import javafx.scene.image.PixelWriter;
 import javafx.scene.input.KeyCode;
 import math.Camera;
 import math.CameraInputAdapter;
 import math.LinealAlgebra.Vector4D;
 import math.Matrix.Matrix4x4;
 import math.ModelTransform;
+import scene_master.model.BoundingBox;
+import scene_master.model.BoundingSphere;
 import scene_master.model.Model3D;
 import scene_master.model.Polygon;
+import scene_master.model.Texture;
 import math.LinealAlgebra.Vector3D;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
-import javafx.scene.image.WritableImage;
 import javafx.scene.paint.Color;
 
 import java.util.*;
@@ -24,30 +25,81 @@ public class SoftwareRenderer {
     private int width;
     private int height;
 
-    private double[][] zBuffer;
+    private DepthBuffer depthBuffer;
 
     private boolean renderWireframe = false;
+    private boolean wireframeDepthTest = false;
+    private final WireframeRenderer wireframeRenderer = new WireframeRenderer();
     private boolean showVertices = false;
     private boolean useTexture = false;
     private boolean useLighting = false;
 
-    private TextureManager textureManager = TextureManager.getInstance();
+    // Берётся при первом кадре с текстурами: TextureManager создаёт изображения и запускает JavaFX,
+    // а кадры без текстур должны рисоваться и без него (OffscreenRenderer)
+    private TextureManager textureManager;
 
     private double ambientLight = 0.3;
     private double diffuseIntensity = 0.7;
 
     private Color backgroundColor = Color.rgb(30, 30, 46);
     private Color vertexColor = Color.YELLOW;
+    private Color selectedVertexColor = Color.RED;
+    private double vertexSize = 5.0;
+    // Режим редактирования: номера вершин, центры полигонов и выделение в активной модели
+    private boolean editMode = false;
+    private Model3D activeModel;
+    private int selectedVertexIndex = -1;
+    private int selectedPolygonIndex = -1;
+    private final VertexOverlay vertexOverlay = new VertexOverlay();
     private Color wireframeColor = Color.RED;
 
-    private int debugTriangleCount = 0;
-    private long lastRenderTime = 0;
-    private static final long MIN_RENDER_INTERVAL = 16;
+    private static final int TILE_SIZE = 64;
+    private boolean parallelRasterization = false;
+    private final TileRasterizer tileRasterizer = new TileRasterizer(TILE_SIZE);
+    private final List<RasterTriangle> triangles = new ArrayList<>();
+    private final VertexProcessor vertexProcessor = new VertexProcessor();
+    private final EdgeRasterizer.FragmentShader fragmentShader = this::shadeFragment;
+
+    private boolean backFaceCulling = true;
+    private final Frustum frustum = new Frustum();
+    private final TriangleClipper clipper = new TriangleClipper();
+    private final TileRasterizer.TileShader tileShader = this::renderTriangle;
+
+    private boolean occlusionCulling = true;
+    private final List<VisibleModel> visibleModels = new ArrayList<>();
+    private int occludedModelCount = 0;
+    private int occludedTriangleCount = 0;
+
+    private boolean deferredShading = false;
+    private GBuffer gBuffer;
+    private final List<RasterTriangle> deferredTriangles = new ArrayList<>();
+    private final EdgeRasterizer.FragmentShader gBufferWriter = this::writeGBuffer;
+    private final TileRasterizer.TileAction gBufferShader = this::shadeGBuffer;
+    private int culledModelCount = 0;
+    private int culledTriangleCount = 0;
+
+    private boolean fixedPointRasterization = false;
+
+    private boolean gouraudShading = false;
+    // Мип-уровень текстуры выбирается на треугольник по отношению площади в текселях к площади в пикселях
+    private boolean mipmapping = true;
+
+    // Прогрессивный рендер: кадр рисуется отрезками по sliceBudgetNanos, после каждого отрезка
+    // progressListener может показать частичный кадр или прервать оставшуюся работу
+    public static final long DEFAULT_SLICE_NANOS = 16_000_000L;
+    // Время проверяется раз в столько полигонов, чтобы System.nanoTime() не звался на каждом
+    private static final int SLICE_CHECK_MASK = 1023;
+    private boolean progressiveRendering = false;
+    private long sliceBudgetNanos = DEFAULT_SLICE_NANOS;
+    private ProgressListener progressListener;
+    private long sliceStartNanos;
+    private boolean frameAborted = false;
+    // SIMD-путь включается сам, если доступен Vector API; иначе всё рисует скалярный код
+    private boolean vectorShading = VectorSupport.isAvailable();
 
     private Camera camera;
     private CameraInputAdapter cameraInputAdapter;
-    private WritableImage buffer;
-    private PixelWriter pixelWriter;
+    private FrameBuffer frameBuffer;
 
     public SoftwareRenderer(Canvas canvas, Camera camera) {
         this.canvas = canvas;
@@ -55,52 +107,64 @@ public class SoftwareRenderer {
         this.cameraInputAdapter = new CameraInputAdapter(camera);
         this.width = 0;
         this.height = 0;
-        this.zBuffer = null;
-        this.buffer = null;
-        this.pixelWriter = null;
+        this.depthBuffer = null;
+        this.frameBuffer = null;
     }
 
     private void initZBuffer() {
-        zBuffer = new double[width][height];
-        clearZBuffer();
+        depthBuffer = new DepthBuffer(width, height);
     }
 
     public void clearZBuffer() {
-        for (int x = 0; x < width; x++) {
-            for (int y = 0; y < height; y++) {
-                zBuffer[x][y] = Double.POSITIVE_INFINITY;
-            }
-        }
+        depthBuffer.clear();
     }
 
     public void resize(int width, int height) {
         this.width = width;
         this.height = height;
         initZBuffer();
-        buffer = new WritableImage(width, height);
-        pixelWriter = buffer.getPixelWriter();
+        frameBuffer = new FrameBuffer(width, height);
     }
 
     // Геттеры/сеттеры
     public void setRenderWireframe(boolean renderWireframe) { this.renderWireframe = renderWireframe; }
+    public void setWireframeDepthTest(boolean wireframeDepthTest) { this.wireframeDepthTest = wireframeDepthTest; }
     public void setShowVertices(boolean showVertices) { this.showVertices = showVertices; }
     public void setUseTexture(boolean useTexture) { this.useTexture = useTexture; }
     public void setUseLighting(boolean useLighting) { this.useLighting = useLighting; }
     public void setVertexColor(Color color) { this.vertexColor = color; }
+    public void setSelectedVertexColor(Color color) { this.selectedVertexColor = color; }
+    public void setVertexSize(double size) { this.vertexSize = size; }
+    public void setEditMode(boolean editMode) { this.editMode = editMode; }
     public void setWireframeColor(Color color) { this.wireframeColor = color; }
     public void setBackgroundColor(Color color) { this.backgroundColor = color; }
     public void setAmbientLight(double ambient) { this.ambientLight = Math.max(0, Math.min(1, ambient)); }
     public void setDiffuseIntensity(double diffuse) { this.diffuseIntensity = Math.max(0, Math.min(1, diffuse)); }
+    public void setParallelRasterization(boolean parallel) { this.parallelRasterization = parallel; }
+    public void setBackFaceCulling(boolean backFaceCulling) { this.backFaceCulling = backFaceCulling; }
+    public void setOcclusionCulling(boolean occlusionCulling) { this.occlusionCulling = occlusionCulling; }
+    public void setDeferredShading(boolean deferredShading) { this.deferredShading = deferredShading; }
+    public void setFixedPointRasterization(boolean fixedPoint) { this.fixedPointRasterization = fixedPoint; }
+    public void setGouraudShading(boolean gouraudShading) { this.gouraudShading = gouraudShading; }
+    public void setVectorShading(boolean vectorShading) { this.vectorShading = vectorShading && VectorSupport.isAvailable(); }
+    public void setProgressiveRendering(boolean progressive) { this.progressiveRendering = progressive; }
+    public void setMipmapping(boolean mipmapping) { this.mipmapping = mipmapping; }
+    public void setSliceBudgetNanos(long sliceBudgetNanos) { this.sliceBudgetNanos = Math.max(0, sliceBudgetNanos); }
+    public void setProgressListener(ProgressListener listener) { this.progressListener = listener; }
+
+    /**
+     * Обратный вызов прогрессивного рендера. Вызывается в потоке рендера, когда всё нарисованное
+     * за отрезок уже лежит в буфере кадра; false прерывает кадр (например, пришла новая камера)
+     */
+    public interface ProgressListener {
+        boolean onSlice();
+    }
 
     /**
      * Очистка экрана и Z-буфера
      */
     public void clear() {
-        for (int y = 0; y < height; y++) {
-            for (int x = 0; x < width; x++) {
-                pixelWriter.setColor(x, y, backgroundColor);
-            }
-        }
+        frameBuffer.clear(FrameBuffer.toArgb(backgroundColor));
         clearZBuffer();
     }
 
@@ -119,84 +183,185 @@ public class SoftwareRenderer {
             if (height <= 0) height = 1;
 
             initZBuffer();
-            buffer = new WritableImage(width, height);
-            pixelWriter = buffer.getPixelWriter();
+            frameBuffer = new FrameBuffer(width, height);
         }
 
         this.gc = canvas.getGraphicsContext2D();
         if (gc == null) return;
 
-        long currentTime = System.currentTimeMillis();
-        if (currentTime - lastRenderTime < MIN_RENDER_INTERVAL) {
-            return;
+        renderFrame(models);
+        gc.drawImage(frameBuffer.toImage(), 0, 0);
+    }
+
+    /**
+     * Рендеринг в чужой буфер кадра без холста и FX-потока (RenderWorker).
+     * Буфер глубины пересоздаётся только при смене размера
+     */
+    public void renderToBuffer(List<Model3D> models, FrameBuffer target) {
+        if (depthBuffer == null || target.getWidth() != width || target.getHeight() != height) {
+            width = target.getWidth();
+            height = target.getHeight();
+            initZBuffer();
         }
-        lastRenderTime = currentTime;
+        frameBuffer = target;
+        renderFrame(models);
+    }
 
+    private void renderFrame(List<Model3D> models) {
         camera.setAspectRatio((float) width / height);
         clear();
-
-        for (int y = 0; y < height; y++) {
-            for (int x = 0; x < width; x++) {
-                pixelWriter.setColor(x, y, backgroundColor);
-            }
+        if (useTexture) {
+            // До параллельной растеризации, чтобы потоки тайлов не создавали его наперегонки
+            textures();
         }
-        clearZBuffer();
 
-        debugTriangleCount = 0;
+        frameAborted = false;
+        sliceStartNanos = System.nanoTime();
+        boolean sliced = progressiveRendering && progressListener != null;
+        culledModelCount = 0;
+        culledTriangleCount = 0;
+        occludedModelCount = 0;
+        occludedTriangleCount = 0;
 
         Matrix4x4 viewMatrix = camera.getViewMatrix();
         Matrix4x4 projectionMatrix = camera.getProjectionMatrix();
+        Matrix4x4 viewProjection = projectionMatrix.multiply(viewMatrix);
 
+        // Сначала отбрасываем модели вне пирамиды видимости, остальные рисуем от ближних к дальним,
+        // чтобы ближние успели заполнить Hi-Z до проверки дальних
+        visibleModels.clear();
         for (Model3D model : models) {
             if (!model.isVisible()) continue;
 
-            boolean textureReady = false;
-            if (useTexture && model.getTexture() != null) {
-                if (!model.getTexture().isBackgroundLoading() && !model.getTexture().isError()) {
-                    textureReady = true;
-                }
+            Matrix4x4 modelMatrix = VertexProcessor.modelMatrix(model);
+            Matrix4x4 modelViewProjection = viewProjection.multiply(modelMatrix);
+            if (!frustum.update(modelViewProjection).intersectsSphere(model.getBoundingSphere())) {
+                culledModelCount++;
+                culledTriangleCount += model.getPolygons().size();
+                continue;
+            }
+            visibleModels.add(new VisibleModel(model, modelMatrix, modelViewProjection));
+        }
+        if (occlusionCulling) {
+            visibleModels.sort(Comparator.comparingDouble(visible -> visible.distance));
+        }
+
+        if (deferredShading) {
+            if (gBuffer == null || gBuffer.getWidth() != width || gBuffer.getHeight() != height) {
+                gBuffer = new GBuffer(width, height);
+            } else {
+                gBuffer.clear();
+            }
+        }
+
+        HiZBuffer hiZ = depthBuffer.getHiZ();
+        for (VisibleModel visible : visibleModels) {
+            Model3D model = visible.model;
+            if (occlusionCulling && isOccluded(model, visible.modelViewProjection, hiZ)) {
+                occludedModelCount++;
+                occludedTriangleCount += model.getPolygons().size();
+                continue;
+            }
+
+            // Текстура ищется один раз на модель; пока изображение грузится, модель рисуется без неё
+            Texture texture = null;
+            if (useTexture && (model.getTexture() != null || model.getTextureHandle() != null)) {
+                texture = textures().resolve(model);
             }
 
-            double tx = model.translateXProperty().get();
-            double ty = model.translateYProperty().get();
-            double tz = model.translateZProperty().get();
-            double rx = Math.toRadians(model.rotateXProperty().get());
-            double ry = Math.toRadians(model.rotateYProperty().get());
-            double rz = Math.toRadians(model.rotateZProperty().get());
-            double sx = model.scaleXProperty().get();
-            double sy = model.scaleYProperty().get();
-            double sz = model.scaleZProperty().get();
+            TransformedMesh mesh = vertexProcessor.process(model, visible.modelMatrix, visible.modelViewProjection,
+                    width, height);
+            visible.mesh = mesh;
 
+            int polygonCount = 0;
             for (Polygon polygon : model.getPolygons()) {
+                if (sliced && (++polygonCount & SLICE_CHECK_MASK) == 0
+                        && System.nanoTime() - sliceStartNanos >= sliceBudgetNanos && !finishSlice()) {
+                    abortFrame();
+                    return;
+                }
                 List<Integer> indices = polygon.getVertexIndices();
-                if (indices.size() != 3) continue;
+                if (indices.size() != 3 || polygon.getNormal() == null) continue;
+                int v1 = indices.get(0), v2 = indices.get(1), v3 = indices.get(2);
 
-                Vector3D v1 = model.getVertices().get(indices.get(0));
-                Vector3D v2 = model.getVertices().get(indices.get(1));
-                Vector3D v3 = model.getVertices().get(indices.get(2));
+                int clipResult = clipper.classify(mesh, v1, v2, v3);
+                if (clipResult == TriangleClipper.REJECT) {
+                    culledTriangleCount++;
+                    continue;
+                }
+
+                double[] uv1 = model.getTextureCoordsForPolygonVertex(polygon, 0);
+                double[] uv2 = model.getTextureCoordsForPolygonVertex(polygon, 1);
+                double[] uv3 = model.getTextureCoordsForPolygonVertex(polygon, 2);
 
-                double[] world1 = transformVertex(v1, tx, ty, tz, rx, ry, rz, sx, sy, sz);
-                double[] world2 = transformVertex(v2, tx, ty, tz, rx, ry, rz, sx, sy, sz);
-                double[] world3 = transformVertex(v3, tx, ty, tz, rx, ry, rz, sx, sy, sz);
+                if (clipResult == TriangleClipper.ACCEPT) {
+                    addTriangle(mesh, v1, v2, v3, uv1, uv2, uv3, model, polygon, texture);
+                    continue;
+                }
 
-                double[] screen1 = projectWithCamera(world1, viewMatrix, projectionMatrix);
-                double[] screen2 = projectWithCamera(world2, viewMatrix, projectionMatrix);
-                double[] screen3 = projectWithCamera(world3, viewMatrix, projectionMatrix);
+                // Треугольник пересекает ближнюю плоскость или границу guard band: режем до деления на w
+                int count = clipper.clip(mesh, v1, v2, v3, uv1, uv2, uv3, width, height);
+                if (count < 3) {
+                    culledTriangleCount++;
+                    continue;
+                }
+                int first = clipper.getVertex(0);
+                double[] firstUv = clipper.getUv(0);
+                for (int i = 1; i < count - 1; i++) {
+                    addTriangle(mesh, first, clipper.getVertex(i), clipper.getVertex(i + 1),
+                            firstUv, clipper.getUv(i), clipper.getUv(i + 1), model, polygon, texture);
+                }
+            }
+
+            rasterizeTriangles();
+            if (occlusionCulling) {
+                hiZ.rebuildLevels();
+            }
+            if (sliced && System.nanoTime() - sliceStartNanos >= sliceBudgetNanos && !finishSlice()) {
+                abortFrame();
+                return;
+            }
+        }
 
-                renderTriangle(screen1, screen2, screen3, world1, world2, world3, model, polygon, textureReady);            }
+        if (deferredShading) {
+            // Каждый видимый пиксель затеняется ровно один раз, независимо от перерисовки
+            if (parallelRasterization) {
+                tileRasterizer.forEachTile(width, height, gBufferShader);
+            } else {
+                shadeGBuffer(0, 0, width - 1, height - 1);
+            }
+            deferredTriangles.clear();
         }
 
         if (renderWireframe) {
-            renderWireframe(models, viewMatrix, projectionMatrix);
+            renderWireframe();
         }
 
         if (showVertices) {
-            renderVertices(models, viewMatrix, projectionMatrix);
+            renderVertices();
         }
+        visibleModels.clear();
+    }
 
-        if (gc != null) {
-            gc.drawImage(buffer, 0, 0);
+    /**
+     * Конец отрезка прогрессивного рендера: накопленные треугольники растеризуются, чтобы частичный кадр
+     * был виден. В отложенном режиме затенение идёт только в конце кадра, частичный кадр пуст
+     */
+    private boolean finishSlice() {
+        rasterizeTriangles();
+        if (occlusionCulling) {
+            depthBuffer.getHiZ().rebuildLevels();
         }
+        boolean proceed = progressListener.onSlice();
+        sliceStartNanos = System.nanoTime();
+        return proceed;
+    }
+
+    private void abortFrame() {
+        frameAborted = true;
+        triangles.clear();
+        deferredTriangles.clear();
+        visibleModels.clear();
     }
 
     /**
@@ -215,108 +380,235 @@ public class SoftwareRenderer {
     }
 
     /**
-     * Рендеринг одного треугольника
+     * Отсечение задней грани и подготовка треугольника к растеризации: bounding box, площадь, рёбра
+     */
+    private void addTriangle(TransformedMesh mesh, int v1, int v2, int v3,
+                             double[] uv1, double[] uv2, double[] uv3,
+                             Model3D model, Polygon polygon, Texture texture) {
+        if (backFaceCulling && isBackFacing(mesh, v1, v2, v3)) {
+            culledTriangleCount++;
+            return;
+        }
+
+        RasterTriangle triangle = new RasterTriangle(mesh, v1, v2, v3,
+                uv1, uv2, uv3, model, polygon, texture != null, width, height);
+        if (triangle.isEmpty()) return;
+        if (texture != null) {
+            triangle.texture = mipmapping ? texture.getLevel(texture.selectLevel(uvArea(uv1, uv2, uv3), triangle.area)) : texture;
+            triangle.textureWrap = model.getTextureWrap();
+        }
+
+        if (occlusionCulling && depthBuffer.getHiZ().isOccluded(
+                triangle.minX, triangle.minY, triangle.maxX, triangle.maxY, triangle.minZ)) {
+            occludedTriangleCount++;
+            return;
+        }
+
+        if (useLighting && gouraudShading) {
+            triangle.light1 = vertexIntensity(triangle, triangle.v1);
+            triangle.light2 = vertexIntensity(triangle, triangle.v2);
+            triangle.light3 = vertexIntensity(triangle, triangle.v3);
+        }
+
+        triangles.add(triangle);
+    }
+
+    /**
+     * Растеризация накопленных треугольников текущей модели
+     */
+    private void rasterizeTriangles() {
+        if (deferredShading) {
+            for (RasterTriangle triangle : triangles) {
+                triangle.id = deferredTriangles.size();
+                deferredTriangles.add(triangle);
+            }
+        }
+
+        if (parallelRasterization) {
+            tileRasterizer.render(triangles, width, height, tileShader);
+        } else {
+            for (RasterTriangle triangle : triangles) {
+                renderTriangle(triangle, 0, 0, width - 1, height - 1);
+            }
+        }
+        triangles.clear();
+    }
+
+    /**
+     * Проверка модели по Hi-Z: углы AABB проецируются на экран, прямоугольник проекции с ближайшей глубиной
+     * сравнивается с пирамидой. Если часть AABB за ближней плоскостью, проекция ненадёжна и модель рисуется
      */
+    private boolean isOccluded(Model3D model, Matrix4x4 modelViewProjection, HiZBuffer hiZ) {
+        BoundingBox box = model.getBoundingBox();
+        double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY, minZ = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+
+        for (int corner = 0; corner < 8; corner++) {
+            Vector4D clip = modelViewProjection.multiply(new Vector4D(
+                    (float) box.getCornerX(corner), (float) box.getCornerY(corner), (float) box.getCornerZ(corner), 1.0f));
+            double w = clip.getW();
+            if (w <= 0 || clip.getZ() < -w) return false;
+
+            double screenX = (clip.getX() / w + 1) * 0.5 * width;
+            double screenY = (1 - clip.getY() / w) * 0.5 * height;
+            minX = Math.min(minX, screenX);
+            maxX = Math.max(maxX, screenX);
+            minY = Math.min(minY, screenY);
+            maxY = Math.max(maxY, screenY);
+            minZ = Math.min(minZ, clip.getZ() / w);
+        }
+
+        int fromX = (int) Math.max(0, Math.floor(minX));
+        int fromY = (int) Math.max(0, Math.floor(minY));
+        int toX = (int) Math.min(width - 1, Math.ceil(maxX));
+        int toY = (int) Math.min(height - 1, Math.ceil(maxY));
+        if (fromX > toX || fromY > toY) return false;
+
+        return hiZ.isOccluded(fromX, fromY, toX, toY, minZ);
+    }
+
     /**
-     * Рендеринг одного треугольника
+     * Задняя грань: обход против часовой стрелки в NDC даёт отрицательную площадь на экране (ось y вниз).
+     * Если вершина за камерой (w <= 0), знак площади ничего не говорит, такой треугольник не отсекаем.
      */
-    private void renderTriangle(double[] p1, double[] p2, double[] p3,
-                                double[] world1, double[] world2, double[] world3,
-                                Model3D model, Polygon polygon, boolean textureReady) {
+    private boolean isBackFacing(TransformedMesh mesh, int v1, int v2, int v3) {
+        float[] clipW = mesh.clipW;
+        if (clipW[v1] <= 0 || clipW[v2] <= 0 || clipW[v3] <= 0) return false;
+
+        float[] screen = mesh.screen;
+        int o1 = v1 * 3, o2 = v2 * 3, o3 = v3 * 3;
+        double area = (screen[o2] - screen[o1]) * (screen[o3 + 1] - screen[o1 + 1])
+                - (screen[o2 + 1] - screen[o1 + 1]) * (screen[o3] - screen[o1]);
+        return area > 0;
+    }
 
-        Vector3D faceNormal = polygon.getNormal();
-        if (faceNormal == null) return;
+    /**
+     * Рендеринг одного треугольника в пределах прямоугольника clipMinX..clipMaxX, clipMinY..clipMaxY.
+     * Пишет только в пиксели внутри этого прямоугольника, поэтому безопасен для параллельных тайлов.
+     */
+    private void renderTriangle(RasterTriangle triangle, int clipMinX, int clipMinY, int clipMaxX, int clipMaxY) {
+        if (vectorShading && !deferredShading && !fixedPointRasterization && isVectorShadable(triangle)) {
+            // VectorRasterizer загружается только здесь, когда VectorSupport подтвердил наличие Vector API
+            VectorRasterizer.rasterize(triangle, clipMinX, clipMinY, clipMaxX, clipMaxY,
+                    depthBuffer.getData(), width, height, occlusionCulling ? depthBuffer.getHiZ() : null,
+                    frameBuffer.getPixels(), triangle.model.getBaseColor(), useLighting);
+            return;
+        }
 
-        List<Integer> indices = polygon.getVertexIndices();
-        if (indices.size() < 3) return;
+        EdgeRasterizer.FragmentShader shader = deferredShading ? gBufferWriter : fragmentShader;
+        if (fixedPointRasterization) {
+            if (occlusionCulling) {
+                FixedPointRasterizer.rasterize(triangle, clipMinX, clipMinY, clipMaxX, clipMaxY, depthBuffer, shader);
+            } else {
+                FixedPointRasterizer.rasterize(triangle, clipMinX, clipMinY, clipMaxX, clipMaxY,
+                        depthBuffer.getData(), width, shader);
+            }
+        } else if (occlusionCulling) {
+            EdgeRasterizer.rasterize(triangle, clipMinX, clipMinY, clipMaxX, clipMaxY, depthBuffer, shader);
+        } else {
+            EdgeRasterizer.rasterize(triangle, clipMinX, clipMinY, clipMaxX, clipMaxY,
+                    depthBuffer.getData(), width, shader);
+        }
+    }
 
-        double x1 = p1[0], y1 = p1[1], z1 = p1[2];
-        double x2 = p2[0], y2 = p2[1], z2 = p2[2];
-        double x3 = p3[0], y3 = p3[1], z3 = p3[2];
+    /**
+     * SIMD-путь умеет только цвет без текстуры: плоский без освещения или освещение по Гуро
+     */
+    private boolean isVectorShadable(RasterTriangle triangle) {
+        if (useTexture && triangle.textureReady && !triangle.model.getTextureCoords().isEmpty()) return false;
+        return !useLighting || gouraudShading;
+    }
 
-        int minX = (int) Math.max(0, Math.min(Math.min(x1, x2), x3));
-        int maxX = (int) Math.min(width - 1, Math.max(Math.max(x1, x2), x3));
-        int minY = (int) Math.max(0, Math.min(Math.min(y1, y2), y3));
-        int maxY = (int) Math.min(height - 1, Math.max(Math.max(y1, y2), y3));
+    /**
+     * Отложенный режим: вместо затенения запоминаем треугольник и барицентрики победившего фрагмента
+     */
+    private void writeGBuffer(RasterTriangle triangle, int index, int x, int y, double w1, double w2, double w3) {
+        gBuffer.set(index, triangle.id, w1, w2);
+    }
 
-        if (minX >= maxX || minY >= maxY) return;
+    /**
+     * Проход затенения по G-буферу в прямоугольнике (границы включительно)
+     */
+    private void shadeGBuffer(int minX, int minY, int maxX, int maxY) {
+        int[] ids = gBuffer.getTriangleIds();
+        float[] weights1 = gBuffer.getW1();
+        float[] weights2 = gBuffer.getW2();
 
-        double area = edgeFunction(x1, y1, x2, y2, x3, y3);
-        if (Math.abs(area) < 0.0001) return;
+        for (int y = minY; y <= maxY; y++) {
+            int index = y * width + minX;
+            for (int x = minX; x <= maxX; x++, index++) {
+                int id = ids[index];
+                if (id == GBuffer.EMPTY) continue;
 
-        double[] uv1 = model.getTextureCoordsForPolygonVertex(polygon, 0);
-        double[] uv2 = model.getTextureCoordsForPolygonVertex(polygon, 1);
-        double[] uv3 = model.getTextureCoordsForPolygonVertex(polygon, 2);
+                double w1 = weights1[index], w2 = weights2[index];
+                shadeFragment(deferredTriangles.get(id), index, x, y, w1, w2, 1 - w1 - w2);
+            }
+        }
+    }
 
-        if (debugTriangleCount++ < 3) {
-            System.out.println("=== Треугольник " + debugTriangleCount + " ===");
-            System.out.println("Модель: " + model.getName());
-            System.out.println("Текстура: " + (model.getTexture() != null ? "Есть" : "Нет"));
-            System.out.println("Режим текстуры: " + useTexture);
-            System.out.println("UV1: [" + String.format("%.3f", uv1[0]) + ", " + String.format("%.3f", uv1[1]) + "]");
-            System.out.println("UV2: [" + String.format("%.3f", uv2[0]) + ", " + String.format("%.3f", uv2[1]) + "]");
-            System.out.println("UV3: [" + String.format("%.3f", uv3[0]) + ", " + String.format("%.3f", uv3[1]) + "]");
-            System.out.println("Нормаль: " + faceNormal.getX() + ", " + faceNormal.getY() + ", " + faceNormal.getZ());
+    /**
+     * Цвет пикселя, прошедшего тест глубины: текстура, нормаль и освещение по барицентрическим координатам.
+     * Экранные барицентрики w1..w3 переводятся в перспективно-корректные: линейно в экране меняются 1/w
+     * и атрибут/w, поэтому вес вершины — w_i/w_i(clip), делённый на интерполированное 1/w (одно деление на пиксель)
+     */
+    private void shadeFragment(RasterTriangle triangle, int index, int x, int y,
+                               double screenW1, double screenW2, double screenW3) {
+        double q1 = screenW1 * triangle.invW1, q2 = screenW2 * triangle.invW2, q3 = screenW3 * triangle.invW3;
+        double invQ = 1.0 / (q1 + q2 + q3);
+        double w1 = q1 * invQ, w2 = q2 * invQ, w3 = q3 * invQ;
+
+        Model3D model = triangle.model;
+        TransformedMesh mesh = triangle.mesh;
+        float[] world = mesh.world;
+        int o1 = triangle.v1 * 3, o2 = triangle.v2 * 3, o3 = triangle.v3 * 3;
+        double[] uv1 = triangle.uv1, uv2 = triangle.uv2, uv3 = triangle.uv3;
+
+        double u = w1 * uv1[0] + w2 * uv2[0] + w3 * uv3[0];
+        double v = w1 * uv1[1] + w2 * uv2[1] + w3 * uv3[1];
+
+        double[] interpolatedNormal;
+        if (mesh.hasVertexNormals) {
+            float[] n = mesh.normal;
+            interpolatedNormal = new double[]{
+                    w1 * n[o1] + w2 * n[o2] + w3 * n[o3],
+                    w1 * n[o1 + 1] + w2 * n[o2 + 1] + w3 * n[o3 + 1],
+                    w1 * n[o1 + 2] + w2 * n[o2 + 2] + w3 * n[o3 + 2]
+            };
+        } else {
+            Vector3D faceNormal = triangle.polygon.getNormal();
+            interpolatedNormal = new double[]{
+                    faceNormal.getX(), faceNormal.getY(), faceNormal.getZ()
+            };
         }
 
-        for (int y = minY; y <= maxY; y++) {
-            for (int x = minX; x <= maxX; x++) {
-                double w1 = edgeFunction(x2, y2, x3, y3, x, y) / area;
-                double w2 = edgeFunction(x3, y3, x1, y1, x, y) / area;
-                double w3 = edgeFunction(x1, y1, x2, y2, x, y) / area;
-
-                if (w1 >= -0.0001 && w2 >= -0.0001 && w3 >= -0.0001) {
-                    double depth = w1 * z1 + w2 * z2 + w3 * z3;
-                    if (depth < zBuffer[x][y]) {
-                        zBuffer[x][y] = depth;
-
-                        double u = w1 * uv1[0] + w2 * uv2[0] + w3 * uv3[0];
-                        double v = w1 * uv1[1] + w2 * uv2[1] + w3 * uv3[1];
-
-                        double[] interpolatedNormal = null;
-                        List<Vector3D> vertexNormals = model.getVertexNormals();
-
-                        if (vertexNormals != null && vertexNormals.size() == model.getVertices().size()) {
-                            Vector3D n1 = vertexNormals.get(indices.get(0));
-                            Vector3D n2 = vertexNormals.get(indices.get(1));
-                            Vector3D n3 = vertexNormals.get(indices.get(2));
-                            interpolatedNormal = new double[]{
-                                    w1 * n1.getX() + w2 * n2.getX() + w3 * n3.getX(),
-                                    w1 * n1.getY() + w2 * n2.getY() + w3 * n3.getY(),
-                                    w1 * n1.getZ() + w2 * n2.getZ() + w3 * n3.getZ()
-                            };
-                        } else {
-                            interpolatedNormal = new double[]{
-                                    faceNormal.getX(), faceNormal.getY(), faceNormal.getZ()
-                            };
-                        }
-
-                        // Интерполируем мировые координаты точки
-                        double wx = w1 * world1[0] + w2 * world2[0] + w3 * world3[0];
-                        double wy = w1 * world1[1] + w2 * world2[1] + w3 * world3[1];
-                        double wz = w1 * world1[2] + w2 * world2[2] + w3 * world3[2];
-
-                        Color pixelColor;
-                        if (useTexture && textureReady && !model.getTextureCoords().isEmpty()) {
-                            // Сначала получаем цвет из текстуры
-                            pixelColor = textureManager.getTextureColor(model.getTexture(), u, v);
-                            // Затем применяем к нему освещение
-                            if (useLighting && interpolatedNormal != null) {
-                                pixelColor = applyLightingToColor(pixelColor, interpolatedNormal, wx, wy, wz);
-                            }
-                        } else {
-                            // Без текстуры используем базовый цвет модели
-                            pixelColor = model.getBaseColor();
-                            if (useLighting && interpolatedNormal != null) {
-                                pixelColor = applyLightingToColor(pixelColor, interpolatedNormal, wx, wy, wz);
-                            }
-                        }
-
-                        pixelWriter.setColor(x, y, pixelColor);
-                    }
-                }
+        // Интерполируем мировые координаты точки
+        double wx = w1 * world[o1] + w2 * world[o2] + w3 * world[o3];
+        double wy = w1 * world[o1 + 1] + w2 * world[o2 + 1] + w3 * world[o3 + 1];
+        double wz = w1 * world[o1 + 2] + w2 * world[o2 + 2] + w3 * world[o3 + 2];
+
+        if (useTexture && triangle.texture != null && !model.getTextureCoords().isEmpty()) {
+            // Тексель упакован в int: освещение умножается прямо на каналы, без объектов Color
+            int texel = triangle.texture.sample(u, v, triangle.textureWrap);
+            double intensity = 1.0;
+            if (useLighting && gouraudShading) {
+                intensity = w1 * triangle.light1 + w2 * triangle.light2 + w3 * triangle.light3;
+            } else if (useLighting && interpolatedNormal != null) {
+                intensity = lightIntensity(interpolatedNormal, wx, wy, wz);
             }
+            frameBuffer.getPixels()[index] = shadeTexel(texel, intensity);
+            return;
+        }
+
+        // Без текстуры используем базовый цвет модели
+        Color pixelColor = model.getBaseColor();
+        // Затем применяем освещение: по Гуро — освещённость вершин, иначе расчёт в пикселе
+        if (useLighting && gouraudShading) {
+            pixelColor = applyIntensity(pixelColor, w1 * triangle.light1 + w2 * triangle.light2 + w3 * triangle.light3);
+        } else if (useLighting && interpolatedNormal != null) {
+            pixelColor = applyLightingToColor(pixelColor, interpolatedNormal, wx, wy, wz);
         }
+
+        frameBuffer.getPixels()[index] = FrameBuffer.toArgb(pixelColor);
     }
 
     /**
@@ -324,7 +616,13 @@ public class SoftwareRenderer {
      */
     private Color applyLightingToColor(Color color, double[] normal, double worldX, double worldY, double worldZ) {
         if (normal == null || !useLighting) return color;
+        return applyIntensity(color, lightIntensity(normal, worldX, worldY, worldZ));
+    }
 
+    /**
+     * Освещённость точки: фоновая плюс диффузная от источника в позиции камеры, в пределах [0.2, 1]
+     */
+    private double lightIntensity(double[] normal, double worldX, double worldY, double worldZ) {
         // Нормализуем нормаль
         double len = Math.sqrt(normal[0]*normal[0] + normal[1]*normal[1] + normal[2]*normal[2]);
         if (len > 0) {
@@ -346,8 +644,32 @@ public class SoftwareRenderer {
         dot = Math.max(0, dot);
 
         double intensity = ambientLight + diffuseIntensity * dot;
-        intensity = Math.max(0.2, Math.min(1.0, intensity));
+        return Math.max(0.2, Math.min(1.0, intensity));
+    }
 
+    /**
+     * Удвоенная площадь треугольника в координатах UV (той же меры, что RasterTriangle.area в пикселях)
+     */
+    private static double uvArea(double[] uv1, double[] uv2, double[] uv3) {
+        if (uv1 == null || uv2 == null || uv3 == null) return 0;
+        return (uv2[0] - uv1[0]) * (uv3[1] - uv1[1]) - (uv2[1] - uv1[1]) * (uv3[0] - uv1[0]);
+    }
+
+    /**
+     * Тексель ARGB, умноженный на освещённость, в формате буфера кадра. Каналы округляются так же,
+     * как у Color (float) и FrameBuffer.toArgb, поэтому результат совпадает с путём через Color
+     */
+    private static int shadeTexel(int argb, double intensity) {
+        double alpha = (float) ((argb >>> 24) / 255.0);
+        double r = (float) Math.min(1.0, (float) (((argb >> 16) & 0xFF) / 255.0) * intensity);
+        double g = (float) Math.min(1.0, (float) (((argb >> 8) & 0xFF) / 255.0) * intensity);
+        double b = (float) Math.min(1.0, (float) ((argb & 0xFF) / 255.0) * intensity);
+        int a = (int) Math.round(alpha * 255);
+        return (a << 24) | ((int) Math.round(r * alpha * 255) << 16)
+                | ((int) Math.round(g * alpha * 255) << 8) | (int) Math.round(b * alpha * 255);
+    }
+
+    private static Color applyIntensity(Color color, double intensity) {
         double r = Math.min(1.0, color.getRed() * intensity);
         double g = Math.min(1.0, color.getGreen() * intensity);
         double b = Math.min(1.0, color.getBlue() * intensity);
@@ -356,10 +678,27 @@ public class SoftwareRenderer {
     }
 
     /**
-     * Вычисление функции ребра
+     * Освещённость вершины треугольника для затенения по Гуро: нормаль вершины или грани
      */
-    private double edgeFunction(double ax, double ay, double bx, double by, double px, double py) {
-        return (bx - ax) * (py - ay) - (by - ay) * (px - ax);
+    private double vertexIntensity(RasterTriangle triangle, int vertex) {
+        TransformedMesh mesh = triangle.mesh;
+        int offset = vertex * 3;
+        double[] normal;
+        if (mesh.hasVertexNormals) {
+            normal = new double[]{mesh.normal[offset], mesh.normal[offset + 1], mesh.normal[offset + 2]};
+        } else {
+            Vector3D faceNormal = triangle.polygon.getNormal();
+            normal = new double[]{faceNormal.getX(), faceNormal.getY(), faceNormal.getZ()};
+        }
+        float[] world = mesh.world;
+        return lightIntensity(normal, world[offset], world[offset + 1], world[offset + 2]);
+    }
+
+    private TextureManager textures() {
+        if (textureManager == null) {
+            textureManager = TextureManager.getInstance();
+        }
+        return textureManager;
     }
 
     /**
@@ -370,7 +709,7 @@ public class SoftwareRenderer {
         boolean hasTexture = useTexture && model.getTexture() != null && !model.getTextureCoords().isEmpty();
 
         if (hasTexture) {
-            baseColor = textureManager.getTextureColor(model.getTexture(), u, v);
+            baseColor = textures().getTextureColor(model, u, v);
         }
 
         if (useLighting && normal != null) {
@@ -381,111 +720,52 @@ public class SoftwareRenderer {
     }
 
     /**
-     * Рендеринг каркаса
+     * Рендеринг каркаса моделей, прошедших отсечение по пирамиде видимости.
+     * Модели, отброшенные по Hi-Z, с тестом глубины не видны вовсе, без него их вершины преобразуются здесь
      */
-    private void renderWireframe(List<Model3D> models, Matrix4x4 viewMatrix, Matrix4x4 projectionMatrix) {
-        for (Model3D model : models) {
-            if (!model.isVisible()) continue;
-
-            double tx = model.translateXProperty().get();
-            double ty = model.translateYProperty().get();
-            double tz = model.translateZProperty().get();
-            double rx = Math.toRadians(model.rotateXProperty().get());
-            double ry = Math.toRadians(model.rotateYProperty().get());
-            double rz = Math.toRadians(model.rotateZProperty().get());
-            double sx = model.scaleXProperty().get();
-            double sy = model.scaleYProperty().get();
-            double sz = model.scaleZProperty().get();
-
-            for (Polygon polygon : model.getPolygons()) {
-                List<Integer> indices = polygon.getVertexIndices();
-                if (indices.size() < 2) continue;
-
-                for (int i = 0; i < indices.size(); i++) {
-                    int nextIndex = (i + 1) % indices.size();
-                    Vector3D v1 = model.getVertices().get(indices.get(i));
-                    Vector3D v2 = model.getVertices().get(indices.get(nextIndex));
-
-                    double[] world1 = transformVertex(v1, tx, ty, tz, rx, ry, rz, sx, sy, sz);
-                    double[] world2 = transformVertex(v2, tx, ty, tz, rx, ry, rz, sx, sy, sz);
-
-                    double[] screen1 = projectWithCamera(world1, viewMatrix, projectionMatrix);
-                    double[] screen2 = projectWithCamera(world2, viewMatrix, projectionMatrix);
-
-                    drawLine(screen1, screen2, wireframeColor);
-                }
-            }
+    private void renderWireframe() {
+        int argb = FrameBuffer.toArgb(wireframeColor);
+        float[] depth = wireframeDepthTest ? depthBuffer.getData() : null;
+        for (VisibleModel visible : visibleModels) {
+            if (visible.mesh == null && wireframeDepthTest) continue;
+            wireframeRenderer.render(frameMesh(visible), wireframeRenderer.getEdges(visible.model),
+                    frameBuffer.getPixels(), depth, width, height, argb);
         }
     }
 
     /**
-     * Рендеринг вершин
+     * Вершины модели этого кадра; для модели, отброшенной по Hi-Z, преобразуются сейчас
      */
-    private void renderVertices(List<Model3D> models, Matrix4x4 viewMatrix, Matrix4x4 projectionMatrix) {
-        for (Model3D model : models) {
-            if (!model.isVisible()) continue;
-
-            double tx = model.translateXProperty().get();
-            double ty = model.translateYProperty().get();
-            double tz = model.translateZProperty().get();
-            double rx = Math.toRadians(model.rotateXProperty().get());
-            double ry = Math.toRadians(model.rotateYProperty().get());
-            double rz = Math.toRadians(model.rotateZProperty().get());
-            double sx = model.scaleXProperty().get();
-            double sy = model.scaleYProperty().get();
-            double sz = model.scaleZProperty().get();
-
-            for (Vector3D vertex : model.getVertices()) {
-                double[] world = transformVertex(vertex, tx, ty, tz, rx, ry, rz, sx, sy, sz);
-                double[] screen = projectWithCamera(world, viewMatrix, projectionMatrix);
-
-                int x = (int) Math.round(screen[0]);
-                int y = (int) Math.round(screen[1]);
-
-                if (x >= 0 && x < width && y >= 0 && y < height) {
-                    int size = 2;
-                    for (int dx = -size; dx <= size; dx++) {
-                        for (int dy = -size; dy <= size; dy++) {
-                            int px = x + dx;
-                            int py = y + dy;
-                            if (px >= 0 && px < width && py >= 0 && py < height) {
-                                pixelWriter.setColor(px, py, vertexColor);
-                            }
-                        }
-                    }
-                }
-            }
+    private TransformedMesh frameMesh(VisibleModel visible) {
+        if (visible.mesh == null) {
+            visible.mesh = vertexProcessor.process(visible.model, visible.modelMatrix, visible.modelViewProjection,
+                    width, height);
         }
+        return visible.mesh;
     }
 
     /**
-     * Рисует линию (без Z-буфера, для wireframe/вершин)
+     * Рендеринг вершин (и центров полигонов в режиме редактирования) поверх кадра
      */
-    private void drawLine(double[] p1, double[] p2, Color color) {
-        int x1 = (int) Math.round(p1[0]);
-        int y1 = (int) Math.round(p1[1]);
-        int x2 = (int) Math.round(p2[0]);
-        int y2 = (int) Math.round(p2[1]);
-
-        int dx = Math.abs(x2 - x1);
-        int dy = Math.abs(y2 - y1);
-        int sx = x1 < x2 ? 1 : -1;
-        int sy = y1 < y2 ? 1 : -1;
-        int err = dx - dy;
-
-        while (true) {
-            if (x1 >= 0 && x1 < width && y1 >= 0 && y1 < height) {
-                pixelWriter.setColor(x1, y1, color);
-            }
-            if (x1 == x2 && y1 == y2) break;
-            int e2 = 2 * err;
-            if (e2 > -dy) {
-                err -= dy;
-                x1 += sx;
-            }
-            if (e2 < dx) {
-                err += dx;
-                y1 += sy;
+    private void renderVertices() {
+        int argb = FrameBuffer.toArgb(vertexColor);
+        int selectedArgb = FrameBuffer.toArgb(selectedVertexColor);
+        int polygonSelectedArgb = FrameBuffer.toArgb(Color.ORANGE);
+        boolean labels = editMode && vertexSize > 6;
+        vertexOverlay.begin(frameBuffer.getPixels(), width, height);
+
+        for (VisibleModel visible : visibleModels) {
+            Model3D model = visible.model;
+            TransformedMesh mesh = frameMesh(visible);
+            boolean active = editMode && activeModel != null && model.getRenderKey() == activeModel.getRenderKey();
+
+            // У активной модели при выделенном полигоне вершины оранжевые, выделенная вершина — своим цветом
+            int color = active && selectedPolygonIndex != -1 ? polygonSelectedArgb : argb;
+            vertexOverlay.drawVertices(mesh, model.getVertices().size(), vertexSize, color,
+                    active ? selectedVertexIndex : -1, selectedArgb, labels);
+
+            if (editMode) {
+                vertexOverlay.drawPolygonCenters(mesh, model.getPolygons());
             }
         }
     }
@@ -494,12 +774,21 @@ public class SoftwareRenderer {
      * Проекция с камерой
      */
     public double[] projectWithCamera(double[] worldPos, Matrix4x4 viewMatrix, Matrix4x4 projectionMatrix) {
+        return projectWithCamera(worldPos, viewMatrix, projectionMatrix, width, height);
+    }
+
+    /**
+     * Проекция на экран заданного размера (кадры рисует RenderWorker, размер знает только панель)
+     */
+    public static double[] projectWithCamera(double[] worldPos, Matrix4x4 viewMatrix, Matrix4x4 projectionMatrix,
+                                             int width, int height) {
         Vector4D world = new Vector4D((float)worldPos[0], (float)worldPos[1], (float)worldPos[2], 1.0f);
         Vector4D view = viewMatrix.multiply(world);
         Vector4D clip = projectionMatrix.multiply(view);
 
-        if (Math.abs(clip.getW()) < 1e-6) {
-            return new double[]{0, 0, 0};
+        // Точка перед ближней плоскостью (или за камерой) на экран не проецируется
+        if (clip.getZ() < -clip.getW() || Math.abs(clip.getW()) < 1e-6) {
+            return new double[]{Double.NaN, Double.NaN, Double.NaN};
         }
 
         double ndcX = clip.getX() / clip.getW();
@@ -534,6 +823,44 @@ public class SoftwareRenderer {
 
     public Camera getCamera() { return camera; }
 
+    /**
+     * Камера кадра; RenderWorker ставит копию камеры из снимка сцены
+     */
+    public void setCamera(Camera camera) {
+        this.camera = camera;
+        this.cameraInputAdapter = new CameraInputAdapter(camera);
+    }
+
+    public Color getBackgroundColor() {
+        return backgroundColor;
+    }
+
+    public boolean isShowVertices() {
+        return showVertices;
+    }
+
+    public Color getVertexColor() { return vertexColor; }
+    public Color getSelectedVertexColor() { return selectedVertexColor; }
+    public double getVertexSize() { return vertexSize; }
+    public boolean isEditMode() { return editMode; }
+    public Model3D getActiveModel() { return activeModel; }
+    public int getSelectedVertexIndex() { return selectedVertexIndex; }
+    public int getSelectedPolygonIndex() { return selectedPolygonIndex; }
+
+    /**
+     * Выделение для режима редактирования: активная модель (сравнивается по getRenderKey(),
+     * подходит и снимок) и номера выделенных вершины и полигона, -1 — ничего
+     */
+    public void setSelection(Model3D activeModel, int selectedVertexIndex, int selectedPolygonIndex) {
+        this.activeModel = activeModel;
+        this.selectedVertexIndex = selectedVertexIndex;
+        this.selectedPolygonIndex = selectedPolygonIndex;
+    }
+
+    public FrameBuffer getFrameBuffer() { return frameBuffer; }
+
+    public DepthBuffer getDepthBuffer() { return depthBuffer; }
+
     public boolean isUseTexture() {
         return useTexture;
     }
@@ -545,4 +872,106 @@ public class SoftwareRenderer {
     public boolean isRenderWireframe() {
         return renderWireframe;
     }
-}
\ No newline at end of file
+
+    public boolean isWireframeDepthTest() {
+        return wireframeDepthTest;
+    }
+
+    public boolean isParallelRasterization() {
+        return parallelRasterization;
+    }
+
+    public boolean isBackFaceCulling() {
+        return backFaceCulling;
+    }
+
+    /**
+     * Сколько моделей отброшено по пирамиде видимости в последнем кадре
+     */
+    public int getCulledModelCount() {
+        return culledModelCount;
+    }
+
+    /**
+     * Сколько треугольников отброшено в последнем кадре: задние грани и треугольники отброшенных моделей
+     */
+    public int getCulledTriangleCount() {
+        return culledTriangleCount;
+    }
+
+    public boolean isOcclusionCulling() {
+        return occlusionCulling;
+    }
+
+    public boolean isDeferredShading() {
+        return deferredShading;
+    }
+
+    public boolean isFixedPointRasterization() {
+        return fixedPointRasterization;
+    }
+
+    public boolean isGouraudShading() {
+        return gouraudShading;
+    }
+
+    public boolean isProgressiveRendering() {
+        return progressiveRendering;
+    }
+
+    public boolean isMipmapping() {
+        return mipmapping;
+    }
+
+    /**
+     * Прерван ли последний кадр из ProgressListener; такой кадр нарисован не полностью
+     */
+    public boolean isFrameAborted() {
+        return frameAborted;
+    }
+
+    /**
+     * Рисует ли рендерер подходящие треугольники через Vector API
+     */
+    public boolean isVectorShading() {
+        return vectorShading;
+    }
+
+    /**
+     * Сколько моделей отброшено по Hi-Z (целиком перекрыты) в последнем кадре
+     */
+    public int getOccludedModelCount() {
+        return occludedModelCount;
+    }
+
+    /**
+     * Сколько треугольников отброшено по Hi-Z в последнем кадре, включая треугольники перекрытых моделей
+     */
+    public int getOccludedTriangleCount() {
+        return occludedTriangleCount;
+    }
+
+    /**
+     * Модель, прошедшая отсечение по пирамиде видимости, с матрицами кадра и расстоянием до камеры
+     */
+    private static final class VisibleModel {
+        final Model3D model;
+        final Matrix4x4 modelMatrix;
+        final Matrix4x4 modelViewProjection;
+        final double distance;
+        // Вершины этого кадра, null, если модель отброшена по Hi-Z
+        TransformedMesh mesh;
+
+        VisibleModel(Model3D model, Matrix4x4 modelMatrix, Matrix4x4 modelViewProjection) {
+            this.model = model;
+            this.modelMatrix = modelMatrix;
+            this.modelViewProjection = modelViewProjection;
+            // w центра сферы в пространстве отсечения — глубина вдоль направления взгляда
+            BoundingSphere sphere = model.getBoundingSphere();
+            this.distance = modelViewProjection.get(3, 0) * sphere.getCenterX()
+                    + modelViewProjection.get(3, 1) * sphere.getCenterY()
+                    + modelViewProjection.get(3, 2) * sphere.getCenterZ()
+                    + modelViewProjection.get(3, 3);
+        }
+    }
+}
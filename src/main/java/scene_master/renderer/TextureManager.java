@@ -1,34 +1,74 @@
 package scene_master.renderer;
 
 import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
 import javafx.scene.image.PixelReader;
 import javafx.scene.image.WritableImage;
 import javafx.scene.paint.Color;
+import scene_master.model.Model3D;
+import scene_master.model.Texture;
+
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.IOException;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
+/**
+ * Кэш раскодированных текстур с бюджетом памяти. Чтение (register() для уже раскодированного изображения,
+ * resolve(), выборка цвета) идёт без блокировок и безопасно из потоков загрузки и растеризации;
+ * раскодирование и вытеснение выполняются под блокировкой менеджера.
+ * Когда текстуры занимают больше бюджета, выгружаются давно не использованные, на которые не ссылается
+ * ни одна модель (Texture.getReferenceCount() == 0). Текстуры моделей не выгружаются, даже если бюджет превышен
+ */
 public class TextureManager {
-    private static TextureManager instance;
-    private final Map<String, Image> textures = new HashMap<>();
-    private final Map<String, int[][]> textureData = new HashMap<>();
-    private static final Map<String, Image> textureCache = new HashMap<>();
+    // Размер L2 на ядро (из Java его не узнать): уровни текстур крупнее хранятся блоками 4x4
+    public static final long DEFAULT_L2_CACHE_BYTES = 1L << 20;
+    public static final long DEFAULT_MEMORY_BUDGET = 256L << 20;
+
+    private long tiledLayoutThreshold = DEFAULT_L2_CACHE_BYTES;
+    private volatile long memoryBudget = DEFAULT_MEMORY_BUDGET;
+
+    // Изображения по пути ресурса и по пути файла
+    private final Map<String, Image> textures = new ConcurrentHashMap<>();
+    private final Map<String, Image> textureCache = new ConcurrentHashMap<>();
+    // Раскодированные текстуры по изображению
+    private final Map<Image, Entry> decoded = new ConcurrentHashMap<>();
     private Image defaultTexture;
 
+    // Часы LRU: тикают при промахе и при обращении к записи, которая ещё не самая свежая.
+    // Повторные попадания в ту же текстуру только читают часы и ничего не пишут
+    private final AtomicLong clock = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final AtomicLong cachedBytes = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    private static final class Entry {
+        final Texture texture;
+        final long bytes;
+        volatile long lastUse;
+
+        Entry(Texture texture, long lastUse) {
+            this.texture = texture;
+            this.bytes = texture.getByteSize();
+            this.lastUse = lastUse;
+        }
+    }
+
+    private static final class Holder {
+        static final TextureManager INSTANCE = new TextureManager();
+    }
+
     private TextureManager() {
         createDefaultTexture();
     }
 
     public static TextureManager getInstance() {
-        if (instance == null) {
-            instance = new TextureManager();
-        }
-        return instance;
+        return Holder.INSTANCE;
     }
 
-    private void createDefaultTexture() {
+    private synchronized void createDefaultTexture() {
         int size = 256;
         WritableImage image = new WritableImage(size, size);
         var pixelWriter = image.getPixelWriter();
@@ -43,109 +83,207 @@ public class TextureManager {
         }
 
         defaultTexture = image;
-        cacheTextureData("default", defaultTexture);
+        // Текстура по умолчанию не выгружается
+        register(defaultTexture).retain();
     }
 
 
+    /**
+     * Синхронная загрузка изображения из файла; в фоне файлы грузит AsyncTextureLoader
+     */
     public Image loadTexture(File file) {
-        String path = file.getAbsolutePath();
-        if (textureCache.containsKey(path)) {
-            return textureCache.get(path);
-        }
-
-        Image texture = new Image(file.toURI().toString(), true);
-        textureCache.put(path, texture);
-        return texture;
+        return textureCache.computeIfAbsent(file.getAbsolutePath(),
+                path -> new Image(file.toURI().toString()));
     }
 
     public Image loadTexture(String resourcePath) {
-        if (textures.containsKey(resourcePath)) {
-            return textures.get(resourcePath);
+        Image cached = textures.get(resourcePath);
+        if (cached != null) {
+            return cached;
         }
 
         Image texture = new Image(resourcePath);
         if (!texture.isError()) {
             textures.put(resourcePath, texture);
-            cacheTextureData(resourcePath, texture);
+            register(texture);
         }
         return texture;
     }
 
-    private void cacheTextureData(String key, Image texture) {
-        int width = (int) texture.getWidth();
-        int height = (int) texture.getHeight();
-        int[][] data = new int[width][height];
+    /**
+     * Раскодированная текстура изображения: при первом вызове пиксели читаются одним getPixels()
+     * и строится цепочка мип-уровней (крупные — блоками 4x4), дальше возвращается тот же объект.
+     * null, если изображение ещё не загружено или с ошибкой
+     */
+    public Texture register(Image image) {
+        if (image == null) return null;
+        Entry entry = decoded.get(image);
+        if (entry != null) {
+            touch(entry);
+            hits.increment();
+            return entry.texture;
+        }
+        return decode(image);
+    }
 
-        PixelReader reader = texture.getPixelReader();
-        for (int y = 0; y < height; y++) {
-            for (int x = 0; x < width; x++) {
-                data[x][y] = reader.getArgb(x, y);
-            }
+    private synchronized Texture decode(Image image) {
+        // Пока ждали блокировку, изображение мог раскодировать другой поток
+        Entry entry = decoded.get(image);
+        if (entry != null) {
+            touch(entry);
+            hits.increment();
+            return entry.texture;
         }
 
-        textureData.put(key, data);
+        int width = (int) image.getWidth();
+        int height = (int) image.getHeight();
+        PixelReader reader = image.getPixelReader();
+        if (reader == null || width <= 0 || height <= 0 || image.isError() || image.isBackgroundLoading()) {
+            return null;
+        }
+        int[] texels = new int[width * height];
+        reader.getPixels(0, 0, width, height, PixelFormat.getIntArgbInstance(), texels, 0, width);
+        return store(image, Texture.withMipmaps(width, height, texels, image, tiledLayoutThreshold));
     }
 
-    public Image getDefaultTexture() {
-        return defaultTexture;
+    /**
+     * Регистрация текселей, уже раскодированных из файла (AsyncTextureLoader): изображение запоминается и по пути.
+     * Мип-уровни строятся в вызывающем потоке, без блокировки менеджера
+     */
+    Texture register(File file, Image image, int width, int height, int[] texels) {
+        Texture texture = Texture.withMipmaps(width, height, texels, image, getTiledLayoutThreshold());
+        synchronized (this) {
+            Entry entry = decoded.get(image);
+            if (entry != null) return entry.texture;
+            textureCache.put(file.getAbsolutePath(), image);
+            return store(image, texture);
+        }
     }
 
-    public Color getTextureColor(Image texture, double u, double v) {
-        if (texture == null || texture.getPixelReader() == null) {
-            return Color.WHITE;
-        }
+    /**
+     * Текстура файла, если он уже загружен через AsyncTextureLoader или loadTexture(File), иначе null
+     */
+    Texture findLoaded(File file) {
+        Image image = textureCache.get(file.getAbsolutePath());
+        return image != null ? register(image) : null;
+    }
 
-        u = Math.max(0, Math.min(1, u));
-        v = Math.max(0, Math.min(1, v));
+    private synchronized Texture store(Image image, Texture texture) {
+        misses.increment();
+        Entry entry = new Entry(texture, clock.incrementAndGet());
+        decoded.put(image, entry);
+        cachedBytes.addAndGet(entry.bytes);
+        evictOverBudget(entry);
+        return texture;
+    }
 
-        int width = (int) texture.getWidth();
-        int height = (int) texture.getHeight();
+    private void touch(Entry entry) {
+        // Запись только при смене значения: иначе параллельные потоки растеризации делят одну строку кэша
+        if (entry.lastUse != clock.get()) entry.lastUse = clock.incrementAndGet();
+    }
 
-        if (width <= 0 || height <= 0) {
-            return Color.WHITE;
+    /**
+     * Выгружает давно не использованные текстуры без ссылок, пока кэш больше бюджета. keep не выгружается
+     */
+    private synchronized void evictOverBudget(Entry keep) {
+        while (cachedBytes.get() > memoryBudget) {
+            Image oldestImage = null;
+            Entry oldest = null;
+            for (Map.Entry<Image, Entry> candidate : decoded.entrySet()) {
+                Entry entry = candidate.getValue();
+                if (entry == keep || entry.texture.getReferenceCount() > 0) continue;
+                if (oldest == null || entry.lastUse < oldest.lastUse) {
+                    oldest = entry;
+                    oldestImage = candidate.getKey();
+                }
+            }
+            if (oldest == null) return;
+            decoded.remove(oldestImage);
+            cachedBytes.addAndGet(-oldest.bytes);
+            evictions.incrementAndGet();
+            // Изображение больше не нужно: уходит и из кэшей по пути
+            Image evicted = oldestImage;
+            textures.values().removeIf(image -> image == evicted);
+            textureCache.values().removeIf(image -> image == evicted);
         }
-
-        int x = (int) (u * (width - 1));
-        int y = (int) ((1 - v) * (height - 1));
-
-        javafx.scene.paint.Color fxColor = texture.getPixelReader().getColor(x, y);
-        return new Color(fxColor.getRed(), fxColor.getGreen(), fxColor.getBlue(), fxColor.getOpacity());
     }
 
-    public int getTextureArgb(Image texture, double u, double v) {
-        if (texture == null) return 0xFFFFFFFF;
-
-        String key = findTextureKey(texture);
-        if (key != null && textureData.containsKey(key)) {
-            int[][] data = textureData.get(key);
+    /**
+     * Текстура модели для рендера: ручка модели, если она от текущего изображения, иначе регистрация.
+     * Зарегистрированная текстура становится ручкой исходной модели (у снимка — модели, с которой он снят):
+     * ручка держит её в кэше, и следующие кадры берут её без поиска
+     */
+    public Texture resolve(Model3D model) {
+        Image image = model.getTexture();
+        Texture handle = model.getTextureHandle();
+        if (handle != null && handle.getSource() == image) {
+            return handle;
+        }
+        Texture texture = register(image);
+        if (texture != null) {
+            model.getRenderKey().adoptTextureHandle(texture);
+        }
+        return texture;
+    }
 
-            u = u - Math.floor(u);
-            v = v - Math.floor(v);
+    public Image getDefaultTexture() {
+        return defaultTexture;
+    }
 
-            int x = (int) (u * (data.length - 1));
-            int y = (int) ((1 - v) * (data[0].length - 1));
+    public Color getTextureColor(Image texture, double u, double v) {
+        return toColor(register(texture), u, v);
+    }
 
-            x = Math.max(0, Math.min(x, data.length - 1));
-            y = Math.max(0, Math.min(y, data[0].length - 1));
+    /**
+     * Цвет текстуры модели; текстура берётся через resolve(), без поиска в кэше на каждый пиксель
+     */
+    public Color getTextureColor(Model3D model, double u, double v) {
+        return toColor(resolve(model), u, v);
+    }
 
-            return data[x][y];
+    private static Color toColor(Texture decodedTexture, double u, double v) {
+        if (decodedTexture == null) {
+            return Color.WHITE;
         }
+        int argb = decodedTexture.sample(u, v, Texture.WrapMode.CLAMP);
+        return Color.rgb((argb >> 16) & 0xFF, (argb >> 8) & 0xFF, argb & 0xFF, (argb >>> 24) / 255.0);
+    }
 
-        return 0xFFFFFFFF;
+    public int getTextureArgb(Image texture, double u, double v) {
+        Texture decodedTexture = register(texture);
+        if (decodedTexture == null) return 0xFFFFFFFF;
+        return decodedTexture.sample(u, v, Texture.WrapMode.REPEAT);
     }
 
-    private String findTextureKey(Image texture) {
-        for (Map.Entry<String, Image> entry : textures.entrySet()) {
-            if (entry.getValue() == texture) {
-                return entry.getKey();
-            }
-        }
-        return null;
+    /**
+     * Уровни текстур больше bytes байт регистрируются в раскладке TILED; уже зарегистрированные не меняются
+     */
+    public synchronized void setTiledLayoutThreshold(long bytes) { this.tiledLayoutThreshold = bytes; }
+    public synchronized long getTiledLayoutThreshold() { return tiledLayoutThreshold; }
+
+    /**
+     * Бюджет памяти раскодированных текстур в байтах; при уменьшении лишнее выгружается сразу
+     */
+    public void setMemoryBudget(long bytes) {
+        memoryBudget = Math.max(0, bytes);
+        evictOverBudget(null);
     }
 
-    public void clear() {
+    public long getMemoryBudget() { return memoryBudget; }
+    public long getHitCount() { return hits.sum(); }
+    public long getMissCount() { return misses.sum(); }
+    public long getEvictionCount() { return evictions.get(); }
+    public long getCachedBytes() { return cachedBytes.get(); }
+    public int getCachedTextureCount() { return decoded.size(); }
+
+    /**
+     * Сбрасывает кэш целиком, включая текстуры моделей: их ручки остаются рабочими, но память уже не учитывается
+     */
+    public synchronized void clear() {
         textures.clear();
-        textureData.clear();
+        textureCache.clear();
+        decoded.clear();
+        cachedBytes.set(0);
         createDefaultTexture();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,204 @@
+package scene_master.renderer;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Параллельная растеризация по экранным тайлам.
+ * Треугольники раскладываются по тайлам (binning), затем тайлы обрабатываются
+ * в ForkJoinPool. Каждый тайл пишет только в свой участок буферов глубины и цвета,
+ * поэтому синхронизация между потоками не нужна.
+ */
+public class TileRasterizer {
+
+    /**
+     * Растеризация треугольника, ограниченная прямоугольником тайла (границы включительно)
+     */
+    public interface TileShader {
+        void rasterize(RasterTriangle triangle, int minX, int minY, int maxX, int maxY);
+    }
+
+    /**
+     * Обработка прямоугольника тайла без треугольников (границы включительно), например проход затенения
+     */
+    public interface TileAction {
+        void run(int minX, int minY, int maxX, int maxY);
+    }
+
+    private final int tileSize;
+    private final ForkJoinPool pool;
+
+    private int tilesX;
+    private int tilesY;
+    private int[][] bins = new int[0][];
+    private int[] binSizes = new int[0];
+
+    public TileRasterizer(int tileSize) {
+        this(tileSize, new ForkJoinPool(Runtime.getRuntime().availableProcessors()));
+    }
+
+    public TileRasterizer(int tileSize, ForkJoinPool pool) {
+        if (tileSize <= 0) {
+            throw new IllegalArgumentException("Tile size must be positive");
+        }
+        this.tileSize = tileSize;
+        this.pool = pool;
+    }
+
+    public int getTileSize() { return tileSize; }
+    public int getTileCount() { return tilesX * tilesY; }
+
+    /**
+     * Растеризация списка треугольников в кадр width x height
+     */
+    public void render(List<RasterTriangle> triangles, int width, int height, TileShader shader) {
+        if (width <= 0 || height <= 0 || triangles.isEmpty()) return;
+
+        binTriangles(triangles, width, height);
+        pool.invoke(new TileTask(triangles, shader, width, height, 0, tilesX * tilesY));
+    }
+
+    /**
+     * Параллельный обход всех тайлов кадра width x height
+     */
+    public void forEachTile(int width, int height, TileAction action) {
+        if (width <= 0 || height <= 0) return;
+
+        int columns = (width + tileSize - 1) / tileSize;
+        int rows = (height + tileSize - 1) / tileSize;
+        pool.invoke(new RegionTask(action, width, height, columns, 0, columns * rows));
+    }
+
+    /**
+     * Раскладка индексов треугольников по тайлам, которые пересекает их bounding box.
+     * Порядок треугольников внутри тайла сохраняется, как при последовательном рендере.
+     */
+    private void binTriangles(List<RasterTriangle> triangles, int width, int height) {
+        tilesX = (width + tileSize - 1) / tileSize;
+        tilesY = (height + tileSize - 1) / tileSize;
+        int tileCount = tilesX * tilesY;
+
+        if (bins.length < tileCount) {
+            bins = Arrays.copyOf(bins, tileCount);
+            binSizes = new int[tileCount];
+        }
+        Arrays.fill(binSizes, 0, tileCount, 0);
+
+        for (int i = 0; i < triangles.size(); i++) {
+            RasterTriangle triangle = triangles.get(i);
+            int fromTileX = triangle.minX / tileSize;
+            int toTileX = triangle.maxX / tileSize;
+            int fromTileY = triangle.minY / tileSize;
+            int toTileY = triangle.maxY / tileSize;
+
+            for (int ty = fromTileY; ty <= toTileY; ty++) {
+                for (int tx = fromTileX; tx <= toTileX; tx++) {
+                    addToBin(ty * tilesX + tx, i);
+                }
+            }
+        }
+    }
+
+    private void addToBin(int tile, int triangleIndex) {
+        int[] bin = bins[tile];
+        int size = binSizes[tile];
+        if (bin == null) {
+            bin = new int[64];
+            bins[tile] = bin;
+        } else if (size == bin.length) {
+            bin = Arrays.copyOf(bin, size * 2);
+            bins[tile] = bin;
+        }
+        bin[size] = triangleIndex;
+        binSizes[tile] = size + 1;
+    }
+
+    private void renderTile(int tile, List<RasterTriangle> triangles, TileShader shader, int width, int height) {
+        int tileX = tile % tilesX;
+        int tileY = tile / tilesX;
+        int minX = tileX * tileSize;
+        int minY = tileY * tileSize;
+        int maxX = Math.min(width, minX + tileSize) - 1;
+        int maxY = Math.min(height, minY + tileSize) - 1;
+
+        int[] bin = bins[tile];
+        int size = binSizes[tile];
+        for (int i = 0; i < size; i++) {
+            shader.rasterize(triangles.get(bin[i]), minX, minY, maxX, maxY);
+        }
+    }
+
+    /**
+     * Делит диапазон тайлов пополам, пока не останется один тайл
+     */
+    @SuppressWarnings("serial") // задачи пула не сериализуются
+    private class TileTask extends RecursiveAction {
+        private final List<RasterTriangle> triangles;
+        private final TileShader shader;
+        private final int width;
+        private final int height;
+        private final int from;
+        private final int to;
+
+        TileTask(List<RasterTriangle> triangles, TileShader shader, int width, int height, int from, int to) {
+            this.triangles = triangles;
+            this.shader = shader;
+            this.width = width;
+            this.height = height;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= 1) {
+                if (to > from && binSizes[from] > 0) {
+                    renderTile(from, triangles, shader, width, height);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new TileTask(triangles, shader, width, height, from, mid),
+                    new TileTask(triangles, shader, width, height, mid, to));
+        }
+    }
+
+    /**
+     * Как TileTask, но для forEachTile: тайлы без списков треугольников
+     */
+    @SuppressWarnings("serial") // задачи пула не сериализуются
+    private class RegionTask extends RecursiveAction {
+        private final TileAction action;
+        private final int width;
+        private final int height;
+        private final int columns;
+        private final int from;
+        private final int to;
+
+        RegionTask(TileAction action, int width, int height, int columns, int from, int to) {
+            this.action = action;
+            this.width = width;
+            this.height = height;
+            this.columns = columns;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= 1) {
+                if (to > from) {
+                    int minX = (from % columns) * tileSize;
+                    int minY = (from / columns) * tileSize;
+                    action.run(minX, minY, Math.min(width, minX + tileSize) - 1, Math.min(height, minY + tileSize) - 1);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new RegionTask(action, width, height, columns, from, mid),
+                    new RegionTask(action, width, height, columns, mid, to));
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package scene_master.renderer;
+
+import java.util.Arrays;
+
+/**
+ * Вершины модели после преобразований текущего кадра.
+ * Для вершины i данные лежат в world[3i..3i+2], clip[3i..3i+2], clipW[i], screen[3i..3i+2] и normal[3i..3i+2].
+ * Массивы переиспользуются между кадрами и растут только при увеличении числа вершин.
+ * После вершин модели идут вершины, добавленные отсечением треугольников (addVertex).
+ */
+public class TransformedMesh {
+    /** Мировые координаты x, y, z */
+    public float[] world = new float[0];
+    /** Координаты x, y, z в пространстве отсечения */
+    public float[] clip = new float[0];
+    /** Экранные x, y в пикселях и глубина z в NDC */
+    public float[] screen = new float[0];
+    /** Компонента w в пространстве отсечения (до перспективного деления) */
+    public float[] clipW = new float[0];
+    /** Нормали вершин в координатах модели, заполнены только при hasVertexNormals */
+    public float[] normal = new float[0];
+    public boolean hasVertexNormals;
+
+    private int vertexCount;
+    private int addedVertexCount;
+
+    public TransformedMesh() {
+    }
+
+    public TransformedMesh(int vertexCount) {
+        ensureCapacity(vertexCount);
+    }
+
+    public int getVertexCount() { return vertexCount; }
+
+    /**
+     * Сколько вершин добавлено отсечением с последнего ensureCapacity
+     */
+    public int getAddedVertexCount() { return addedVertexCount; }
+
+    /**
+     * Подготовка к новому кадру: место под vertexCount вершин модели, добавленные вершины сбрасываются
+     */
+    public void ensureCapacity(int vertexCount) {
+        if (clipW.length < vertexCount) {
+            world = new float[vertexCount * 3];
+            clip = new float[vertexCount * 3];
+            screen = new float[vertexCount * 3];
+            clipW = new float[vertexCount];
+            normal = new float[vertexCount * 3];
+        }
+        this.vertexCount = vertexCount;
+        this.addedVertexCount = 0;
+    }
+
+    /**
+     * Новая вершина после вершин модели, возвращает её индекс. Значения заполняет вызывающий
+     */
+    public int addVertex() {
+        int index = vertexCount + addedVertexCount;
+        if (index >= clipW.length) {
+            int capacity = Math.max(clipW.length * 2, index + 16);
+            world = Arrays.copyOf(world, capacity * 3);
+            clip = Arrays.copyOf(clip, capacity * 3);
+            screen = Arrays.copyOf(screen, capacity * 3);
+            clipW = Arrays.copyOf(clipW, capacity);
+            normal = Arrays.copyOf(normal, capacity * 3);
+        }
+        addedVertexCount++;
+        return index;
+    }
+
+    public void setScreen(int vertex, float x, float y, float z) {
+        screen[vertex * 3] = x;
+        screen[vertex * 3 + 1] = y;
+        screen[vertex * 3 + 2] = z;
+    }
+
+    public void setClip(int vertex, float x, float y, float z, float w) {
+        clip[vertex * 3] = x;
+        clip[vertex * 3 + 1] = y;
+        clip[vertex * 3 + 2] = z;
+        clipW[vertex] = w;
+    }
+}
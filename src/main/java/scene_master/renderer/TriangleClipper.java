@@ -0,0 +1,183 @@
+package scene_master.renderer;
+
+/**
+ * Отсечение треугольников в пространстве отсечения, до перспективного деления (Sutherland–Hodgman).
+ * Ближняя плоскость z >= -w отсекается всегда: за ней w близко к нулю или отрицательно и деление на w ломает
+ * треугольник. Боковые плоскости отсекаются только по границе guard band, внутри неё выход за экран
+ * дёшево обрезает прямоугольник растеризации. Новые вершины добавляются в TransformedMesh.
+ * Экземпляр хранит рабочие массивы и не потокобезопасен.
+ */
+public class TriangleClipper {
+    /** Треугольник целиком снаружи одной из плоскостей пирамиды видимости */
+    public static final int REJECT = 0;
+    /** Треугольник можно растеризовать как есть */
+    public static final int ACCEPT = 1;
+    /** Треугольник нужно отсечь методом clip */
+    public static final int CLIP = 2;
+
+    /** Полуширина guard band в единицах NDC (экран занимает [-1, 1]) */
+    public static final double GUARD_BAND = 16;
+
+    private static final int LEFT = 1, RIGHT = 2, BOTTOM = 4, TOP = 8, NEAR = 16, FAR = 32;
+    private static final int GUARD = 64;
+    private static final int FRUSTUM_MASK = LEFT | RIGHT | BOTTOM | TOP | NEAR | FAR;
+
+    // Ближняя плоскость и четыре плоскости guard band: столько вершин максимум добавляет отсечение треугольника
+    private static final int PLANE_COUNT = 5;
+    private static final int MAX_VERTICES = 3 + PLANE_COUNT;
+
+    private int[] input = new int[MAX_VERTICES];
+    private int[] output = new int[MAX_VERTICES];
+    private double[] inputUv = new double[MAX_VERTICES * 2];
+    private double[] outputUv = new double[MAX_VERTICES * 2];
+    private int vertexCount;
+
+    /**
+     * Быстрая классификация треугольника по кодам вершин
+     */
+    public int classify(TransformedMesh mesh, int v1, int v2, int v3) {
+        int code1 = outCode(mesh, v1), code2 = outCode(mesh, v2), code3 = outCode(mesh, v3);
+        if ((code1 & code2 & code3 & FRUSTUM_MASK) != 0) return REJECT;
+        if (((code1 | code2 | code3) & (NEAR | GUARD)) != 0) return CLIP;
+        return ACCEPT;
+    }
+
+    private static int outCode(TransformedMesh mesh, int v) {
+        float[] clip = mesh.clip;
+        double x = clip[v * 3], y = clip[v * 3 + 1], z = clip[v * 3 + 2], w = mesh.clipW[v];
+        int code = 0;
+        if (x < -w) code |= LEFT;
+        if (x > w) code |= RIGHT;
+        if (y < -w) code |= BOTTOM;
+        if (y > w) code |= TOP;
+        if (z < -w) code |= NEAR;
+        if (z > w) code |= FAR;
+        double guard = GUARD_BAND * w;
+        if (x < -guard || x > guard || y < -guard || y > guard) code |= GUARD;
+        return code;
+    }
+
+    /**
+     * Отсечение треугольника, результат — выпуклый многоугольник из getVertexCount() вершин
+     * (0, если ничего не осталось). Вершины-пересечения добавляются в mesh с экранными координатами.
+     */
+    public int clip(TransformedMesh mesh, int v1, int v2, int v3,
+                    double[] uv1, double[] uv2, double[] uv3, int width, int height) {
+        input[0] = v1;
+        input[1] = v2;
+        input[2] = v3;
+        inputUv[0] = uv1[0];
+        inputUv[1] = uv1[1];
+        inputUv[2] = uv2[0];
+        inputUv[3] = uv2[1];
+        inputUv[4] = uv3[0];
+        inputUv[5] = uv3[1];
+        vertexCount = 3;
+
+        for (int plane = 0; plane < PLANE_COUNT && vertexCount > 0; plane++) {
+            clipAgainstPlane(mesh, plane, width, height);
+        }
+        return vertexCount;
+    }
+
+    /**
+     * Один проход Sutherland–Hodgman: input -> output, затем буферы меняются местами
+     */
+    private void clipAgainstPlane(TransformedMesh mesh, int plane, int width, int height) {
+        int count = 0;
+        int previous = input[vertexCount - 1];
+        double previousDistance = distance(mesh, plane, previous);
+        int previousSlot = vertexCount - 1;
+
+        for (int i = 0; i < vertexCount; i++) {
+            int current = input[i];
+            double currentDistance = distance(mesh, plane, current);
+
+            if ((currentDistance >= 0) != (previousDistance >= 0)) {
+                double t = previousDistance / (previousDistance - currentDistance);
+                output[count] = interpolate(mesh, previous, current, t, width, height);
+                outputUv[count * 2] = lerp(inputUv[previousSlot * 2], inputUv[i * 2], t);
+                outputUv[count * 2 + 1] = lerp(inputUv[previousSlot * 2 + 1], inputUv[i * 2 + 1], t);
+                count++;
+            }
+            if (currentDistance >= 0) {
+                output[count] = current;
+                outputUv[count * 2] = inputUv[i * 2];
+                outputUv[count * 2 + 1] = inputUv[i * 2 + 1];
+                count++;
+            }
+
+            previous = current;
+            previousDistance = currentDistance;
+            previousSlot = i;
+        }
+
+        int[] swap = input;
+        input = output;
+        output = swap;
+        double[] swapUv = inputUv;
+        inputUv = outputUv;
+        outputUv = swapUv;
+        vertexCount = count;
+    }
+
+    /**
+     * Расстояние со знаком до плоскости в пространстве отсечения, внутри >= 0
+     */
+    private static double distance(TransformedMesh mesh, int plane, int v) {
+        float[] clip = mesh.clip;
+        double w = mesh.clipW[v];
+        switch (plane) {
+            case 0: return clip[v * 3 + 2] + w;
+            case 1: return GUARD_BAND * w + clip[v * 3];
+            case 2: return GUARD_BAND * w - clip[v * 3];
+            case 3: return GUARD_BAND * w + clip[v * 3 + 1];
+            default: return GUARD_BAND * w - clip[v * 3 + 1];
+        }
+    }
+
+    /**
+     * Точка a + t(b - a): все атрибуты линейны в пространстве отсечения, поэтому берутся с тем же t
+     */
+    private static int interpolate(TransformedMesh mesh, int a, int b, double t, int width, int height) {
+        int v = mesh.addVertex();
+        float[] world = mesh.world, clip = mesh.clip, normal = mesh.normal;
+        for (int c = 0; c < 3; c++) {
+            world[v * 3 + c] = (float) lerp(world[a * 3 + c], world[b * 3 + c], t);
+            clip[v * 3 + c] = (float) lerp(clip[a * 3 + c], clip[b * 3 + c], t);
+            normal[v * 3 + c] = (float) lerp(normal[a * 3 + c], normal[b * 3 + c], t);
+        }
+        double w = lerp(mesh.clipW[a], mesh.clipW[b], t);
+        mesh.clipW[v] = (float) w;
+
+        // После ближней плоскости w >= near > 0, деление безопасно
+        double invW = 1.0 / w;
+        mesh.setScreen(v,
+                (float) ((clip[v * 3] * invW + 1) * 0.5 * width),
+                (float) ((1 - clip[v * 3 + 1] * invW) * 0.5 * height),
+                (float) (clip[v * 3 + 2] * invW));
+        return v;
+    }
+
+    private static double lerp(double a, double b, double t) {
+        return a + (b - a) * t;
+    }
+
+    public int getVertexCount() {
+        return vertexCount;
+    }
+
+    /**
+     * Индекс i-й вершины результата в TransformedMesh
+     */
+    public int getVertex(int i) {
+        return input[i];
+    }
+
+    /**
+     * Текстурные координаты i-й вершины результата (новый массив, он уходит в RasterTriangle)
+     */
+    public double[] getUv(int i) {
+        return new double[]{inputUv[i * 2], inputUv[i * 2 + 1]};
+    }
+}
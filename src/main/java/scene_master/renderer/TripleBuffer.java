@@ -0,0 +1,107 @@
+package scene_master.renderer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Тройная буферизация кадров между потоком рендера и FX-потоком.
+ * Задний кадр принадлежит рендеру, передний — FX-потоку, средний ждёт показа.
+ * publish() меняет задний и средний местами, acquire() забирает средний, если он новее показанного.
+ * Индекс среднего кадра и флаг "новый" лежат в одном AtomicInteger, поэтому обмен атомарен,
+ * и FX-поток никогда не видит кадр, который рендер ещё рисует. Если FX не успевает, промежуточные
+ * кадры просто перезаписываются: показывается всегда последний готовый.
+ */
+public class TripleBuffer {
+    private static final int INDEX_MASK = 3;
+    private static final int FRESH = 4;
+
+    private final Frame[] frames = {new Frame(), new Frame(), new Frame()};
+    private final AtomicInteger ready = new AtomicInteger(1);
+    private int back = 0;
+    private int front = 2;
+
+    /**
+     * Кадр, в который рисует рендер. Только для потока рендера
+     */
+    public Frame getBack() {
+        return frames[back];
+    }
+
+    /**
+     * Отдать нарисованный задний кадр на показ и получить новый задний. Только для потока рендера
+     */
+    public void publish() {
+        back = ready.getAndSet(back | FRESH) & INDEX_MASK;
+    }
+
+    /**
+     * Забрать последний готовый кадр, если он ещё не показан, иначе null. Только для FX-потока;
+     * кадр остаётся за FX-потоком до следующего успешного acquire()
+     */
+    public Frame acquire() {
+        if ((ready.get() & FRESH) == 0) return null;
+        front = ready.getAndSet(front) & INDEX_MASK;
+        return frames[front];
+    }
+
+    /**
+     * Кадр с буфером и статистикой отсечения, с которой он нарисован
+     */
+    public static final class Frame {
+        private FrameBuffer buffer;
+        private long sequence;
+        private long renderNanos;
+        private boolean complete = true;
+        private int culledModelCount;
+        private int culledTriangleCount;
+        private int occludedModelCount;
+        private int occludedTriangleCount;
+
+        /**
+         * Буфер нужного размера; пересоздаётся только при смене размера
+         */
+        public FrameBuffer ensureBuffer(int width, int height) {
+            if (buffer == null || buffer.getWidth() != width || buffer.getHeight() != height) {
+                buffer = new FrameBuffer(width, height);
+            }
+            return buffer;
+        }
+
+        /**
+         * Статистика последнего кадра рендерера
+         */
+        public void record(SoftwareRenderer renderer, long sequence, long renderNanos) {
+            record(renderer, sequence, renderNanos, true);
+        }
+
+        /**
+         * Статистика кадра; complete == false — промежуточный кадр прогрессивного рендера
+         */
+        public void record(SoftwareRenderer renderer, long sequence, long renderNanos, boolean complete) {
+            this.sequence = sequence;
+            this.renderNanos = renderNanos;
+            this.complete = complete;
+            this.culledModelCount = renderer.getCulledModelCount();
+            this.culledTriangleCount = renderer.getCulledTriangleCount();
+            this.occludedModelCount = renderer.getOccludedModelCount();
+            this.occludedTriangleCount = renderer.getOccludedTriangleCount();
+        }
+
+        public FrameBuffer getBuffer() { return buffer; }
+
+        /**
+         * Номер снимка сцены, по которому нарисован кадр
+         */
+        public long getSequence() { return sequence; }
+
+        public long getRenderNanos() { return renderNanos; }
+
+        /**
+         * Нарисован ли кадр целиком; у промежуточного кадра getRenderNanos() — время до его показа
+         */
+        public boolean isComplete() { return complete; }
+        public int getCulledModelCount() { return culledModelCount; }
+        public int getCulledTriangleCount() { return culledTriangleCount; }
+        public int getOccludedModelCount() { return occludedModelCount; }
+        public int getOccludedTriangleCount() { return occludedTriangleCount; }
+    }
+}
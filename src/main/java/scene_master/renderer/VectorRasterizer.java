@@ -0,0 +1,176 @@
+package scene_master.renderer;
+
+import javafx.scene.paint.Color;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD-вариант EdgeRasterizer на Vector API: строка блока 8x8 обрабатывается одним вектором
+ * из 8 float (256 бит). Рёбра, тест глубины и цвет считаются сразу для 8 пикселей, запись в буферы
+ * идёт по маске. Поддерживает только затенение без текстуры: плоское (один цвет) и по Гуро
+ * (освещённость вершин RasterTriangle.light1..3 с перспективной коррекцией).
+ * Обход блоков, их классификация и Hi-Z — общие с EdgeRasterizer.
+ * Используется только если VectorSupport.isAvailable(), иначе класс даже не загружается.
+ */
+final class VectorRasterizer {
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_256;
+    private static final VectorSpecies<Integer> INT_SPECIES = IntVector.SPECIES_256;
+    private static final FloatVector LANES = FloatVector.fromArray(SPECIES,
+            new float[]{0, 1, 2, 3, 4, 5, 6, 7}, 0);
+
+    private VectorRasterizer() {
+    }
+
+    /**
+     * Аппаратные векторы вмещают строку блока целиком
+     */
+    static boolean isHardwareSupported() {
+        return SPECIES.length() == EdgeRasterizer.BLOCK_SIZE
+                && FloatVector.SPECIES_PREFERRED.vectorBitSize() >= SPECIES.vectorBitSize();
+    }
+
+    /**
+     * Растеризация и затенение треугольника в прямоугольнике clip (границы включительно).
+     * hiZ == null — без отсечения блоков; gouraud == false — плоский цвет baseColor
+     */
+    static void rasterize(RasterTriangle t, int clipMinX, int clipMinY, int clipMaxX, int clipMaxY,
+                          float[] depth, int width, int height, HiZBuffer hiZ,
+                          int[] pixels, Color baseColor, boolean gouraud) {
+        int minX = Math.max(t.minX, clipMinX);
+        int maxX = Math.min(t.maxX, clipMaxX);
+        int minY = Math.max(t.minY, clipMinY);
+        int maxY = Math.min(t.maxY, clipMaxY);
+        if (minX > maxX || minY > maxY) return;
+
+        Shading shading = new Shading(t, baseColor, gouraud);
+        int blockSize = EdgeRasterizer.BLOCK_SIZE;
+        int firstBlockX = minX & -blockSize;
+        int firstBlockY = minY & -blockSize;
+
+        for (int blockY = firstBlockY; blockY <= maxY; blockY += blockSize) {
+            int y0 = Math.max(blockY, minY);
+            int y1 = Math.min(blockY + blockSize - 1, maxY);
+
+            for (int blockX = firstBlockX; blockX <= maxX; blockX += blockSize) {
+                int x0 = Math.max(blockX, minX);
+                int x1 = Math.min(blockX + blockSize - 1, maxX);
+
+                int coverage = EdgeRasterizer.classifyBlock(t, x0, y0, x1, y1);
+                if (coverage == EdgeRasterizer.OUTSIDE) continue;
+
+                if (hiZ == null) {
+                    rasterizeBlock(t, x0, y0, x1, y1, coverage == EdgeRasterizer.INSIDE, depth, width, pixels, shading);
+                    continue;
+                }
+
+                int cellX = blockX / blockSize, cellY = blockY / blockSize;
+                if (EdgeRasterizer.nearestDepth(t, x0, y0, x1, y1) >= hiZ.getCellMax(cellX, cellY)) continue;
+
+                if (rasterizeBlock(t, x0, y0, x1, y1, coverage == EdgeRasterizer.INSIDE, depth, width, pixels, shading)) {
+                    hiZ.updateCell(cellX, cellY, depth, width, height);
+                }
+            }
+        }
+    }
+
+    /**
+     * Строки блока: по вектору на строку. Значения рёбер в начале строки считаются в double, как в скалярном
+     * пути, смещения по пикселям — в float
+     */
+    private static boolean rasterizeBlock(RasterTriangle t, int x0, int y0, int x1, int y1, boolean inside,
+                                          float[] depth, int width, int[] pixels, Shading shading) {
+        boolean written = false;
+        VectorMask<Float> span = SPECIES.indexInRange(0, x1 - x0 + 1);
+        FloatVector step1 = LANES.mul((float) t.a1);
+        FloatVector step2 = LANES.mul((float) t.a2);
+        FloatVector step3 = LANES.mul((float) t.a3);
+        FloatVector stepZ = LANES.mul((float) t.zA);
+        // Для рёбер не top-left точка на ребре не закрашивается: строгое сравнение
+        VectorOperators.Comparison test1 = t.bias1 == 0 ? VectorOperators.GE : VectorOperators.GT;
+        VectorOperators.Comparison test2 = t.bias2 == 0 ? VectorOperators.GE : VectorOperators.GT;
+        VectorOperators.Comparison test3 = t.bias3 == 0 ? VectorOperators.GE : VectorOperators.GT;
+        double px = x0 + 0.5;
+
+        for (int y = y0; y <= y1; y++) {
+            double py = y + 0.5;
+            FloatVector e1 = step1.add((float) (t.a1 * px + t.b1 * py + t.c1));
+            FloatVector e2 = step2.add((float) (t.a2 * px + t.b2 * py + t.c2));
+            FloatVector e3 = step3.add((float) (t.a3 * px + t.b3 * py + t.c3));
+
+            VectorMask<Float> mask = span;
+            if (!inside) {
+                mask = mask.and(e1.compare(test1, 0)).and(e2.compare(test2, 0)).and(e3.compare(test3, 0));
+                if (!mask.anyTrue()) continue;
+            }
+
+            int index = y * width + x0;
+            FloatVector z = stepZ.add((float) (t.zA * px + t.zB * py + t.zC));
+            FloatVector stored = FloatVector.fromArray(SPECIES, depth, index, mask);
+            mask = mask.and(z.compare(VectorOperators.LT, stored));
+            if (!mask.anyTrue()) continue;
+
+            z.intoArray(depth, index, mask);
+            shading.shade(e1, e2, e3).intoArray(pixels, index, mask.cast(INT_SPECIES));
+            written = true;
+        }
+        return written;
+    }
+
+    /**
+     * Цвет пикселей: константа для плоского затенения, иначе базовый цвет, умноженный
+     * на интерполированную освещённость вершин
+     */
+    private static final class Shading {
+        private final boolean gouraud;
+        private final IntVector flat;
+        private final float red, green, blue, alphaScale;
+        private final int alphaBits;
+        private final float invW1, invW2, invW3;
+        private final float light1, light2, light3;
+
+        Shading(RasterTriangle t, Color baseColor, boolean gouraud) {
+            this.gouraud = gouraud;
+            this.flat = IntVector.broadcast(INT_SPECIES, FrameBuffer.toArgb(baseColor));
+            this.red = (float) baseColor.getRed();
+            this.green = (float) baseColor.getGreen();
+            this.blue = (float) baseColor.getBlue();
+            // Как FrameBuffer.toArgb: каналы предумножены на альфу
+            this.alphaScale = (float) (baseColor.getOpacity() * 255);
+            this.alphaBits = (int) Math.round(baseColor.getOpacity() * 255) << 24;
+            this.invW1 = (float) t.invW1;
+            this.invW2 = (float) t.invW2;
+            this.invW3 = (float) t.invW3;
+            this.light1 = (float) t.light1;
+            this.light2 = (float) t.light2;
+            this.light3 = (float) t.light3;
+        }
+
+        IntVector shade(FloatVector e1, FloatVector e2, FloatVector e3) {
+            if (!gouraud) return flat;
+
+            // Общий множитель 1/area сокращается в отношении, поэтому веса берутся прямо из рёбер
+            FloatVector q1 = e1.mul(invW1), q2 = e2.mul(invW2), q3 = e3.mul(invW3);
+            FloatVector intensity = q1.mul(light1).add(q2.mul(light2)).add(q3.mul(light3))
+                    .div(q1.add(q2).add(q3));
+
+            IntVector r = channel(intensity, red);
+            IntVector g = channel(intensity, green);
+            IntVector b = channel(intensity, blue);
+            return r.lanewise(VectorOperators.LSHL, 16)
+                    .or(g.lanewise(VectorOperators.LSHL, 8))
+                    .or(b)
+                    .or(alphaBits);
+        }
+
+        /**
+         * round(min(1, channel * intensity) * alpha * 255), значения неотрицательны, поэтому округление — +0.5 и отбрасывание
+         */
+        private IntVector channel(FloatVector intensity, float value) {
+            return (IntVector) intensity.mul(value).min(1f).mul(alphaScale).add(0.5f)
+                    .convert(VectorOperators.F2I, 0);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package scene_master.renderer;
+
+/**
+ * Проверка, можно ли включать SIMD-путь VectorRasterizer. Нужен модуль jdk.incubator.vector
+ * (запуск с --add-modules jdk.incubator.vector) и аппаратные векторы не уже 256 бит (AVX2),
+ * иначе Vector API эмулируется и работает медленнее скалярного кода.
+ * Сам класс не ссылается на Vector API, поэтому загружается и без модуля.
+ */
+public final class VectorSupport {
+    private static final boolean AVAILABLE = detect();
+
+    private VectorSupport() {
+    }
+
+    public static boolean isAvailable() {
+        return AVAILABLE;
+    }
+
+    private static boolean detect() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return false;
+        }
+        try {
+            return VectorRasterizer.isHardwareSupported();
+        } catch (LinkageError e) {
+            return false;
+        }
+    }
+}
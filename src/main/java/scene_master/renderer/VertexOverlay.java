@@ -0,0 +1,258 @@
+package scene_master.renderer;
+
+import scene_master.model.Polygon;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Наложение вершин и центров полигонов прямо в буфер кадра. Экранные позиции берутся из TransformedMesh
+ * этого кадра, поэтому вершины не преобразуются второй раз. Значок вершины — заранее построенный спрайт
+ * (круг с чёрной обводкой), подписи — растровый шрифт 3x5 с масштабом 2. Подписи за экраном не рисуются,
+ * а на плотных участках остаётся только первая подпись в каждой ячейке сетки занятости.
+ * Экземпляр хранит рабочие массивы и не потокобезопасен.
+ */
+public class VertexOverlay {
+    /** Размер ячейки сетки занятости для подписей в пикселях */
+    public static final int LABEL_CELL = 8;
+
+    private static final int GLYPH_SCALE = 2;
+    private static final int GLYPH_WIDTH = 3 * GLYPH_SCALE;
+    private static final int GLYPH_HEIGHT = 5 * GLYPH_SCALE;
+    private static final int GLYPH_SPACING = GLYPH_SCALE;
+
+    // Глифы 3x5 по строкам сверху вниз, старший бит строки — левый столбец: цифры 0-9 и буква P
+    private static final int[][] GLYPHS = {
+            {7, 5, 5, 5, 7}, {2, 6, 2, 2, 7}, {7, 1, 7, 4, 7}, {7, 1, 7, 1, 7}, {5, 5, 7, 1, 1},
+            {7, 4, 7, 1, 7}, {7, 4, 7, 5, 7}, {7, 1, 1, 2, 2}, {7, 5, 7, 5, 7}, {7, 5, 7, 1, 7},
+            {6, 5, 6, 4, 4}
+    };
+    private static final int GLYPH_P = 10;
+
+    private static final int OUTLINE = 0xFF000000;
+    private static final int LABEL_COLOR = 0xFFFFFFFF;
+    private static final int CENTER_COLOR = 0xFF32CD32;
+    private static final int CENTER_SIZE = 8;
+
+    private int[] pixels;
+    private int width;
+    private int height;
+
+    private double spriteSize = -1;
+    private int[] fillOffsets = new int[0];
+    private int[] outlineOffsets = new int[0];
+
+    private boolean[] labelCells = new boolean[0];
+    private int cellColumns;
+    private int cellRows;
+    private final int[] digits = new int[12];
+    // Экранные центры полигонов между проходами значков и подписей, MIN_VALUE — не рисуется
+    private int[] centers = new int[0];
+
+    /**
+     * Начало кадра: буфер для рисования и пустая сетка подписей
+     */
+    public void begin(int[] pixels, int width, int height) {
+        this.pixels = pixels;
+        this.width = width;
+        this.height = height;
+        cellColumns = (width + LABEL_CELL - 1) / LABEL_CELL;
+        cellRows = (height + LABEL_CELL - 1) / LABEL_CELL;
+        if (labelCells.length < cellColumns * cellRows) {
+            labelCells = new boolean[cellColumns * cellRows];
+        } else {
+            Arrays.fill(labelCells, 0, cellColumns * cellRows, false);
+        }
+    }
+
+    /**
+     * Значки первых vertexCount вершин mesh. selectedVertex рисуется цветом selectedArgb;
+     * labels — подписи с номерами вершин
+     */
+    public void drawVertices(TransformedMesh mesh, int vertexCount, double size, int argb,
+                             int selectedVertex, int selectedArgb, boolean labels) {
+        prepareSprite(size);
+        float[] screen = mesh.screen;
+        int radius = (int) Math.ceil(size / 2) + 1;
+
+        for (int i = 0; i < vertexCount; i++) {
+            if (!isInFront(mesh, i)) continue;
+            int x = (int) Math.floor(screen[i * 3]);
+            int y = (int) Math.floor(screen[i * 3 + 1]);
+            if (x < -radius || y < -radius || x >= width + radius || y >= height + radius) continue;
+            stamp(x, y, i == selectedVertex ? selectedArgb : argb);
+        }
+        if (!labels) return;
+
+        // Подписи вторым проходом, чтобы значки соседних вершин их не закрывали
+        for (int i = 0; i < vertexCount; i++) {
+            if (!isInFront(mesh, i)) continue;
+            int x = (int) Math.floor(screen[i * 3]);
+            int y = (int) Math.floor(screen[i * 3 + 1]);
+            drawLabel(x - 4, y - GLYPH_HEIGHT / 2 - 1, false, i);
+        }
+    }
+
+    /**
+     * Квадраты в центрах полигонов с подписями «P<номер>». Центр усредняется в пространстве отсечения
+     * (оно линейно по координатам модели), поэтому совпадает с проекцией центра полигона
+     */
+    public void drawPolygonCenters(TransformedMesh mesh, List<Polygon> polygons) {
+        float[] clip = mesh.clip, clipW = mesh.clipW;
+        int vertexCount = mesh.getVertexCount();
+
+        int count = polygons.size();
+        if (centers.length < count * 2) {
+            centers = new int[count * 2];
+        }
+
+        for (int i = 0; i < count; i++) {
+            centers[i * 2] = Integer.MIN_VALUE;
+            List<Integer> indices = polygons.get(i).getVertexIndices();
+            int size = indices.size();
+            if (size == 0) continue;
+
+            double cx = 0, cy = 0, cz = 0, cw = 0;
+            boolean valid = true;
+            for (int k = 0; k < size; k++) {
+                int v = indices.get(k);
+                if (v < 0 || v >= vertexCount) {
+                    valid = false;
+                    break;
+                }
+                cx += clip[v * 3];
+                cy += clip[v * 3 + 1];
+                cz += clip[v * 3 + 2];
+                cw += clipW[v];
+            }
+            // Центр за ближней плоскостью z >= -w не проецируется
+            if (!valid || cz < -cw) continue;
+
+            double x = (cx / cw + 1) * 0.5 * width;
+            double y = (1 - cy / cw) * 0.5 * height;
+            if (x < -CENTER_SIZE || y < -CENTER_SIZE || x >= width + CENTER_SIZE || y >= height + CENTER_SIZE) {
+                continue;
+            }
+
+            int px = (int) Math.floor(x), py = (int) Math.floor(y);
+            fillRect(px - CENTER_SIZE / 2, py - CENTER_SIZE / 2, CENTER_SIZE, CENTER_SIZE, CENTER_COLOR);
+            centers[i * 2] = px;
+            centers[i * 2 + 1] = py;
+        }
+
+        for (int i = 0; i < count; i++) {
+            if (centers[i * 2] == Integer.MIN_VALUE) continue;
+            drawLabel(centers[i * 2] + 6, centers[i * 2 + 1] - GLYPH_HEIGHT / 2 - 1, true, i);
+        }
+    }
+
+    private static boolean isInFront(TransformedMesh mesh, int v) {
+        return mesh.clip[v * 3 + 2] >= -mesh.clipW[v];
+    }
+
+    /**
+     * Спрайт круга диаметром size: смещения пикселей заливки и обводки относительно центра
+     */
+    private void prepareSprite(double size) {
+        if (size == spriteSize) return;
+        spriteSize = size;
+
+        int diameter = Math.max(1, (int) Math.round(size));
+        double radius = diameter / 2.0;
+        int[] fill = new int[diameter * diameter * 2];
+        int[] outline = new int[diameter * diameter * 2];
+        int fillCount = 0, outlineCount = 0;
+        int half = diameter / 2;
+        for (int dy = 0; dy < diameter; dy++) {
+            for (int dx = 0; dx < diameter; dx++) {
+                double ox = dx + 0.5 - radius, oy = dy + 0.5 - radius;
+                double distance = Math.sqrt(ox * ox + oy * oy);
+                if (distance > radius) continue;
+                if (distance > radius - 1 && diameter > 2) {
+                    outline[outlineCount++] = dx - half;
+                    outline[outlineCount++] = dy - half;
+                } else {
+                    fill[fillCount++] = dx - half;
+                    fill[fillCount++] = dy - half;
+                }
+            }
+        }
+        fillOffsets = Arrays.copyOf(fill, fillCount);
+        outlineOffsets = Arrays.copyOf(outline, outlineCount);
+    }
+
+    private void stamp(int x, int y, int argb) {
+        stampOffsets(x, y, fillOffsets, argb);
+        stampOffsets(x, y, outlineOffsets, OUTLINE);
+    }
+
+    private void stampOffsets(int x, int y, int[] offsets, int argb) {
+        for (int k = 0; k < offsets.length; k += 2) {
+            int px = x + offsets[k], py = y + offsets[k + 1];
+            if (px >= 0 && px < width && py >= 0 && py < height) {
+                pixels[py * width + px] = argb;
+            }
+        }
+    }
+
+    private void fillRect(int x, int y, int w, int h, int argb) {
+        int x0 = Math.max(0, x), y0 = Math.max(0, y);
+        int x1 = Math.min(width, x + w), y1 = Math.min(height, y + h);
+        for (int py = y0; py < y1; py++) {
+            Arrays.fill(pixels, py * width + x0, py * width + Math.max(x0, x1), argb);
+        }
+    }
+
+    /**
+     * Подпись числом (с префиксом P для полигонов). Не рисуется, если целиком за экраном
+     * или если одна из занимаемых ею ячеек сетки уже занята
+     */
+    private void drawLabel(int x, int y, boolean polygonPrefix, int number) {
+        int digitCount = 0;
+        do {
+            digits[digitCount++] = number % 10;
+            number /= 10;
+        } while (number > 0);
+        int glyphCount = digitCount + (polygonPrefix ? 1 : 0);
+        int labelWidth = glyphCount * (GLYPH_WIDTH + GLYPH_SPACING) - GLYPH_SPACING;
+
+        if (x + labelWidth <= 0 || y + GLYPH_HEIGHT <= 0 || x >= width || y >= height) return;
+        if (!reserveCells(x, y, labelWidth, GLYPH_HEIGHT)) return;
+
+        if (polygonPrefix) {
+            drawGlyph(x, y, GLYPH_P);
+            x += GLYPH_WIDTH + GLYPH_SPACING;
+        }
+        for (int i = digitCount - 1; i >= 0; i--) {
+            drawGlyph(x, y, digits[i]);
+            x += GLYPH_WIDTH + GLYPH_SPACING;
+        }
+    }
+
+    private boolean reserveCells(int x, int y, int w, int h) {
+        int c0 = Math.max(0, x / LABEL_CELL), r0 = Math.max(0, y / LABEL_CELL);
+        int c1 = Math.min(cellColumns - 1, (x + w - 1) / LABEL_CELL);
+        int r1 = Math.min(cellRows - 1, (y + h - 1) / LABEL_CELL);
+        for (int r = r0; r <= r1; r++) {
+            for (int c = c0; c <= c1; c++) {
+                if (labelCells[r * cellColumns + c]) return false;
+            }
+        }
+        for (int r = r0; r <= r1; r++) {
+            for (int c = c0; c <= c1; c++) {
+                labelCells[r * cellColumns + c] = true;
+            }
+        }
+        return true;
+    }
+
+    private void drawGlyph(int x, int y, int glyph) {
+        int[] rows = GLYPHS[glyph];
+        for (int row = 0; row < rows.length; row++) {
+            for (int column = 0; column < 3; column++) {
+                if ((rows[row] & (4 >> column)) == 0) continue;
+                fillRect(x + column * GLYPH_SCALE, y + row * GLYPH_SCALE, GLYPH_SCALE, GLYPH_SCALE, LABEL_COLOR);
+            }
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package scene_master.renderer;
+
+import math.LinealAlgebra.Vector3D;
+import math.Matrix.Matrix4x4;
+import math.ModelTransform;
+import scene_master.model.Model3D;
+
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Вершинная стадия конвейера: один раз за кадр на модель строит матрицы M и MVP
+ * и прогоняет через них весь массив вершин. Треугольники потом только индексируют результат,
+ * поэтому общая для нескольких треугольников вершина преобразуется и проецируется один раз.
+ * Кэш ключуется Model3D.getRenderKey(): снимки одной модели из разных кадров делят один TransformedMesh.
+ */
+public class VertexProcessor {
+    private final Map<Model3D, TransformedMesh> meshes = new WeakHashMap<>();
+
+    /**
+     * Преобразование всех вершин модели в мировые и экранные координаты
+     */
+    public TransformedMesh process(Model3D model, Matrix4x4 viewProjection, int width, int height) {
+        Matrix4x4 modelMatrix = modelMatrix(model);
+        return process(model, modelMatrix, viewProjection.multiply(modelMatrix), width, height);
+    }
+
+    /**
+     * То же с уже посчитанными M и MVP (их использует и отсечение по пирамиде видимости)
+     */
+    public TransformedMesh process(Model3D model, Matrix4x4 modelMatrix, Matrix4x4 modelViewProjection,
+                                   int width, int height) {
+        TransformedMesh mesh = meshes.computeIfAbsent(model.getRenderKey(), m -> new TransformedMesh());
+
+        float[] m = toArray(modelMatrix);
+        float[] mvp = toArray(modelViewProjection);
+
+        List<Vector3D> vertices = model.getVertices();
+        int count = vertices.size();
+        mesh.ensureCapacity(count);
+        float[] world = mesh.world;
+        float[] clip = mesh.clip;
+        float[] screen = mesh.screen;
+        float[] clipW = mesh.clipW;
+
+        double halfWidth = 0.5 * width;
+        double halfHeight = 0.5 * height;
+
+        for (int i = 0; i < count; i++) {
+            Vector3D v = vertices.get(i);
+            double x = v.getX(), y = v.getY(), z = v.getZ();
+            int o = i * 3;
+
+            world[o] = (float) (m[0] * x + m[1] * y + m[2] * z + m[3]);
+            world[o + 1] = (float) (m[4] * x + m[5] * y + m[6] * z + m[7]);
+            world[o + 2] = (float) (m[8] * x + m[9] * y + m[10] * z + m[11]);
+
+            double cx = mvp[0] * x + mvp[1] * y + mvp[2] * z + mvp[3];
+            double cy = mvp[4] * x + mvp[5] * y + mvp[6] * z + mvp[7];
+            double cz = mvp[8] * x + mvp[9] * y + mvp[10] * z + mvp[11];
+            double cw = mvp[12] * x + mvp[13] * y + mvp[14] * z + mvp[15];
+            clip[o] = (float) cx;
+            clip[o + 1] = (float) cy;
+            clip[o + 2] = (float) cz;
+            clipW[i] = (float) cw;
+
+            if (Math.abs(cw) < 1e-6) {
+                screen[o] = 0;
+                screen[o + 1] = 0;
+                screen[o + 2] = 0;
+                continue;
+            }
+
+            double invW = 1.0 / cw;
+            screen[o] = (float) ((cx * invW + 1) * halfWidth);
+            screen[o + 1] = (float) ((1 - cy * invW) * halfHeight);
+            screen[o + 2] = (float) (cz * invW);
+        }
+
+        // Нормали копируем, чтобы вершины, созданные отсечением, могли их интерполировать
+        List<Vector3D> normals = model.getVertexNormals();
+        mesh.hasVertexNormals = normals != null && normals.size() == count;
+        if (mesh.hasVertexNormals) {
+            float[] normal = mesh.normal;
+            for (int i = 0; i < count; i++) {
+                Vector3D n = normals.get(i);
+                normal[i * 3] = n.getX();
+                normal[i * 3 + 1] = n.getY();
+                normal[i * 3 + 2] = n.getZ();
+            }
+        }
+
+        return mesh;
+    }
+
+    /**
+     * Результат последнего process() для модели или null
+     */
+    public TransformedMesh getMesh(Model3D model) {
+        return meshes.get(model.getRenderKey());
+    }
+
+    /**
+     * Модельная матрица T·Rz·Ry·Rx·S из свойств модели
+     */
+    public static Matrix4x4 modelMatrix(Model3D model) {
+        ModelTransform transform = new ModelTransform();
+        transform.setTranslation((float) model.translateXProperty().get(),
+                (float) model.translateYProperty().get(),
+                (float) model.translateZProperty().get());
+        transform.setRotationDeg((float) model.rotateXProperty().get(),
+                (float) model.rotateYProperty().get(),
+                (float) model.rotateZProperty().get());
+        transform.setScale((float) model.scaleXProperty().get(),
+                (float) model.scaleYProperty().get(),
+                (float) model.scaleZProperty().get());
+        return transform.getModelMatrix();
+    }
+
+    private static float[] toArray(Matrix4x4 matrix) {
+        float[] result = new float[16];
+        for (int row = 0; row < 4; row++) {
+            for (int col = 0; col < 4; col++) {
+                result[row * 4 + col] = matrix.get(row, col);
+            }
+        }
+        return result;
+    }
+}
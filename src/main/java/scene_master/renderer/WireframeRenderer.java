@@ -0,0 +1,186 @@
+package scene_master.renderer;
+
+import scene_master.model.Model3D;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Каркас по вершинам, уже преобразованным в этом кадре. Каждое уникальное ребро (EdgeList) рисуется один раз,
+ * отрезок сначала отсекается ближней плоскостью в пространстве отсечения, затем прямоугольником экрана
+ * (Лианг–Барски), и только после этого проходится Брезенхемом. С буфером глубины рисуются только видимые
+ * участки рёбер (скрытые линии). Экземпляр хранит рабочие значения и не потокобезопасен.
+ */
+public class WireframeRenderer {
+    /**
+     * Допуск теста глубины: ребро видно, пока оно дальше поверхности не больше чем на эту долю от (1 - z).
+     * Для перспективной проекции это около 1% расстояния до камеры, как polygon offset у аппаратных API
+     */
+    public static final float DEPTH_TOLERANCE = 0.01f;
+
+    private final Map<Model3D, EdgeList> edgeLists = new WeakHashMap<>();
+
+    // Текущий отрезок: экранные x, y и глубина концов, и параметры отсечения
+    private double x0, y0, z0, x1, y1, z1;
+    private double tEnter, tExit;
+    // Результат clipNear
+    private double clippedX, clippedY, clippedZ;
+
+    /**
+     * Рёбра модели, кэшируются до изменения геометрии. Ключ — Model3D.getRenderKey(),
+     * поэтому снимки одной модели из разных кадров делят один список
+     */
+    public EdgeList getEdges(Model3D model) {
+        Model3D key = model.getRenderKey();
+        EdgeList edges = edgeLists.get(key);
+        if (edges == null || edges.getGeometryVersion() != model.getGeometryVersion()) {
+            edges = EdgeList.build(model.getPolygons(), model.getGeometryVersion());
+            edgeLists.put(key, edges);
+        }
+        return edges;
+    }
+
+    /**
+     * Рисует рёбра в pixels (по строкам, ширина width). depth == null — без теста глубины
+     */
+    public void render(TransformedMesh mesh, EdgeList edges, int[] pixels, float[] depth,
+                       int width, int height, int argb) {
+        float[] screen = mesh.screen, clip = mesh.clip, clipW = mesh.clipW;
+        double maxX = width - 1, maxY = height - 1;
+
+        for (int edge = 0, count = edges.getEdgeCount(); edge < count; edge++) {
+            int a = edges.getFrom(edge), b = edges.getTo(edge);
+            // Расстояние до ближней плоскости z >= -w, как в TriangleClipper
+            double nearA = clip[a * 3 + 2] + clipW[a];
+            double nearB = clip[b * 3 + 2] + clipW[b];
+            if (nearA < 0 && nearB < 0) continue;
+
+            x0 = screen[a * 3];
+            y0 = screen[a * 3 + 1];
+            z0 = screen[a * 3 + 2];
+            x1 = screen[b * 3];
+            y1 = screen[b * 3 + 1];
+            z1 = screen[b * 3 + 2];
+            if (nearA < 0) {
+                clipNear(mesh, b, a, nearB / (nearB - nearA), width, height);
+                x0 = clippedX;
+                y0 = clippedY;
+                z0 = clippedZ;
+            } else if (nearB < 0) {
+                clipNear(mesh, a, b, nearA / (nearA - nearB), width, height);
+                x1 = clippedX;
+                y1 = clippedY;
+                z1 = clippedZ;
+            }
+
+            if (!clipToViewport(maxX, maxY)) continue;
+            drawLine(pixels, depth, width, argb);
+        }
+    }
+
+    /**
+     * Точка ребра inside → outside на ближней плоскости, спроецированная на экран
+     */
+    private void clipNear(TransformedMesh mesh, int inside, int outside, double t, int width, int height) {
+        float[] clip = mesh.clip;
+        double x = lerp(clip[inside * 3], clip[outside * 3], t);
+        double y = lerp(clip[inside * 3 + 1], clip[outside * 3 + 1], t);
+        double z = lerp(clip[inside * 3 + 2], clip[outside * 3 + 2], t);
+        double w = lerp(mesh.clipW[inside], mesh.clipW[outside], t);
+        // На ближней плоскости w >= near > 0, деление безопасно
+        double invW = 1.0 / w;
+        clippedX = (x * invW + 1) * 0.5 * width;
+        clippedY = (1 - y * invW) * 0.5 * height;
+        clippedZ = z * invW;
+    }
+
+    private static double lerp(double a, double b, double t) {
+        return a + (b - a) * t;
+    }
+
+    /**
+     * Лианг–Барски по прямоугольнику [0, maxX] x [0, maxY]; false, если от отрезка ничего не осталось.
+     * Глубина линейна по экрану, поэтому обрезается тем же параметром
+     */
+    private boolean clipToViewport(double maxX, double maxY) {
+        double dx = x1 - x0, dy = y1 - y0;
+        tEnter = 0;
+        tExit = 1;
+        if (!clipBoundary(-dx, x0) || !clipBoundary(dx, maxX - x0)
+                || !clipBoundary(-dy, y0) || !clipBoundary(dy, maxY - y0)) {
+            return false;
+        }
+
+        double dz = z1 - z0;
+        if (tExit < 1) {
+            x1 = x0 + dx * tExit;
+            y1 = y0 + dy * tExit;
+            z1 = z0 + dz * tExit;
+        }
+        if (tEnter > 0) {
+            x0 += dx * tEnter;
+            y0 += dy * tEnter;
+            z0 += dz * tEnter;
+        }
+        return true;
+    }
+
+    /**
+     * Одна граница: точки отрезка с p * t <= q остаются внутри
+     */
+    private boolean clipBoundary(double p, double q) {
+        if (p == 0) return q >= 0;
+        double t = q / p;
+        if (p < 0) {
+            if (t > tExit) return false;
+            if (t > tEnter) tEnter = t;
+        } else {
+            if (t < tEnter) return false;
+            if (t < tExit) tExit = t;
+        }
+        return true;
+    }
+
+    /**
+     * Брезенхем по уже отсечённому отрезку: концы внутри экрана, проверки границ в цикле не нужны
+     */
+    private void drawLine(int[] pixels, float[] depth, int width, int argb) {
+        int x = (int) Math.round(x0);
+        int y = (int) Math.round(y0);
+        int endX = (int) Math.round(x1);
+        int endY = (int) Math.round(y1);
+
+        int dx = Math.abs(endX - x);
+        int dy = Math.abs(endY - y);
+        int sx = x < endX ? 1 : -1;
+        int sy = y < endY ? 1 : -1;
+        int err = dx - dy;
+
+        // Каждый шаг сдвигает на пиксель по большей оси, глубина меняется на равные доли
+        int steps = Math.max(dx, dy);
+        double z = z0;
+        double stepZ = steps > 0 ? (z1 - z0) / steps : 0;
+
+        while (true) {
+            int index = y * width + x;
+            if (depth == null || isVisible(z, depth[index])) {
+                pixels[index] = argb;
+            }
+            if (x == endX && y == endY) break;
+            int e2 = 2 * err;
+            if (e2 > -dy) {
+                err -= dy;
+                x += sx;
+            }
+            if (e2 < dx) {
+                err += dx;
+                y += sy;
+            }
+            z += stepZ;
+        }
+    }
+
+    private static boolean isVisible(double z, float stored) {
+        return stored == DepthBuffer.FAR || z - stored <= (1 - stored) * DEPTH_TOLERANCE;
+    }
+}
@@ -0,0 +1,194 @@
+package renderTests;
+
+import javafx.scene.image.WritableImage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import scene_master.model.Model3D;
+import scene_master.model.Texture;
+import scene_master.renderer.AsyncTextureLoader;
+import scene_master.renderer.TextureManager;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AsyncTextureLoaderTest {
+    private final TextureManager manager = TextureManager.getInstance();
+    // Обновления модели выполняются прямо в потоке загрузки, вместо Platform::runLater
+    private final AsyncTextureLoader loader = new AsyncTextureLoader(manager, Runnable::run);
+
+    @AfterEach
+    public void shutdown() {
+        loader.shutdown();
+    }
+
+    /**
+     * PNG 8x4: красный канал — столбец, зелёный — строка, левый верхний тексель полупрозрачный
+     */
+    private File writePng(Path dir, String name) throws Exception {
+        BufferedImage image = new BufferedImage(8, 4, BufferedImage.TYPE_INT_ARGB);
+        for (int y = 0; y < 4; y++) {
+            for (int x = 0; x < 8; x++) {
+                image.setRGB(x, y, 0xFF000000 | (x * 30) << 16 | (y * 60) << 8 | 0x40);
+            }
+        }
+        image.setRGB(0, 0, 0x80FF0000);
+        File file = dir.resolve(name).toFile();
+        ImageIO.write(image, "png", file);
+        return file;
+    }
+
+    @Test
+    public void testPlaceholderThenDecodedTextureWithOneRerender(@TempDir Path dir) throws Exception {
+        File file = writePng(dir, "texture.png");
+        Model3D model = new Model3D("model");
+        AtomicInteger renders = new AtomicInteger();
+        // Обновления модели копятся, как задачи FX-потока, и выполняются вручную
+        BlockingQueue<Runnable> callbacks = new LinkedBlockingQueue<>();
+        AsyncTextureLoader queued = new AsyncTextureLoader(manager, callbacks::add);
+        try {
+            CompletableFuture<Texture> future = queued.load(model, file, renders::incrementAndGet);
+            assertSame(manager.getDefaultTexture(), model.getTexture());
+            assertSame(manager.getDefaultTexture(), model.getTextureHandle().getSource());
+
+            Runnable update = callbacks.poll(10, TimeUnit.SECONDS);
+            assertNotNull(update, "загрузка не завершилась");
+            // Текстура уже раскодирована, но модель ещё показывает заглушку
+            assertSame(manager.getDefaultTexture(), model.getTexture());
+            assertFalse(future.isDone());
+            assertEquals(0, renders.get());
+
+            update.run();
+            Texture texture = future.get(10, TimeUnit.SECONDS);
+            assertEquals(1, renders.get());
+            assertTrue(callbacks.isEmpty());
+            assertSame(texture, model.getTextureHandle());
+            assertSame(texture.getSource(), model.getTexture());
+            assertEquals(8, texture.getWidth());
+            assertEquals(4, texture.getHeight());
+            assertEquals(0x80FF0000, texture.getTexel(0, 0));
+            assertEquals(0xFF000000 | (7 * 30) << 16 | (3 * 60) << 8 | 0x40, texture.getTexel(7, 3));
+            // v = 1 — верхняя строка изображения
+            assertEquals(0xFF000000 | (7 * 30) << 16 | 0x40, texture.sample(1, 1, Texture.WrapMode.CLAMP));
+        } finally {
+            queued.shutdown();
+        }
+
+        // Повторная загрузка того же файла берёт текстуру из кэша
+        assertSame(model.getTextureHandle(), loader.decode(file).get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testFailedDecodeRestoresPreviousTexture(@TempDir Path dir) throws Exception {
+        File broken = dir.resolve("broken.png").toFile();
+        Files.writeString(broken.toPath(), "не изображение");
+        Model3D model = new Model3D("model");
+        AtomicInteger renders = new AtomicInteger();
+
+        CompletableFuture<Texture> future = loader.load(model, broken, renders::incrementAndGet);
+        ExecutionException error = assertThrows(ExecutionException.class, () -> future.get(10, TimeUnit.SECONDS));
+        assertTrue(error.getCause().getMessage().contains("broken.png"), error.getCause().toString());
+        assertNull(model.getTexture());
+        assertNull(model.getTextureHandle());
+        assertEquals(1, renders.get());
+    }
+
+    @Test
+    public void testOnlyLatestLoadIsApplied(@TempDir Path dir) throws Exception {
+        File first = writePng(dir, "first.png");
+        File second = writePng(dir, "second.png");
+        Model3D model = new Model3D("model");
+        AtomicInteger renders = new AtomicInteger();
+        BlockingQueue<Runnable> callbacks = new LinkedBlockingQueue<>();
+        AsyncTextureLoader queued = new AsyncTextureLoader(manager, callbacks::add);
+        try {
+            CompletableFuture<Texture> earlier = queued.load(model, first, renders::incrementAndGet);
+            CompletableFuture<Texture> later = queued.load(model, second, renders::incrementAndGet);
+            // Прежняя загрузка отменена сразу, не дожидаясь раскодирования
+            assertTrue(earlier.isCancelled());
+            // Обе загрузки завершились; порядок обработки не важен
+            for (int i = 0; i < 2; i++) {
+                Runnable update = callbacks.poll(10, TimeUnit.SECONDS);
+                assertNotNull(update, "загрузка не завершилась");
+                update.run();
+            }
+
+            assertSame(later.get(10, TimeUnit.SECONDS), model.getTextureHandle());
+            assertThrows(CancellationException.class, () -> earlier.get(10, TimeUnit.SECONDS));
+            assertEquals(1, renders.get());
+        } finally {
+            queued.shutdown();
+        }
+    }
+
+    @Test
+    public void testSupersededFailedLoadIsCancelledNotFailed(@TempDir Path dir) throws Exception {
+        File broken = dir.resolve("broken.png").toFile();
+        Files.writeString(broken.toPath(), "не изображение");
+        File file = writePng(dir, "texture.png");
+        Model3D model = new Model3D("model");
+        AtomicInteger renders = new AtomicInteger();
+        BlockingQueue<Runnable> callbacks = new LinkedBlockingQueue<>();
+        AsyncTextureLoader queued = new AsyncTextureLoader(manager, callbacks::add);
+        try {
+            CompletableFuture<Texture> earlier = queued.load(model, broken, renders::incrementAndGet);
+            CompletableFuture<Texture> later = queued.load(model, file, renders::incrementAndGet);
+            for (int i = 0; i < 2; i++) {
+                Runnable update = callbacks.poll(10, TimeUnit.SECONDS);
+                assertNotNull(update, "загрузка не завершилась");
+                update.run();
+            }
+
+            // Ошибка перебитой загрузки не сообщается и не возвращает модели прежнюю текстуру
+            assertThrows(CancellationException.class, () -> earlier.get(10, TimeUnit.SECONDS));
+            assertSame(later.get(10, TimeUnit.SECONDS), model.getTextureHandle());
+            assertEquals(1, renders.get());
+        } finally {
+            queued.shutdown();
+        }
+    }
+
+    @Test
+    public void testFailureAfterSupersedeRestoresOriginalTexture(@TempDir Path dir) throws Exception {
+        File file = writePng(dir, "texture.png");
+        File broken = dir.resolve("broken.png").toFile();
+        Files.writeString(broken.toPath(), "не изображение");
+        Model3D model = new Model3D("model");
+        WritableImage original = new WritableImage(4, 4);
+        Texture originalHandle = manager.register(original);
+        model.setTexture(original);
+        model.setTextureHandle(originalHandle);
+        BlockingQueue<Runnable> callbacks = new LinkedBlockingQueue<>();
+        AsyncTextureLoader queued = new AsyncTextureLoader(manager, callbacks::add);
+        try {
+            CompletableFuture<Texture> earlier = queued.load(model, file, () -> { });
+            // Вторая загрузка начинается, когда у модели уже шахматка первой
+            CompletableFuture<Texture> later = queued.load(model, broken, () -> { });
+            for (int i = 0; i < 2; i++) {
+                Runnable update = callbacks.poll(10, TimeUnit.SECONDS);
+                assertNotNull(update, "загрузка не завершилась");
+                update.run();
+            }
+
+            assertTrue(earlier.isCancelled());
+            assertThrows(ExecutionException.class, () -> later.get(10, TimeUnit.SECONDS));
+            assertSame(original, model.getTexture());
+            assertSame(originalHandle, model.getTextureHandle());
+            assertEquals(1, originalHandle.getReferenceCount());
+        } finally {
+            queued.shutdown();
+        }
+    }
+}
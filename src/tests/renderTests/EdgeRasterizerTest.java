@@ -0,0 +1,88 @@
+package renderTests;
+
+import org.junit.jupiter.api.Test;
+import scene_master.renderer.DepthBuffer;
+import scene_master.renderer.EdgeRasterizer;
+import scene_master.renderer.RasterTriangle;
+import scene_master.renderer.TransformedMesh;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EdgeRasterizerTest {
+
+    @Test
+    public void testSharedEdgeCoveredExactlyOnce() {
+        int width = 64, height = 48;
+        // Квадрат из двух треугольников с общей диагональю, вершины на границах пикселей
+        RasterTriangle first = RasterFixtures.triangle(4, 4, 60, 4, 4, 44, 0.5f, width, height);
+        RasterTriangle second = RasterFixtures.triangle(60, 4, 60, 44, 4, 44, 0.5f, width, height);
+
+        int[] coverage = new int[width * height];
+        EdgeRasterizer.FragmentShader counter = (t, index, x, y, w1, w2, w3) -> coverage[index]++;
+        // Бесконечная глубина у каждого растеризатора, чтобы тест глубины не прятал двойное покрытие
+        EdgeRasterizer.rasterize(first, 0, 0, width - 1, height - 1, new DepthBuffer(width, height).getData(), width, counter);
+        EdgeRasterizer.rasterize(second, 0, 0, width - 1, height - 1, new DepthBuffer(width, height).getData(), width, counter);
+
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                boolean inside = x >= 4 && x < 60 && y >= 4 && y < 44;
+                assertEquals(inside ? 1 : 0, coverage[y * width + x], "pixel " + x + "," + y);
+            }
+        }
+    }
+
+    @Test
+    public void testSliverAndLastColumnTrianglesAreRasterized() {
+        int width = 64, height = 48;
+        List<RasterTriangle> triangles = new ArrayList<>();
+        // Полоса от x = 10.2 до 10.9 уже пикселя, но накрывает центры столбца 10
+        triangles.add(RasterFixtures.triangle(10.2, 4, 10.9, 4, 10.2, 20, 0.5f, width, height));
+        triangles.add(RasterFixtures.triangle(10.9, 4, 10.9, 20, 10.2, 20, 0.5f, width, height));
+        // Треугольники только в последнем столбце и в последней строке
+        triangles.add(RasterFixtures.triangle(63.1, 30, 63.9, 30, 63.1, 40, 0.5f, width, height));
+        triangles.add(RasterFixtures.triangle(30, 47.1, 40, 47.1, 30, 47.9, 0.5f, width, height));
+
+        int[] coverage = new int[width * height];
+        EdgeRasterizer.FragmentShader counter = (t, index, x, y, w1, w2, w3) -> coverage[index]++;
+        for (RasterTriangle triangle : triangles) {
+            // Тот же отсев, что в SoftwareRenderer; VectorRasterizer получает треугольник после него же
+            assertFalse(triangle.isEmpty());
+            EdgeRasterizer.rasterize(triangle, 0, 0, width - 1, height - 1,
+                    new DepthBuffer(width, height).getData(), width, counter);
+        }
+
+        for (int y = 4; y < 20; y++) {
+            assertEquals(1, coverage[y * width + 10], "pixel 10," + y);
+        }
+        assertEquals(1, coverage[31 * width + 63]);
+        assertEquals(1, coverage[47 * width + 31]);
+        // Столбец полосы и по пять центров у треугольников в последнем столбце и строке, без лишних пикселей
+        assertEquals(16 + 5 + 5, Arrays.stream(coverage).sum());
+    }
+
+    @Test
+    public void testBarycentricsAndDepthInterpolation() {
+        int width = 32, height = 32;
+        TransformedMesh mesh = new TransformedMesh(3);
+        mesh.setScreen(0, 0, 0, 0.2f);
+        mesh.setScreen(1, 32, 0, 0.4f);
+        mesh.setScreen(2, 0, 32, 0.6f);
+        double[] uv = {0, 0};
+        RasterTriangle triangle = new RasterTriangle(mesh, 0, 1, 2, uv, uv, uv, null, null, false, width, height);
+
+        DepthBuffer depth = new DepthBuffer(width, height);
+        EdgeRasterizer.rasterize(triangle, 0, 0, width - 1, height - 1, depth.getData(), width,
+                (t, index, x, y, w1, w2, w3) -> {
+                    assertEquals(1.0, w1 + w2 + w3, 1e-9);
+                    assertEquals((x + 0.5) / 32, w2, 1e-9);
+                    assertEquals((y + 0.5) / 32, w3, 1e-9);
+                });
+
+        assertEquals(0.2 + 0.2 * 5.5 / 32 + 0.4 * 9.5 / 32, depth.get(5, 9), 1e-6);
+        assertEquals(DepthBuffer.FAR, depth.get(31, 31));
+    }
+}
@@ -0,0 +1,112 @@
+package renderTests;
+
+import javafx.scene.paint.Color;
+import math.Camera;
+import math.LinealAlgebra.Vector3D;
+import scene_master.model.Model3D;
+import scene_master.renderer.DepthBuffer;
+import scene_master.renderer.EdgeRasterizer;
+import scene_master.renderer.FixedPointRasterizer;
+import scene_master.renderer.FrameBuffer;
+import scene_master.renderer.RasterTriangle;
+import scene_master.renderer.SoftwareRenderer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Сравнение EdgeRasterizer и FixedPointRasterizer: сами растеризаторы на сетках треугольников разного
+ * размера (затенение — одна запись в массив) и полный кадр SoftwareRenderer со сферами.
+ * Замеры чередуются, в зачёт идёт лучший из ROUNDS, чтобы помехи машины не решали исход
+ */
+public class FixedPointRasterizerBenchmark {
+    private static final int WIDTH = 1280, HEIGHT = 720;
+    private static final int WARMUP = 30, FRAMES = 20, ROUNDS = 5;
+
+    private static final int[] colors = new int[WIDTH * HEIGHT];
+    private static final EdgeRasterizer.FragmentShader SHADER =
+            (t, index, x, y, w1, w2, w3) -> colors[index] = (int) (w1 * 255) << 16 | (int) (w2 * 255) << 8;
+
+    public static void main(String[] args) {
+        for (int cell : new int[]{6, 24, 96}) {
+            List<RasterTriangle> triangles = createGrid(cell);
+            DepthBuffer depth = new DepthBuffer(WIDTH, HEIGHT);
+            compare("сетка " + cell + " пикс., " + triangles.size() + " треугольников",
+                    () -> rasterize(triangles, depth, false), () -> rasterize(triangles, depth, true));
+        }
+
+        List<Model3D> scene = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            scene.add(VectorRasterizerTest.createSphere("sphere" + i, i * 0.9 - 1.8, -i * 0.6,
+                    Color.hsb(i * 60, 0.6, 0.9), 16));
+        }
+        SoftwareRenderer edgeRenderer = createRenderer(false), fixedRenderer = createRenderer(true);
+        FrameBuffer frame = new FrameBuffer(WIDTH, HEIGHT);
+        compare("кадр со сферами", () -> edgeRenderer.renderToBuffer(scene, frame),
+                () -> fixedRenderer.renderToBuffer(scene, frame));
+    }
+
+    private static void compare(String name, Runnable edgeFrame, Runnable fixedFrame) {
+        double edge = Double.MAX_VALUE, fixed = Double.MAX_VALUE;
+        measure(edgeFrame, WARMUP);
+        measure(fixedFrame, WARMUP);
+        for (int round = 0; round < ROUNDS; round++) {
+            edge = Math.min(edge, measure(edgeFrame, FRAMES));
+            fixed = Math.min(fixed, measure(fixedFrame, FRAMES));
+        }
+        System.out.printf("%s: EdgeRasterizer %.2f мс, FixedPointRasterizer %.2f мс (x%.2f)%n",
+                name, edge, fixed, edge / fixed);
+    }
+
+    /**
+     * Среднее время кадра в мс
+     */
+    private static double measure(Runnable frame, int frames) {
+        long start = System.nanoTime();
+        for (int i = 0; i < frames; i++) {
+            frame.run();
+        }
+        return (System.nanoTime() - start) / 1e6 / frames;
+    }
+
+    /**
+     * Два слоя сеток на весь экран с ячейкой cell пикселей, вершины сдвинуты на доли пикселя;
+     * ближний слой рисуется вторым, поэтому тест глубины проходят оба
+     */
+    private static List<RasterTriangle> createGrid(int cell) {
+        Random random = new Random(cell);
+        List<RasterTriangle> triangles = new ArrayList<>();
+        for (float z : new float[]{0.8f, 0.4f}) {
+            for (int y = 0; y < HEIGHT; y += cell) {
+                for (int x = 0; x < WIDTH; x += cell) {
+                    double jx = random.nextDouble(), jy = random.nextDouble();
+                    triangles.add(RasterFixtures.triangle(x + jx, y + jy, x + cell + jx, y + jy,
+                            x + jx, y + cell + jy, z, WIDTH, HEIGHT));
+                    triangles.add(RasterFixtures.triangle(x + cell + jx, y + jy, x + cell + jx, y + cell + jy,
+                            x + jx, y + cell + jy, z, WIDTH, HEIGHT));
+                }
+            }
+        }
+        return triangles;
+    }
+
+    private static void rasterize(List<RasterTriangle> triangles, DepthBuffer depth, boolean fixedPoint) {
+        depth.clear();
+        float[] data = depth.getData();
+        for (RasterTriangle triangle : triangles) {
+            if (fixedPoint) {
+                FixedPointRasterizer.rasterize(triangle, 0, 0, WIDTH - 1, HEIGHT - 1, data, WIDTH, SHADER);
+            } else {
+                EdgeRasterizer.rasterize(triangle, 0, 0, WIDTH - 1, HEIGHT - 1, data, WIDTH, SHADER);
+            }
+        }
+    }
+
+    private static SoftwareRenderer createRenderer(boolean fixedPoint) {
+        SoftwareRenderer renderer = new SoftwareRenderer(null, new Camera(new Vector3D(0, 0.5f, 2), new Vector3D(0, 0, 0)));
+        renderer.setUseLighting(true);
+        renderer.setFixedPointRasterization(fixedPoint);
+        return renderer;
+    }
+}
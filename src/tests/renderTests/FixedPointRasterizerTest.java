@@ -0,0 +1,136 @@
+package renderTests;
+
+import org.junit.jupiter.api.Test;
+import scene_master.renderer.DepthBuffer;
+import scene_master.renderer.EdgeRasterizer;
+import scene_master.renderer.FixedPointRasterizer;
+import scene_master.renderer.RasterTriangle;
+import scene_master.renderer.TransformedMesh;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FixedPointRasterizerTest {
+
+    @Test
+    public void testFanWithSubpixelVerticesIsWatertight() {
+        int width = 64, height = 64;
+        // Веер вокруг центра с нецелыми координатами: каждый пиксель квадрата покрыт ровно одним треугольником
+        float cx = 31.37f, cy = 30.81f;
+        float[][] rim = {
+                {8, 8}, {23.3f, 8}, {40.71f, 8}, {56, 8}, {56, 27.9f}, {56, 56},
+                {35.05f, 56}, {8, 56}, {8, 33.33f}
+        };
+        List<RasterTriangle> fan = new ArrayList<>();
+        for (int i = 0; i < rim.length; i++) {
+            float[] a = rim[i], b = rim[(i + 1) % rim.length];
+            fan.add(RasterFixtures.triangle(cx, cy, a[0], a[1], b[0], b[1], 0.5f, width, height));
+        }
+
+        int[] coverage = new int[width * height];
+        EdgeRasterizer.FragmentShader counter = (t, index, x, y, w1, w2, w3) -> coverage[index]++;
+        for (RasterTriangle triangle : fan) {
+            FixedPointRasterizer.rasterize(triangle, 0, 0, width - 1, height - 1,
+                    new DepthBuffer(width, height).getData(), width, counter);
+        }
+
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                boolean inside = x >= 8 && x < 56 && y >= 8 && y < 56;
+                assertEquals(inside ? 1 : 0, coverage[y * width + x], "pixel " + x + "," + y);
+            }
+        }
+    }
+
+    @Test
+    public void testSliverStripIsWatertight() {
+        int width = 64, height = 64;
+        // Квадрат из трёх полос; средняя, от x = 10.2 до 10.9, уже пикселя, но накрывает центры столбца 10
+        float[] columns = {8, 10.2f, 10.9f, 56};
+        List<RasterTriangle> strips = new ArrayList<>();
+        for (int i = 0; i + 1 < columns.length; i++) {
+            float left = columns[i], right = columns[i + 1];
+            strips.add(RasterFixtures.triangle(left, 8, right, 8, left, 56, 0.5f, width, height));
+            strips.add(RasterFixtures.triangle(right, 8, right, 56, left, 56, 0.5f, width, height));
+        }
+
+        int[] coverage = new int[width * height];
+        EdgeRasterizer.FragmentShader counter = (t, index, x, y, w1, w2, w3) -> coverage[index]++;
+        for (RasterTriangle triangle : strips) {
+            // Тот же отсев, что в SoftwareRenderer
+            if (triangle.isEmpty()) continue;
+            FixedPointRasterizer.rasterize(triangle, 0, 0, width - 1, height - 1,
+                    new DepthBuffer(width, height).getData(), width, counter);
+        }
+
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                boolean inside = x >= 8 && x < 56 && y >= 8 && y < 56;
+                assertEquals(inside ? 1 : 0, coverage[y * width + x], "pixel " + x + "," + y);
+            }
+        }
+    }
+
+    @Test
+    public void testTiledRasterizationIsBitExact() {
+        int width = 96, height = 80;
+        Random random = new Random(7);
+        List<RasterTriangle> triangles = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            triangles.add(RasterFixtures.triangle(
+                    random.nextFloat() * width, random.nextFloat() * height,
+                    random.nextFloat() * width, random.nextFloat() * height,
+                    random.nextFloat() * width, random.nextFloat() * height,
+                    random.nextFloat(), width, height));
+        }
+
+        DepthBuffer whole = new DepthBuffer(width, height);
+        double[] wholeWeights = new double[width * height];
+        for (RasterTriangle triangle : triangles) {
+            FixedPointRasterizer.rasterize(triangle, 0, 0, width - 1, height - 1, whole,
+                    (t, index, x, y, w1, w2, w3) -> wholeWeights[index] = w1 * 3 + w2 * 5 + w3 * 7);
+        }
+
+        // Тот же кадр тайлами 32x32 в другом порядке обхода
+        DepthBuffer tiled = new DepthBuffer(width, height);
+        double[] tiledWeights = new double[width * height];
+        for (int tileY = height - 1 - (height - 1) % 32; tileY >= 0; tileY -= 32) {
+            for (int tileX = 0; tileX < width; tileX += 32) {
+                for (RasterTriangle triangle : triangles) {
+                    FixedPointRasterizer.rasterize(triangle, tileX, tileY,
+                            Math.min(tileX + 31, width - 1), Math.min(tileY + 31, height - 1), tiled,
+                            (t, index, x, y, w1, w2, w3) -> tiledWeights[index] = w1 * 3 + w2 * 5 + w3 * 7);
+                }
+            }
+        }
+
+        assertArrayEquals(whole.getData(), tiled.getData());
+        assertArrayEquals(wholeWeights, tiledWeights);
+    }
+
+    @Test
+    public void testBarycentricsAndDepthMatchPlane() {
+        int width = 32, height = 32;
+        RasterTriangle withDepth = new RasterTriangle(triangleMesh(0.2f, 0.4f, 0.6f), 0, 1, 2,
+                new double[2], new double[2], new double[2], null, null, false, width, height);
+        DepthBuffer depth = new DepthBuffer(width, height);
+        FixedPointRasterizer.rasterize(withDepth, 0, 0, width - 1, height - 1, depth.getData(), width,
+                (t, index, x, y, w1, w2, w3) -> {
+                    assertEquals(1.0, w1 + w2 + w3, 1e-9);
+                    assertEquals((x + 0.5) / 32, w2, 1e-9);
+                    assertEquals((y + 0.5) / 32, w3, 1e-9);
+                });
+        assertEquals(0.2 + 0.2 * (10.5 / 32) + 0.4 * (5.5 / 32), depth.get(10, 5), 1e-6);
+    }
+
+    private TransformedMesh triangleMesh(float z1, float z2, float z3) {
+        TransformedMesh mesh = new TransformedMesh(3);
+        mesh.setScreen(0, 0, 0, z1);
+        mesh.setScreen(1, 32, 0, z2);
+        mesh.setScreen(2, 0, 32, z3);
+        return mesh;
+    }
+}
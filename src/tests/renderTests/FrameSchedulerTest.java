@@ -0,0 +1,49 @@
+package renderTests;
+
+import org.junit.jupiter.api.Test;
+import scene_master.renderer.FrameScheduler;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FrameSchedulerTest {
+
+    @Test
+    public void testRequestsWithinPulseCollapseIntoOneFrame() {
+        int[] frames = new int[1];
+        FrameScheduler scheduler = new FrameScheduler(() -> frames[0]++);
+
+        for (int i = 0; i < 100; i++) {
+            scheduler.requestFrame();
+        }
+        scheduler.onPulse();
+        assertEquals(1, frames[0]);
+
+        scheduler.onPulse();
+        assertEquals(1, frames[0], "без запросов кадр не рисуется");
+    }
+
+    @Test
+    public void testRequestDuringFrameIsNotLost() {
+        int[] state = {0};
+        int[] rendered = {-1};
+        FrameScheduler[] holder = new FrameScheduler[1];
+        holder[0] = new FrameScheduler(() -> {
+            rendered[0] = state[0];
+            if (state[0] == 1) {
+                // Изменение сцены прямо во время кадра
+                state[0] = 2;
+                holder[0].requestFrame();
+            }
+        });
+
+        state[0] = 1;
+        holder[0].requestFrame();
+        holder[0].onPulse();
+        assertEquals(1, rendered[0]);
+        assertTrue(holder[0].isFramePending());
+
+        holder[0].onPulse();
+        assertEquals(2, rendered[0]);
+        assertEquals(2, holder[0].getFrameCount());
+    }
+}
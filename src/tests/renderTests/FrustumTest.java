@@ -0,0 +1,79 @@
+package renderTests;
+
+import math.Camera;
+import math.LinealAlgebra.Vector3D;
+import math.Matrix.Matrix4x4;
+import org.junit.jupiter.api.Test;
+import scene_master.model.BoundingSphere;
+import scene_master.model.Model3D;
+import scene_master.renderer.Frustum;
+import scene_master.renderer.VertexProcessor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FrustumTest {
+
+    private Frustum createFrustum() {
+        Camera camera = new Camera(new Vector3D(0, 0, 5), new Vector3D(0, 0, 0));
+        camera.setAspectRatio(1);
+        return new Frustum(camera.getProjectionMatrix().multiply(camera.getViewMatrix()));
+    }
+
+    @Test
+    public void testSphereInFrontIsVisible() {
+        Frustum frustum = createFrustum();
+        assertTrue(frustum.intersectsSphere(0, 0, 0, 1));
+    }
+
+    @Test
+    public void testSphereBehindCameraIsCulled() {
+        Frustum frustum = createFrustum();
+        assertFalse(frustum.intersectsSphere(0, 0, 10, 1));
+    }
+
+    @Test
+    public void testSphereOutsideSidePlaneIsCulled() {
+        Frustum frustum = createFrustum();
+        // Полуширина при fov 60 на расстоянии 5 примерно 2.9
+        assertFalse(frustum.intersectsSphere(10, 0, 0, 1));
+        assertTrue(frustum.intersectsSphere(3.5, 0, 0, 1));
+    }
+
+    @Test
+    public void testSphereBeyondFarPlaneIsCulled() {
+        Frustum frustum = createFrustum();
+        assertFalse(frustum.intersectsSphere(0, 0, -200, 1));
+    }
+
+    @Test
+    public void testModelSpacePlanesFollowModelTransform() {
+        Model3D model = new Model3D("test");
+        model.getVertices().add(new Vector3D(-1, -1, -1));
+        model.getVertices().add(new Vector3D(1, 1, 1));
+        model.translateXProperty().set(20);
+
+        Camera camera = new Camera(new Vector3D(0, 0, 5), new Vector3D(0, 0, 0));
+        Matrix4x4 viewProjection = camera.getProjectionMatrix().multiply(camera.getViewMatrix());
+        Frustum frustum = new Frustum(viewProjection.multiply(VertexProcessor.modelMatrix(model)));
+        assertFalse(frustum.intersectsSphere(model.getBoundingSphere()));
+
+        model.translateXProperty().set(0);
+        frustum.update(viewProjection.multiply(VertexProcessor.modelMatrix(model)));
+        assertTrue(frustum.intersectsSphere(model.getBoundingSphere()));
+    }
+
+    @Test
+    public void testBoundingSphereRecomputedAfterVertexChange() {
+        Model3D model = new Model3D("test");
+        model.getVertices().add(new Vector3D(-1, 0, 0));
+        model.getVertices().add(new Vector3D(1, 0, 0));
+
+        BoundingSphere sphere = model.getBoundingSphere();
+        assertEquals(1.0, sphere.getRadius(), 1e-6);
+        assertSame(sphere, model.getBoundingSphere());
+
+        model.getVertices().add(new Vector3D(5, 0, 0));
+        assertEquals(3.0, model.getBoundingSphere().getRadius(), 1e-6);
+        assertEquals(2.0, model.getBoundingSphere().getCenterX(), 1e-6);
+    }
+}
@@ -0,0 +1,56 @@
+package renderTests;
+
+import org.junit.jupiter.api.Test;
+import scene_master.renderer.DepthBuffer;
+import scene_master.renderer.EdgeRasterizer;
+import scene_master.renderer.GBuffer;
+import scene_master.renderer.RasterTriangle;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GBufferTest {
+
+    @Test
+    public void testClearMarksAllPixelsEmpty() {
+        GBuffer gBuffer = new GBuffer(4, 3);
+        gBuffer.set(5, 7, 0.25, 0.5);
+        assertEquals(7, gBuffer.getTriangleIds()[5]);
+        assertEquals(0.25f, gBuffer.getW1()[5]);
+        assertEquals(0.5f, gBuffer.getW2()[5]);
+
+        gBuffer.clear();
+        for (int id : gBuffer.getTriangleIds()) {
+            assertEquals(GBuffer.EMPTY, id);
+        }
+    }
+
+    @Test
+    public void testKeepsOnlyNearestTrianglePerPixel() {
+        int width = 32, height = 32;
+        DepthBuffer depth = new DepthBuffer(width, height);
+        GBuffer gBuffer = new GBuffer(width, height);
+
+        RasterTriangle far = RasterFixtures.triangle(0, 0, 32, 0, 0, 32, 0.8f, width, height);
+        far.id = 0;
+        RasterTriangle near = RasterFixtures.triangle(0, 0, 32, 0, 0, 32, 0.3f, width, height);
+        near.id = 1;
+
+        int[] writes = new int[1];
+        EdgeRasterizer.FragmentShader writer = (t, index, x, y, w1, w2, w3) -> {
+            gBuffer.set(index, t.id, w1, w2);
+            writes[0]++;
+        };
+        EdgeRasterizer.rasterize(far, 0, 0, width - 1, height - 1, depth, writer);
+        EdgeRasterizer.rasterize(near, 0, 0, width - 1, height - 1, depth, writer);
+
+        int covered = 0;
+        for (int id : gBuffer.getTriangleIds()) {
+            if (id != GBuffer.EMPTY) {
+                assertEquals(1, id);
+                covered++;
+            }
+        }
+        // Перерисовка дважды пишет в G-буфер, но затенять придётся только covered пикселей
+        assertEquals(2 * covered, writes[0]);
+    }
+}
@@ -0,0 +1,67 @@
+package renderTests;
+
+import org.junit.jupiter.api.Test;
+import scene_master.renderer.DepthBuffer;
+import scene_master.renderer.EdgeRasterizer;
+import scene_master.renderer.HiZBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HiZBufferTest {
+
+    @Test
+    public void testEmptyBufferOccludesNothing() {
+        HiZBuffer hiZ = new HiZBuffer(100, 60);
+        assertFalse(hiZ.isOccluded(0, 0, 99, 59, 0.99));
+        assertFalse(hiZ.isOccluded(10, 10, 12, 12, -1));
+    }
+
+    @Test
+    public void testLevelsReduceToSingleCell() {
+        HiZBuffer hiZ = new HiZBuffer(100, 60);
+        // 13x8 клеток -> 7x4 -> 4x2 -> 2x1 -> 1x1
+        assertEquals(5, hiZ.getLevelCount());
+    }
+
+    @Test
+    public void testRasterizedOccluderHidesGeometryBehindIt() {
+        int width = 128, height = 96;
+        DepthBuffer depth = new DepthBuffer(width, height);
+        // Полноэкранная пара треугольников на глубине 0.2
+        EdgeRasterizer.FragmentShader none = (t, index, x, y, w1, w2, w3) -> { };
+        EdgeRasterizer.rasterize(RasterFixtures.triangle(0, 0, width, 0, 0, height, 0.2f, width, height),
+                0, 0, width - 1, height - 1, depth, none);
+        EdgeRasterizer.rasterize(RasterFixtures.triangle(width, 0, width, height, 0, height, 0.2f, width, height),
+                0, 0, width - 1, height - 1, depth, none);
+        depth.getHiZ().rebuildLevels();
+
+        HiZBuffer hiZ = depth.getHiZ();
+        assertEquals(0.2f, hiZ.getCellMax(3, 3));
+        assertTrue(hiZ.isOccluded(0, 0, width - 1, height - 1, 0.5));
+        assertTrue(hiZ.isOccluded(20, 30, 40, 50, 0.25));
+        assertFalse(hiZ.isOccluded(20, 30, 40, 50, 0.1));
+
+        // Треугольник позади не доходит до шейдера
+        int[] shaded = new int[1];
+        EdgeRasterizer.rasterize(RasterFixtures.triangle(10, 10, 100, 10, 10, 80, 0.6f, width, height),
+                0, 0, width - 1, height - 1, depth, (t, index, x, y, w1, w2, w3) -> shaded[0]++);
+        assertEquals(0, shaded[0]);
+    }
+
+    @Test
+    public void testPartialOccluderKeepsUncoveredCellsVisible() {
+        int width = 64, height = 64;
+        DepthBuffer depth = new DepthBuffer(width, height);
+        // Левая половина экрана закрыта
+        EdgeRasterizer.FragmentShader none = (t, index, x, y, w1, w2, w3) -> { };
+        EdgeRasterizer.rasterize(RasterFixtures.triangle(0, 0, 32, 0, 0, 64, 0.1f, width, height),
+                0, 0, width - 1, height - 1, depth, none);
+        EdgeRasterizer.rasterize(RasterFixtures.triangle(32, 0, 32, 64, 0, 64, 0.1f, width, height),
+                0, 0, width - 1, height - 1, depth, none);
+        depth.getHiZ().rebuildLevels();
+
+        assertTrue(depth.getHiZ().isOccluded(0, 0, 31, 63, 0.5));
+        assertFalse(depth.getHiZ().isOccluded(0, 0, 40, 63, 0.5));
+        assertFalse(depth.getHiZ().isOccluded(0, 0, width - 1, height - 1, 0.5));
+    }
+}
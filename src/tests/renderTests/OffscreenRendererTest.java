@@ -0,0 +1,93 @@
+package renderTests;
+
+import javafx.scene.paint.Color;
+import math.Camera;
+import math.LinealAlgebra.Vector3D;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import scene_master.model.Model3D;
+import scene_master.model.Polygon;
+import scene_master.renderer.DepthBuffer;
+import scene_master.renderer.FrameBuffer;
+import scene_master.renderer.OffscreenRenderer;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OffscreenRendererTest {
+    private static final int WIDTH = 80, HEIGHT = 60;
+
+    private Model3D createQuad(String name, float z, Color color) {
+        Model3D model = new Model3D(name);
+        model.getVertices().addAll(List.of(
+                new Vector3D(-1, -1, z), new Vector3D(1, -1, z), new Vector3D(1, 1, z), new Vector3D(-1, 1, z)));
+        for (int[] face : new int[][]{{0, 1, 2}, {0, 2, 3}}) {
+            Polygon polygon = new Polygon(face);
+            polygon.setNormal(new Vector3D(0, 0, 1));
+            model.getPolygons().add(polygon);
+        }
+        model.setBaseColor(color);
+        return model;
+    }
+
+    private Camera createCamera() {
+        return new Camera(new Vector3D(0, 0, 5), new Vector3D(0, 0, 0));
+    }
+
+    @Test
+    public void testNearerSurfaceWinsRegardlessOfOrder() {
+        Model3D near = createQuad("near", 0, Color.RED);
+        Model3D far = createQuad("far", -2, Color.BLUE);
+        int red = FrameBuffer.toArgb(Color.RED);
+
+        OffscreenRenderer offscreen = new OffscreenRenderer(WIDTH, HEIGHT);
+        offscreen.render(List.of(far, near), createCamera());
+        assertEquals(red, offscreen.getPixel(WIDTH / 2, HEIGHT / 2));
+        float nearDepth = offscreen.getDepth(WIDTH / 2, HEIGHT / 2);
+
+        offscreen.render(List.of(near, far), createCamera());
+        assertEquals(red, offscreen.getPixel(WIDTH / 2, HEIGHT / 2));
+        assertEquals(nearDepth, offscreen.getDepth(WIDTH / 2, HEIGHT / 2));
+
+        // Дальний квадрат в одиночку пишет глубину больше
+        offscreen.render(List.of(far), createCamera());
+        assertTrue(offscreen.getDepth(WIDTH / 2, HEIGHT / 2) > nearDepth);
+        assertEquals(DepthBuffer.FAR, offscreen.getDepth(0, 0));
+    }
+
+    @Test
+    public void testBuffersMatchFrameSize() {
+        OffscreenRenderer offscreen = new OffscreenRenderer(WIDTH, HEIGHT);
+        assertThrows(IllegalStateException.class, offscreen::getDepth);
+
+        offscreen.render(List.of(createQuad("quad", 0, Color.WHITE)), createCamera());
+        assertEquals(WIDTH * HEIGHT, offscreen.getPixels().length);
+        assertEquals(WIDTH * HEIGHT, offscreen.getDepth().length);
+    }
+
+    @Test
+    public void testPngRoundTrip(@TempDir File directory) throws IOException {
+        OffscreenRenderer offscreen = new OffscreenRenderer(WIDTH, HEIGHT);
+        offscreen.getRenderer().setBackgroundColor(Color.rgb(10, 20, 30));
+        offscreen.render(List.of(createQuad("quad", 0, Color.rgb(200, 100, 50, 0.5))), createCamera());
+
+        File file = new File(directory, "frame.png");
+        offscreen.writePng(file);
+        BufferedImage image = ImageIO.read(file);
+
+        assertEquals(WIDTH, image.getWidth());
+        assertEquals(HEIGHT, image.getHeight());
+        assertEquals(0xFF0A141E, image.getRGB(0, 0));
+        // Полупрозрачный цвет сохраняется без предумножения
+        int center = image.getRGB(WIDTH / 2, HEIGHT / 2);
+        assertEquals(128, center >>> 24);
+        assertEquals(200, (center >> 16) & 0xFF, 1);
+        assertEquals(100, (center >> 8) & 0xFF, 1);
+        assertEquals(50, center & 0xFF, 1);
+    }
+}
@@ -0,0 +1,71 @@
+package renderTests;
+
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import math.Camera;
+import math.LinealAlgebra.Vector3D;
+import org.junit.jupiter.api.Test;
+import scene_master.model.Model3D;
+import scene_master.model.Polygon;
+import scene_master.renderer.FrameBuffer;
+import scene_master.renderer.SoftwareRenderer;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PerspectiveInterpolationTest {
+    private static final int SIZE = 64;
+
+    /**
+     * Стена от x = -1 (z = 0) до x = 1 (z = -20): правый край сильно дальше левого.
+     * Текстура 3x1: u < 0.5 — чёрный, дальше белый
+     */
+    private Model3D createRecedingWall() {
+        Model3D model = new Model3D("wall");
+        model.getVertices().addAll(List.of(
+                new Vector3D(-1, -1, 0), new Vector3D(1, -1, -20),
+                new Vector3D(1, 1, -20), new Vector3D(-1, 1, 0)));
+        model.addTextureCoord(0, 0);
+        model.addTextureCoord(1, 0);
+        model.addTextureCoord(1, 1);
+        model.addTextureCoord(0, 1);
+
+        for (int[] face : new int[][]{{0, 1, 2}, {0, 2, 3}}) {
+            Polygon polygon = new Polygon(face);
+            for (int index : face) {
+                polygon.addTextureIndex(index);
+            }
+            polygon.setNormal(new Vector3D(0, 0, 1));
+            model.getPolygons().add(polygon);
+        }
+
+        WritableImage texture = new WritableImage(3, 1);
+        texture.getPixelWriter().setColor(0, 0, Color.BLACK);
+        texture.getPixelWriter().setColor(1, 0, Color.WHITE);
+        texture.getPixelWriter().setColor(2, 0, Color.WHITE);
+        model.setTexture(texture);
+        return model;
+    }
+
+    @Test
+    public void testTextureMidpointProjectsToWorldMidpoint() {
+        Camera camera = new Camera(new Vector3D(0, 0, 3), new Vector3D(0, 0, 0));
+        SoftwareRenderer renderer = new SoftwareRenderer(null, camera);
+        renderer.setUseTexture(true);
+        renderer.setBackFaceCulling(false);
+        renderer.setBackgroundColor(Color.RED);
+
+        FrameBuffer frame = new FrameBuffer(SIZE, SIZE);
+        renderer.renderToBuffer(List.of(createRecedingWall()), frame);
+
+        // u = 0.5 лежит в мировой точке x = 0, она проецируется в центр экрана.
+        // Аффинная интерполяция сдвинула бы границу к середине экранной трапеции (около x = 24)
+        int black = FrameBuffer.toArgb(Color.BLACK);
+        int white = FrameBuffer.toArgb(Color.WHITE);
+        int row = SIZE / 2;
+        assertEquals(black, frame.getPixel(20, row));
+        assertEquals(black, frame.getPixel(28, row));
+        assertEquals(white, frame.getPixel(33, row));
+    }
+}
@@ -0,0 +1,125 @@
+package renderTests;
+
+import javafx.scene.paint.Color;
+import math.Camera;
+import math.LinealAlgebra.Vector3D;
+import org.junit.jupiter.api.Test;
+import scene_master.model.Model3D;
+import scene_master.renderer.FrameBuffer;
+import scene_master.renderer.RenderSettings;
+import scene_master.renderer.RenderWorker;
+import scene_master.renderer.SceneSnapshot;
+import scene_master.renderer.SoftwareRenderer;
+import scene_master.renderer.TripleBuffer;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProgressiveRenderingTest {
+    private static final int WIDTH = 160, HEIGHT = 120;
+
+    private SoftwareRenderer createRenderer() {
+        SoftwareRenderer renderer = new SoftwareRenderer(null, new Camera(new Vector3D(0, 0, 4), new Vector3D(0, 0, 0)));
+        renderer.setUseLighting(true);
+        renderer.setBackgroundColor(Color.BLACK);
+        return renderer;
+    }
+
+    private List<Model3D> createScene() {
+        // Около 16 тысяч треугольников: несколько отрезков по 1024 полигона
+        return List.of(VectorRasterizerTest.createSphere("sphere", 0, 0, Color.ORANGE, 64));
+    }
+
+    private int countDrawn(int[] pixels) {
+        int background = FrameBuffer.toArgb(Color.BLACK);
+        int count = 0;
+        for (int pixel : pixels) {
+            if (pixel != background) count++;
+        }
+        return count;
+    }
+
+    @Test
+    public void testSlicedFrameMatchesSingleFrame() {
+        List<Model3D> scene = createScene();
+        FrameBuffer expected = new FrameBuffer(WIDTH, HEIGHT);
+        createRenderer().renderToBuffer(scene, expected);
+
+        SoftwareRenderer renderer = createRenderer();
+        renderer.setProgressiveRendering(true);
+        renderer.setSliceBudgetNanos(0);
+        FrameBuffer target = new FrameBuffer(WIDTH, HEIGHT);
+        int[] slices = {0};
+        int[] drawnBySlice = new int[64];
+        renderer.setProgressListener(() -> {
+            drawnBySlice[slices[0]++] = countDrawn(target.getPixels());
+            return true;
+        });
+        renderer.renderToBuffer(scene, target);
+
+        assertFalse(renderer.isFrameAborted());
+        assertTrue(slices[0] > 2, "slices = " + slices[0]);
+        // Частичные кадры только растут, и среди них есть уже непустой, но недорисованный
+        int finalDrawn = countDrawn(target.getPixels());
+        boolean partialSeen = false;
+        for (int i = 0; i < slices[0]; i++) {
+            if (i > 0) assertTrue(drawnBySlice[i] >= drawnBySlice[i - 1]);
+            partialSeen |= drawnBySlice[i] > 0 && drawnBySlice[i] < finalDrawn;
+        }
+        assertTrue(partialSeen);
+        assertArrayEquals(expected.getPixels(), target.getPixels());
+    }
+
+    @Test
+    public void testListenerAbortsRemainingWork() {
+        List<Model3D> scene = createScene();
+        SoftwareRenderer renderer = createRenderer();
+        renderer.setProgressiveRendering(true);
+        renderer.setSliceBudgetNanos(0);
+        FrameBuffer target = new FrameBuffer(WIDTH, HEIGHT);
+
+        int[] slices = {0};
+        renderer.setProgressListener(() -> ++slices[0] < 2);
+        renderer.renderToBuffer(scene, target);
+        assertTrue(renderer.isFrameAborted());
+        assertEquals(2, slices[0]);
+        int partial = countDrawn(target.getPixels());
+
+        // Следующий кадр после прерванного рисуется целиком
+        renderer.setProgressListener(() -> true);
+        renderer.renderToBuffer(scene, target);
+        assertFalse(renderer.isFrameAborted());
+        assertTrue(countDrawn(target.getPixels()) > partial);
+    }
+
+    @Test
+    public void testWorkerPublishesCompleteProgressiveFrame() throws InterruptedException {
+        Camera camera = new Camera(new Vector3D(0, 0, 4), new Vector3D(0, 0, 0));
+        SoftwareRenderer settings = createRenderer();
+        settings.setProgressiveRendering(true);
+        RenderWorker worker = new RenderWorker();
+        worker.start();
+        try {
+            long sequence = worker.submit(SceneSnapshot.capture(createScene(), camera,
+                    RenderSettings.of(settings), WIDTH, HEIGHT));
+
+            TripleBuffer.Frame frame = null;
+            long deadline = System.currentTimeMillis() + 10000;
+            while ((frame == null || !frame.isComplete()) && System.currentTimeMillis() < deadline) {
+                frame = worker.getFrames().acquire();
+                if (frame == null) Thread.sleep(5);
+            }
+            assertNotNull(frame, "кадр не опубликован");
+            assertTrue(frame.isComplete());
+            assertEquals(sequence, frame.getSequence());
+
+            FrameBuffer expected = new FrameBuffer(WIDTH, HEIGHT);
+            createRenderer().renderToBuffer(createScene(), expected);
+            assertTrue(Arrays.equals(expected.getPixels(), frame.getBuffer().getPixels()));
+        } finally {
+            worker.stop();
+        }
+    }
+}
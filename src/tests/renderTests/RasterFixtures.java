@@ -0,0 +1,40 @@
+package renderTests;
+
+import scene_master.renderer.RasterTriangle;
+import scene_master.renderer.TransformedMesh;
+
+/**
+ * Общие заготовки тестов растеризации: треугольники и сетки, заданные сразу в экранных координатах
+ */
+final class RasterFixtures {
+    private RasterFixtures() {
+    }
+
+    /**
+     * Треугольник с постоянной глубиной z, без модели и текстуры
+     */
+    static RasterTriangle triangle(double x1, double y1, double x2, double y2, double x3, double y3,
+                                   float z, int width, int height) {
+        TransformedMesh mesh = new TransformedMesh(3);
+        mesh.setScreen(0, (float) x1, (float) y1, z);
+        mesh.setScreen(1, (float) x2, (float) y2, z);
+        mesh.setScreen(2, (float) x3, (float) y3, z);
+        double[] uv = {0, 0};
+        return new RasterTriangle(mesh, 0, 1, 2, uv, uv, uv, null, null, false, width, height);
+    }
+
+    /**
+     * Вершины {x, y} или {x, y, z} сразу в экранных координатах экрана width x height.
+     * В пространстве отсечения w = 1, а x и y согласованы с экраном, поэтому ближняя плоскость ничего не отсекает
+     */
+    static TransformedMesh screenMesh(int width, int height, float[]... points) {
+        TransformedMesh mesh = new TransformedMesh(points.length);
+        for (int i = 0; i < points.length; i++) {
+            float x = points[i][0], y = points[i][1];
+            float z = points[i].length > 2 ? points[i][2] : 0;
+            mesh.setScreen(i, x, y, z);
+            mesh.setClip(i, x / width * 2 - 1, 1 - y / height * 2, z, 1);
+        }
+        return mesh;
+    }
+}
@@ -0,0 +1,103 @@
+package renderTests;
+
+import javafx.scene.paint.Color;
+import math.Camera;
+import math.LinealAlgebra.Vector3D;
+import org.junit.jupiter.api.Test;
+import scene_master.model.Model3D;
+import scene_master.model.Polygon;
+import scene_master.renderer.FrameBuffer;
+import scene_master.renderer.RenderSettings;
+import scene_master.renderer.RenderWorker;
+import scene_master.renderer.SceneSnapshot;
+import scene_master.renderer.SoftwareRenderer;
+import scene_master.renderer.TripleBuffer;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RenderWorkerTest {
+
+    private Model3D createQuad() {
+        Model3D model = new Model3D("quad");
+        model.getVertices().addAll(List.of(
+                new Vector3D(-1, -1, 0), new Vector3D(1, -1, 0),
+                new Vector3D(1, 1, 0), new Vector3D(-1, 1, 0)));
+        Polygon first = new Polygon(0, 1, 2);
+        Polygon second = new Polygon(0, 2, 3);
+        first.setNormal(new Vector3D(0, 0, 1));
+        second.setNormal(new Vector3D(0, 0, 1));
+        model.getPolygons().addAll(List.of(first, second));
+        return model;
+    }
+
+    private SceneSnapshot capture(List<Model3D> models, Camera camera) {
+        SoftwareRenderer settings = new SoftwareRenderer(null, camera);
+        settings.setBackgroundColor(Color.BLACK);
+        return SceneSnapshot.capture(models, camera, RenderSettings.of(settings), 64, 48);
+    }
+
+    @Test
+    public void testTripleBufferShowsLatestPublishedFrame() {
+        TripleBuffer buffer = new TripleBuffer();
+        assertNull(buffer.acquire());
+
+        TripleBuffer.Frame first = buffer.getBack();
+        buffer.publish();
+        TripleBuffer.Frame second = buffer.getBack();
+        assertNotSame(first, second);
+        buffer.publish();
+
+        // FX не успел показать первый кадр: показывается второй, первый снова уходит на рендер
+        assertSame(second, buffer.acquire());
+        assertNull(buffer.acquire(), "кадр показывается один раз");
+        assertNotSame(second, buffer.getBack());
+    }
+
+    @Test
+    public void testSnapshotIsIsolatedFromLaterEdits() {
+        Model3D model = createQuad();
+        Model3D snapshot = model.renderSnapshot();
+        assertSame(model, snapshot.getRenderKey());
+        assertSame(snapshot.getVertices(), model.renderSnapshot().getVertices(),
+                "без изменений геометрия не копируется заново");
+
+        model.translateXProperty().set(3);
+        model.getVertices().add(new Vector3D(0, 2, 0));
+
+        assertEquals(0, snapshot.translateXProperty().get());
+        assertEquals(4, snapshot.getVertices().size());
+        assertEquals(1, snapshot.getBoundingBox().getMaxY(), 1e-6);
+        assertEquals(5, model.renderSnapshot().getVertices().size());
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.getVertices().clear());
+    }
+
+    @Test
+    public void testWorkerPublishesRenderedFrame() throws InterruptedException {
+        Camera camera = new Camera(new Vector3D(0, 0, 5), new Vector3D(0, 0, 0));
+        RenderWorker worker = new RenderWorker();
+        worker.start();
+        try {
+            long sequence = worker.submit(capture(List.of(createQuad()), camera));
+
+            TripleBuffer.Frame frame = null;
+            long deadline = System.currentTimeMillis() + 5000;
+            while (frame == null && System.currentTimeMillis() < deadline) {
+                frame = worker.getFrames().acquire();
+                if (frame == null) Thread.sleep(5);
+            }
+            assertNotNull(frame, "кадр не опубликован");
+            assertEquals(sequence, frame.getSequence());
+
+            FrameBuffer buffer = frame.getBuffer();
+            assertEquals(64, buffer.getWidth());
+            assertEquals(48, buffer.getHeight());
+            int background = FrameBuffer.toArgb(Color.BLACK);
+            assertEquals(background, buffer.getPixel(0, 0));
+            assertNotEquals(background, buffer.getPixel(32, 24), "квадрат в центре кадра");
+        } finally {
+            worker.stop();
+        }
+    }
+}
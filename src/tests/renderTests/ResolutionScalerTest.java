@@ -0,0 +1,75 @@
+package renderTests;
+
+import org.junit.jupiter.api.Test;
+import scene_master.renderer.ResolutionScaler;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResolutionScalerTest {
+    private static final long MS = 1_000_000L;
+
+    /**
+     * Модель стоимости кадра: время пропорционально числу пикселей
+     */
+    private long frameNanos(long fullFrameNanos, double scale) {
+        return (long) (fullFrameNanos * scale * scale);
+    }
+
+    @Test
+    public void testFullResolutionWhenIdle() {
+        ResolutionScaler scaler = new ResolutionScaler();
+        scaler.recordFrame(64 * MS, 1.0);
+        assertTrue(scaler.getInteractiveScale() < 1.0);
+
+        long now = 1_000 * MS;
+        assertEquals(1.0, scaler.getScale(now));
+
+        scaler.onInteraction(now);
+        assertEquals(scaler.getInteractiveScale(), scaler.getScale(now + 10 * MS));
+        assertTrue(scaler.isInteracting(now + scaler.getIdleNanos() - 1));
+        assertFalse(scaler.isInteracting(now + scaler.getIdleNanos()));
+        assertEquals(1.0, scaler.getScale(now + scaler.getIdleNanos()));
+    }
+
+    @Test
+    public void testSlowFramesConvergeToBudget() {
+        ResolutionScaler scaler = new ResolutionScaler();
+        long fullFrame = 100 * MS;
+        for (int frame = 0; frame < 20; frame++) {
+            double scale = scaler.getInteractiveScale();
+            scaler.recordFrame(frameNanos(fullFrame, scale), scale);
+        }
+        double scale = scaler.getInteractiveScale();
+        // Шаг масштаба 1/16 даёт небольшой перебор относительно бюджета
+        assertTrue(frameNanos(fullFrame, scale) <= scaler.getBudgetNanos() * 1.3, "scale = " + scale);
+        assertTrue(frameNanos(fullFrame, scale) >= scaler.getBudgetNanos() * 0.5, "scale = " + scale);
+    }
+
+    @Test
+    public void testFastFramesStayAtFullResolution() {
+        ResolutionScaler scaler = new ResolutionScaler();
+        for (int frame = 0; frame < 10; frame++) {
+            scaler.recordFrame(5 * MS, scaler.getInteractiveScale());
+        }
+        assertEquals(1.0, scaler.getInteractiveScale());
+
+        // После тяжёлой модели лёгкая сцена возвращает полное разрешение
+        scaler.recordFrame(1000 * MS, 1.0);
+        assertTrue(scaler.getInteractiveScale() < 1.0);
+        for (int frame = 0; frame < 10; frame++) {
+            scaler.recordFrame(2 * MS, scaler.getInteractiveScale());
+        }
+        assertEquals(1.0, scaler.getInteractiveScale());
+    }
+
+    @Test
+    public void testScaleIsClampedAndSizesStayPositive() {
+        ResolutionScaler scaler = new ResolutionScaler();
+        for (int frame = 0; frame < 20; frame++) {
+            scaler.recordFrame(10_000 * MS, scaler.getInteractiveScale());
+        }
+        assertEquals(ResolutionScaler.MIN_SCALE, scaler.getInteractiveScale());
+        assertEquals(200, ResolutionScaler.scaledSize(800, 0.25));
+        assertEquals(1, ResolutionScaler.scaledSize(1, 0.25));
+    }
+}
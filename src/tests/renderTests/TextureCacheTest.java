@@ -0,0 +1,187 @@
+package renderTests;
+
+import javafx.scene.image.WritableImage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import scene_master.model.Model3D;
+import scene_master.model.Texture;
+import scene_master.renderer.TextureManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TextureCacheTest {
+    private final TextureManager manager = TextureManager.getInstance();
+
+    @AfterEach
+    public void restoreBudget() {
+        manager.setMemoryBudget(TextureManager.DEFAULT_MEMORY_BUDGET);
+    }
+
+    /**
+     * Текстура 64x64: 16 КБ на уровень 0, около 21 КБ со всеми мип-уровнями
+     */
+    private WritableImage createImage() {
+        return new WritableImage(64, 64);
+    }
+
+    @Test
+    public void testCountersTrackHitsMissesAndBytes() {
+        long misses = manager.getMissCount();
+        long hits = manager.getHitCount();
+        long bytes = manager.getCachedBytes();
+
+        WritableImage image = createImage();
+        Texture texture = manager.register(image);
+        assertEquals(misses + 1, manager.getMissCount());
+        assertEquals(bytes + texture.getByteSize(), manager.getCachedBytes());
+        assertTrue(texture.getByteSize() > 64 * 64 * 4);
+
+        assertSame(texture, manager.register(image));
+        assertEquals(hits + 1, manager.getHitCount());
+        assertEquals(misses + 1, manager.getMissCount());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedUnreferencedTextureIsEvicted() {
+        // Выгружаем текстуры других тестов: они старше и ушли бы первыми
+        manager.setMemoryBudget(0);
+        manager.setMemoryBudget(TextureManager.DEFAULT_MEMORY_BUDGET);
+        WritableImage first = createImage();
+        WritableImage second = createImage();
+        WritableImage third = createImage();
+        Texture firstTexture = manager.register(first);
+        Texture secondTexture = manager.register(second);
+        // Обращение делает первую текстуру свежее второй
+        manager.register(first);
+
+        long size = firstTexture.getByteSize();
+        // Третья текстура помещается, только если выгрузить одну из первых двух
+        manager.setMemoryBudget(manager.getCachedBytes() + size / 2);
+        long evictions = manager.getEvictionCount();
+        manager.register(third);
+
+        assertEquals(evictions + 1, manager.getEvictionCount());
+        assertTrue(manager.getCachedBytes() <= manager.getMemoryBudget());
+        assertSame(firstTexture, manager.register(first));
+        long misses = manager.getMissCount();
+        assertNotSame(secondTexture, manager.register(second));
+        assertEquals(misses + 1, manager.getMissCount());
+    }
+
+    @Test
+    public void testHitsOrderTexturesForEviction() {
+        manager.setMemoryBudget(0);
+        manager.setMemoryBudget(TextureManager.DEFAULT_MEMORY_BUDGET);
+        WritableImage first = createImage();
+        WritableImage second = createImage();
+        Texture firstTexture = manager.register(first);
+        Texture secondTexture = manager.register(second);
+        // Два попадания подряд, без промахов между ними: вторая текстура свежее первой
+        manager.register(first);
+        manager.register(second);
+
+        manager.setMemoryBudget(manager.getCachedBytes() + firstTexture.getByteSize() / 2);
+        manager.register(createImage());
+
+        long misses = manager.getMissCount();
+        assertSame(secondTexture, manager.register(second));
+        assertNotSame(firstTexture, manager.register(first));
+        assertEquals(misses + 1, manager.getMissCount());
+    }
+
+    @Test
+    public void testReferencedTextureStaysUntilReleased() {
+        WritableImage image = createImage();
+        Model3D model = new Model3D("model");
+        model.setTexture(image);
+        Texture texture = manager.register(image);
+        model.setTextureHandle(texture);
+        assertEquals(1, texture.getReferenceCount());
+
+        // Бюджет 0: выгружается всё, кроме текстур моделей
+        manager.setMemoryBudget(0);
+        long misses = manager.getMissCount();
+        assertSame(texture, manager.register(image));
+        assertEquals(misses, manager.getMissCount());
+
+        // Другое изображение отпускает ручку, и текстура выгружается при следующей проверке бюджета
+        model.setTexture(createImage());
+        assertNull(model.getTextureHandle());
+        assertEquals(0, texture.getReferenceCount());
+        manager.setMemoryBudget(0);
+        assertNotSame(texture, manager.register(image));
+    }
+
+    @Test
+    public void testResolveKeepsTextureOfModelWithoutHandle() {
+        WritableImage image = createImage();
+        Model3D model = new Model3D("model");
+        model.setTexture(image);
+        Model3D snapshot = model.renderSnapshot();
+
+        // Кадр рисует снимок: ручку получает исходная модель
+        Texture texture = manager.resolve(snapshot);
+        assertSame(texture, model.getTextureHandle());
+        assertEquals(1, texture.getReferenceCount());
+
+        // Бюджет 0 не выгружает текстуру, и следующий кадр берёт её по ручке, без поиска в кэше
+        manager.setMemoryBudget(0);
+        long misses = manager.getMissCount();
+        long hits = manager.getHitCount();
+        assertSame(texture, manager.resolve(model.renderSnapshot()));
+        assertSame(texture, manager.register(image));
+        assertEquals(misses, manager.getMissCount());
+        assertEquals(hits + 1, manager.getHitCount());
+
+        model.setTextureHandle(null);
+        assertEquals(0, texture.getReferenceCount());
+    }
+
+    @Test
+    public void testResolveDoesNotAdoptTextureOfReplacedImage() {
+        WritableImage image = createImage();
+        Model3D model = new Model3D("model");
+        model.setTexture(image);
+        Model3D snapshot = model.renderSnapshot();
+        // Изображение сменили, пока кадр со старым снимком ещё рисуется
+        model.setTexture(createImage());
+
+        Texture texture = manager.resolve(snapshot);
+        assertSame(image, texture.getSource());
+        assertNull(model.getTextureHandle());
+        assertEquals(0, texture.getReferenceCount());
+    }
+
+    @Test
+    public void testConcurrentRegisterDecodesOnce() throws Exception {
+        WritableImage image = createImage();
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        long misses = manager.getMissCount();
+        try {
+            List<Future<Texture>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return manager.register(image);
+                }));
+            }
+            start.countDown();
+            Texture texture = results.get(0).get();
+            for (Future<Texture> result : results) {
+                assertSame(texture, result.get());
+            }
+            assertEquals(misses + 1, manager.getMissCount());
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
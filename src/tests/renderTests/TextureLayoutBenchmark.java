@@ -0,0 +1,82 @@
+package renderTests;
+
+import scene_master.model.Texture;
+import scene_master.renderer.TextureManager;
+
+import java.util.Random;
+
+/**
+ * Сравнение построчной (LINEAR) и блочной 4x4 (TILED) раскладки текселей на текстуре больше L2:
+ * экран построчно с текстурой без поворота, повёрнутой на 90° (соседние пиксели берут тексели из соседних
+ * строк текстуры) и на 45°, и случайная выборка. UV считаются заранее, чтобы замерялась только выборка
+ */
+public class TextureLayoutBenchmark {
+    private static final int SIZE = 4096;
+    // Экран 1280x720, как в VectorShadingBenchmark; тексель на пиксель, как после выбора мип-уровня
+    private static final int SCREEN_WIDTH = 1280, SCREEN_HEIGHT = 720;
+    private static final int WARMUP = 5, ROUNDS = 10;
+
+    private static int sink;
+
+    public static void main(String[] args) {
+        int[] texels = new int[SIZE * SIZE];
+        Random random = new Random(1);
+        for (int i = 0; i < texels.length; i++) {
+            texels[i] = random.nextInt();
+        }
+        Texture linear = new Texture(SIZE, SIZE, texels, null);
+        Texture tiled = linear.withLayout(Texture.Layout.TILED);
+        System.out.printf("текстура %dx%d (%d МБ), TILED выбирается от %d КБ%n", SIZE, SIZE,
+                (long) SIZE * SIZE * Integer.BYTES >> 20, TextureManager.DEFAULT_L2_CACHE_BYTES >> 10);
+
+        String[] names = {"без поворота", "поворот 90°", "поворот 45°", "случайно"};
+        double[][] patterns = {rotated(0), rotated(90), rotated(45), randomUv()};
+        for (int i = 0; i < patterns.length; i++) {
+            double a = measure(linear, patterns[i]);
+            double b = measure(tiled, patterns[i]);
+            System.out.printf("%s: LINEAR %.2f нс, TILED %.2f нс на тексель (x%.2f)%n", names[i], a, b, a / b);
+        }
+        if (sink == 42) System.out.println();
+    }
+
+    /**
+     * UV пикселей экрана по строкам для текстуры, повёрнутой на angle градусов вокруг центра
+     */
+    private static double[] rotated(double angle) {
+        double scale = 1.0 / SIZE;
+        double cos = Math.cos(Math.toRadians(angle)) * scale, sin = Math.sin(Math.toRadians(angle)) * scale;
+        double[] uv = new double[SCREEN_WIDTH * SCREEN_HEIGHT * 2];
+        int i = 0;
+        for (int y = 0; y < SCREEN_HEIGHT; y++) {
+            for (int x = 0; x < SCREEN_WIDTH; x++) {
+                double dx = x - SCREEN_WIDTH / 2.0, dy = y - SCREEN_HEIGHT / 2.0;
+                uv[i++] = 0.5 + dx * cos - dy * sin;
+                uv[i++] = 0.5 + dx * sin + dy * cos;
+            }
+        }
+        return uv;
+    }
+
+    private static double[] randomUv() {
+        double[] uv = new double[SCREEN_WIDTH * SCREEN_HEIGHT * 2];
+        Random random = new Random(2);
+        for (int i = 0; i < uv.length; i++) {
+            uv[i] = random.nextDouble();
+        }
+        return uv;
+    }
+
+    private static double measure(Texture texture, double[] uv) {
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < WARMUP + ROUNDS; round++) {
+            long start = System.nanoTime();
+            int sum = 0;
+            for (int i = 0; i < uv.length; i += 2) {
+                sum += texture.sample(uv[i], uv[i + 1], Texture.WrapMode.CLAMP);
+            }
+            sink += sum;
+            if (round >= WARMUP) best = Math.min(best, System.nanoTime() - start);
+        }
+        return (double) best / (uv.length / 2);
+    }
+}
@@ -0,0 +1,254 @@
+package renderTests;
+
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import math.Camera;
+import math.LinealAlgebra.Vector3D;
+import org.junit.jupiter.api.Test;
+import scene_master.model.Model3D;
+import scene_master.model.Polygon;
+import scene_master.model.Texture;
+import scene_master.renderer.FrameBuffer;
+import scene_master.renderer.SoftwareRenderer;
+import scene_master.renderer.TextureManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TextureSamplerTest {
+    private static final int SIZE = 64;
+
+    /**
+     * Текстура 4x1 с текселями 0, 1, 2, 3 (номер столбца)
+     */
+    private Texture createRamp() {
+        return new Texture(4, 1, new int[]{0, 1, 2, 3}, null);
+    }
+
+    @Test
+    public void testWrapModes() {
+        Texture ramp = createRamp();
+        // Внутри [0, 1] повтор и отражение совпадают
+        assertEquals(1, ramp.sample(0.3, 0.5, Texture.WrapMode.REPEAT));
+        assertEquals(1, ramp.sample(0.3, 0.5, Texture.WrapMode.MIRROR));
+
+        assertEquals(0, ramp.sample(-0.5, 0.5, Texture.WrapMode.CLAMP));
+        assertEquals(3, ramp.sample(1.7, 0.5, Texture.WrapMode.CLAMP));
+
+        assertEquals(1, ramp.sample(1.3, 0.5, Texture.WrapMode.REPEAT));
+        assertEquals(3, ramp.sample(-0.1, 0.5, Texture.WrapMode.REPEAT));
+
+        assertEquals(2, ramp.sample(1.3, 0.5, Texture.WrapMode.MIRROR));
+        assertEquals(0, ramp.sample(-0.1, 0.5, Texture.WrapMode.MIRROR));
+        assertEquals(1, ramp.sample(2.3, 0.5, Texture.WrapMode.MIRROR));
+
+        // Огромные координаты не выходят за массив
+        assertEquals(0, ramp.sample(1e12, 0.5, Texture.WrapMode.REPEAT));
+        assertTrue(ramp.sample(-1e15 - 0.3, 0.5, Texture.WrapMode.MIRROR) >= 0);
+    }
+
+    @Test
+    public void testHandleFollowsModelTexture() {
+        TextureManager manager = TextureManager.getInstance();
+        WritableImage first = new WritableImage(2, 2);
+        WritableImage second = new WritableImage(2, 2);
+        first.getPixelWriter().setColor(1, 0, Color.RED);
+
+        Texture texture = manager.register(first);
+        assertSame(texture, manager.register(first));
+        assertEquals(2, texture.getWidth());
+        assertEquals(FrameBuffer.toArgb(Color.RED), texture.sample(1, 1, Texture.WrapMode.CLAMP));
+
+        Model3D model = new Model3D("model");
+        model.setTexture(first);
+        model.setTextureHandle(texture);
+        assertSame(texture, manager.resolve(model));
+
+        // Другое изображение делает ручку недействительной
+        model.setTexture(second);
+        assertNull(model.getTextureHandle());
+        assertSame(second, manager.resolve(model).getSource());
+    }
+
+    /**
+     * Однотонная текстура с освещением даёт те же пиксели, что базовый цвет того же оттенка
+     */
+    @Test
+    public void testLitTextureMatchesBaseColor() {
+        Color color = Color.rgb(200, 120, 40);
+        Model3D plain = VectorRasterizerTest.createSphere("plain", 0, 0, color, 24);
+        Model3D textured = VectorRasterizerTest.createSphere("textured", 0, 0, color, 24);
+        textured.generateUVFromGeometry();
+        WritableImage image = new WritableImage(4, 4);
+        for (int y = 0; y < 4; y++) {
+            for (int x = 0; x < 4; x++) {
+                image.getPixelWriter().setColor(x, y, color);
+            }
+        }
+        textured.setTexture(image);
+        textured.setTextureWrap(Texture.WrapMode.REPEAT);
+
+        FrameBuffer expected = render(plain);
+        FrameBuffer actual = render(textured);
+        assertArrayEquals(expected.getPixels(), actual.getPixels());
+    }
+
+    @Test
+    public void testMipChainAveragesDownToOnePixel() {
+        // Шахматка из одиночных текселей: на любом уменьшенном уровне — ровный серый
+        int[] texels = new int[256 * 64];
+        for (int i = 0; i < texels.length; i++) {
+            texels[i] = ((i % 256 + i / 256) % 2 == 0) ? 0xFF000000 : 0xFFFFFFFF;
+        }
+        Texture texture = Texture.withMipmaps(256, 64, texels, null);
+        assertEquals(9, texture.getLevelCount());
+        assertSame(texture, texture.getLevel(0));
+        assertEquals(64, texture.getLevel(2).getWidth());
+        assertEquals(16, texture.getLevel(2).getHeight());
+        Texture last = texture.getLevel(100);
+        assertEquals(1, last.getWidth());
+        assertEquals(1, last.getHeight());
+        assertEquals(0xFF808080, texture.getLevel(1).sample(0.3, 0.6, Texture.WrapMode.CLAMP));
+        assertEquals(0xFF808080, last.getTexels()[0]);
+    }
+
+    @Test
+    public void testLevelFollowsTexelsPerPixel() {
+        Texture texture = Texture.withMipmaps(1024, 1024, new int[1024 * 1024], null);
+        // Текстура целиком на квадрате 1024x1024 пикселей — полный уровень, увеличение тоже
+        assertEquals(0, texture.selectLevel(1, 1024 * 1024));
+        assertEquals(0, texture.selectLevel(1, 4096 * 4096));
+        // На квадрате 32x32 пикселя на пиксель приходится 32x32 текселя — уровень 5
+        assertEquals(5, texture.selectLevel(1, 32 * 32));
+        assertEquals(5, texture.selectLevel(-1, -32 * 32));
+        // Вырожденный на экране треугольник берёт самый маленький уровень
+        assertEquals(10, texture.selectLevel(1, 0));
+    }
+
+    @Test
+    public void testTiledLayoutSamplesLikeLinear() {
+        // Стороны не кратны 4: последние блоки дополнены
+        int width = 37, height = 23;
+        int[] texels = new int[width * height];
+        for (int i = 0; i < texels.length; i++) {
+            texels[i] = 0xFF000000 | i;
+        }
+        Texture linear = new Texture(width, height, texels, null);
+        Texture tiled = linear.withLayout(Texture.Layout.TILED);
+        assertEquals(Texture.Layout.TILED, tiled.getLayout());
+        assertEquals(40 * 24, tiled.getTexels().length);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                assertEquals(linear.getTexel(x, y), tiled.getTexel(x, y));
+            }
+        }
+        for (Texture.WrapMode wrap : Texture.WrapMode.values()) {
+            for (double u = -1.5; u < 2.5; u += 0.013) {
+                double v = 1 - u * 0.7;
+                assertEquals(linear.sample(u, v, wrap), tiled.sample(u, v, wrap));
+            }
+        }
+        // Блок 4x4 лежит подряд: (0..3, 1) сразу за (0..3, 0)
+        assertEquals(linear.getTexel(0, 1), tiled.getTexels()[4]);
+    }
+
+    @Test
+    public void testOnlyLevelsAboveThresholdAreTiled() {
+        // Уровни 64x64 (16 КБ) и 32x32 (4 КБ) больше порога, остальные построчные
+        Texture texture = Texture.withMipmaps(64, 64, new int[64 * 64], null, 2048);
+        assertEquals(Texture.Layout.TILED, texture.getLayout());
+        assertSame(texture, texture.getLevel(0));
+        assertEquals(Texture.Layout.TILED, texture.getLevel(1).getLayout());
+        assertEquals(Texture.Layout.LINEAR, texture.getLevel(2).getLayout());
+
+        Model3D linear = VectorRasterizerTest.createSphere("linear", 0, 0, Color.WHITE, 24);
+        Model3D tiled = VectorRasterizerTest.createSphere("tiled", 0, 0, Color.WHITE, 24);
+        WritableImage image = new WritableImage(64, 64);
+        for (int y = 0; y < 64; y++) {
+            for (int x = 0; x < 64; x++) {
+                image.getPixelWriter().setColor(x, y, Color.hsb(x * 5 + y * 3, 0.7, 0.9));
+            }
+        }
+        int[] texels = new int[64 * 64];
+        image.getPixelReader().getPixels(0, 0, 64, 64,
+                PixelFormat.getIntArgbInstance(), texels, 0, 64);
+        for (Model3D model : List.of(linear, tiled)) {
+            model.generateUVFromGeometry();
+            model.setTexture(image);
+        }
+        linear.setTextureHandle(Texture.withMipmaps(64, 64, texels, image));
+        tiled.setTextureHandle(Texture.withMipmaps(64, 64, texels, image, 0));
+        assertArrayEquals(render(linear).getPixels(), render(tiled).getPixels());
+    }
+
+    /**
+     * Далёкий квадрат с шахматкой 256x256: с мип-уровнями пиксели серые, без них — чёрно-белый шум
+     */
+    @Test
+    public void testMinifiedTextureUsesSmallLevel() {
+        Model3D quad = new Model3D("quad");
+        quad.getVertices().addAll(List.of(
+                new Vector3D(-1, -1, 0), new Vector3D(1, -1, 0),
+                new Vector3D(1, 1, 0), new Vector3D(-1, 1, 0)));
+        quad.addTextureCoord(0, 0);
+        quad.addTextureCoord(1, 0);
+        quad.addTextureCoord(1, 1);
+        quad.addTextureCoord(0, 1);
+        for (int[] face : new int[][]{{0, 1, 2}, {0, 2, 3}}) {
+            Polygon polygon = new Polygon(face);
+            for (int index : face) {
+                polygon.addTextureIndex(index);
+            }
+            polygon.setNormal(new Vector3D(0, 0, 1));
+            quad.getPolygons().add(polygon);
+        }
+        WritableImage image = new WritableImage(256, 256);
+        for (int y = 0; y < 256; y++) {
+            for (int x = 0; x < 256; x++) {
+                image.getPixelWriter().setColor(x, y, (x + y) % 2 == 0 ? Color.BLACK : Color.WHITE);
+            }
+        }
+        quad.setTexture(image);
+
+        Camera camera = new Camera(new Vector3D(0, 0, 40), new Vector3D(0, 0, 0));
+        SoftwareRenderer renderer = new SoftwareRenderer(null, camera);
+        renderer.setUseTexture(true);
+        renderer.setBackgroundColor(Color.RED);
+        FrameBuffer frame = new FrameBuffer(SIZE, SIZE);
+        renderer.renderToBuffer(List.of(quad), frame);
+        int[] grey = countByColor(frame);
+        assertTrue(grey[0] > 0);
+        assertEquals(grey[0], grey[1], "все пиксели квадрата серые");
+
+        renderer.setMipmapping(false);
+        renderer.renderToBuffer(List.of(quad), frame);
+        assertEquals(0, countByColor(frame)[1]);
+    }
+
+    /**
+     * Число пикселей модели (не фона) и число серых среди них
+     */
+    private int[] countByColor(FrameBuffer frame) {
+        int background = FrameBuffer.toArgb(Color.RED);
+        int[] counts = new int[2];
+        for (int pixel : frame.getPixels()) {
+            if (pixel == background) continue;
+            counts[0]++;
+            int red = (pixel >> 16) & 0xFF;
+            if (red > 64 && red < 192) counts[1]++;
+        }
+        return counts;
+    }
+
+    private FrameBuffer render(Model3D model) {
+        SoftwareRenderer renderer = new SoftwareRenderer(null, new Camera(new Vector3D(0, 0, 4), new Vector3D(0, 0, 0)));
+        renderer.setUseTexture(true);
+        renderer.setUseLighting(true);
+        renderer.setBackgroundColor(Color.BLACK);
+        FrameBuffer frame = new FrameBuffer(SIZE, SIZE);
+        renderer.renderToBuffer(List.of(model), frame);
+        return frame;
+    }
+}
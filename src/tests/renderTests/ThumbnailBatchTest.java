@@ -0,0 +1,84 @@
+package renderTests;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import scene_master.ThumbnailBatch;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ThumbnailBatchTest {
+    private static final int WIDTH = 64, HEIGHT = 48;
+    private static final int BACKGROUND = 0xFF1E1E2E;
+
+    /**
+     * Куб из src/tests/test_cube.obj, растянутый в scale раз и сдвинутый на offset по x
+     */
+    private void writeCube(Path file, double scale, double offset) throws IOException {
+        StringBuilder obj = new StringBuilder();
+        for (String line : Files.readAllLines(Path.of("src/tests/test_cube.obj"), StandardCharsets.UTF_8)) {
+            String[] tokens = line.trim().split("\\s+");
+            if (tokens[0].equals("v")) {
+                obj.append(String.format(java.util.Locale.ROOT, "v %f %f %f%n",
+                        Double.parseDouble(tokens[1]) * scale + offset,
+                        Double.parseDouble(tokens[2]) * scale,
+                        Double.parseDouble(tokens[3]) * scale));
+            } else {
+                obj.append(line).append('\n');
+            }
+        }
+        Files.writeString(file, obj.toString());
+    }
+
+    @Test
+    public void testDirectoryIsRenderedWithPerFileResults(@TempDir Path input, @TempDir Path output) throws Exception {
+        writeCube(input.resolve("a_cube.obj"), 1, 0);
+        // Большой и далёкий от начала координат куб всё равно попадает в кадр
+        writeCube(input.resolve("b_large.obj"), 1000, 50000);
+        Files.writeString(input.resolve("c_broken.obj"), "v 0 0 0\nf 1 2 3\n");
+        Files.writeString(input.resolve("notes.txt"), "не модель");
+
+        List<ThumbnailBatch.Result> results = ThumbnailBatch.run(input.toFile(), output.toFile(), WIDTH, HEIGHT, 2);
+
+        assertEquals(3, results.size());
+        assertEquals("a_cube.obj", results.get(0).getFile().getName());
+        assertTrue(results.get(0).isSuccessful(), results.get(0).getError());
+        assertTrue(results.get(1).isSuccessful(), results.get(1).getError());
+        assertFalse(results.get(2).isSuccessful());
+        assertEquals(12, results.get(0).getTriangleCount());
+
+        for (String name : new String[]{"a_cube.png", "b_large.png"}) {
+            BufferedImage image = ImageIO.read(output.resolve(name).toFile());
+            assertEquals(WIDTH, image.getWidth());
+            assertEquals(HEIGHT, image.getHeight());
+            assertNotEquals(BACKGROUND, image.getRGB(WIDTH / 2, HEIGHT / 2), name);
+            assertEquals(BACKGROUND, image.getRGB(0, 0), name);
+            assertEquals(BACKGROUND, image.getRGB(WIDTH - 1, HEIGHT - 1), name);
+        }
+        assertFalse(new File(output.toFile(), "c_broken.png").exists());
+
+        ByteArrayOutputStream summary = new ByteArrayOutputStream();
+        ThumbnailBatch.printSummary(results, 1_000_000, new PrintStream(summary, true, StandardCharsets.UTF_8));
+        String text = summary.toString(StandardCharsets.UTF_8);
+        assertTrue(text.contains("a_cube.obj"));
+        assertTrue(text.contains("с ошибками: 1"));
+    }
+
+    @Test
+    public void testMissingDirectoryIsReported(@TempDir Path output) {
+        assertThrows(IOException.class, () ->
+                ThumbnailBatch.run(output.resolve("missing").toFile(), output.toFile(), WIDTH, HEIGHT, 1));
+        assertThrows(IllegalArgumentException.class, () ->
+                ThumbnailBatch.run(output.toFile(), output.toFile(), 0, HEIGHT, 1));
+    }
+}
@@ -0,0 +1,70 @@
+package renderTests;
+
+import org.junit.jupiter.api.Test;
+import scene_master.renderer.RasterTriangle;
+import scene_master.renderer.TileRasterizer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TileRasterizerTest {
+
+    @Test
+    public void testEveryPixelOfBoundingBoxCoveredExactlyOnce() {
+        int width = 200, height = 150;
+        RasterTriangle triangle = RasterFixtures.triangle(10, 10, 190, 20, 100, 140, 0, width, height);
+
+        int[] coverage = new int[width * height];
+        TileRasterizer rasterizer = new TileRasterizer(64);
+        rasterizer.render(List.of(triangle), width, height, (t, minX, minY, maxX, maxY) -> {
+            int fromX = Math.max(t.minX, minX), toX = Math.min(t.maxX, maxX);
+            int fromY = Math.max(t.minY, minY), toY = Math.min(t.maxY, maxY);
+            for (int y = fromY; y <= toY; y++) {
+                for (int x = fromX; x <= toX; x++) {
+                    coverage[y * width + x]++; // тайлы не пересекаются, гонок нет
+                }
+            }
+        });
+
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                boolean inside = x >= triangle.minX && x <= triangle.maxX && y >= triangle.minY && y <= triangle.maxY;
+                assertEquals(inside ? 1 : 0, coverage[y * width + x], "pixel " + x + "," + y);
+            }
+        }
+        assertEquals(4 * 3, rasterizer.getTileCount());
+    }
+
+    @Test
+    public void testTrianglesKeepSubmissionOrderInsideTile() {
+        int width = 64, height = 64;
+        List<RasterTriangle> triangles = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            triangles.add(RasterFixtures.triangle(0, 0, 60, 0, 0, 60, 0, width, height));
+        }
+
+        List<RasterTriangle> order = new ArrayList<>();
+        new TileRasterizer(64).render(triangles, width, height, (t, minX, minY, maxX, maxY) -> order.add(t));
+
+        assertEquals(triangles, order);
+    }
+
+    @Test
+    public void testForEachTileCoversFrameExactlyOnce() {
+        int width = 150, height = 70;
+        int[] coverage = new int[width * height];
+        new TileRasterizer(32).forEachTile(width, height, (minX, minY, maxX, maxY) -> {
+            for (int y = minY; y <= maxY; y++) {
+                for (int x = minX; x <= maxX; x++) {
+                    coverage[y * width + x]++;
+                }
+            }
+        });
+
+        for (int i = 0; i < coverage.length; i++) {
+            assertEquals(1, coverage[i], "pixel " + i % width + "," + i / width);
+        }
+    }
+}
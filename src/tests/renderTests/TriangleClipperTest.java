@@ -0,0 +1,98 @@
+package renderTests;
+
+import org.junit.jupiter.api.Test;
+import scene_master.renderer.TransformedMesh;
+import scene_master.renderer.TriangleClipper;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TriangleClipperTest {
+    private static final int WIDTH = 200, HEIGHT = 100;
+
+    private TransformedMesh createMesh(float[][] clipVertices) {
+        TransformedMesh mesh = new TransformedMesh(clipVertices.length);
+        for (int i = 0; i < clipVertices.length; i++) {
+            float[] c = clipVertices[i];
+            mesh.setClip(i, c[0], c[1], c[2], c[3]);
+            mesh.world[i * 3] = i;
+        }
+        return mesh;
+    }
+
+    @Test
+    public void testTriangleInsideIsAccepted() {
+        TransformedMesh mesh = createMesh(new float[][]{
+                {0, 0, 0, 1}, {0.5f, 0, 0, 1}, {0, 0.5f, 0, 1}
+        });
+        assertEquals(TriangleClipper.ACCEPT, new TriangleClipper().classify(mesh, 0, 1, 2));
+    }
+
+    @Test
+    public void testTriangleBehindNearPlaneIsRejected() {
+        TransformedMesh mesh = createMesh(new float[][]{
+                {0, 0, -2, 1}, {0.5f, 0, -2, 1}, {0, 0.5f, -3, 1}
+        });
+        assertEquals(TriangleClipper.REJECT, new TriangleClipper().classify(mesh, 0, 1, 2));
+    }
+
+    @Test
+    public void testTriangleOffScreenInsideGuardBandIsAccepted() {
+        TransformedMesh mesh = createMesh(new float[][]{
+                {-3, 0, 0, 1}, {3, 0, 0, 1}, {0, 3, 0, 1}
+        });
+        assertEquals(TriangleClipper.ACCEPT, new TriangleClipper().classify(mesh, 0, 1, 2));
+    }
+
+    @Test
+    public void testNearPlaneClipProducesQuadInFrontOfCamera() {
+        // Одна вершина за ближней плоскостью: остаётся четырёхугольник
+        TransformedMesh mesh = createMesh(new float[][]{
+                {0, 0, 0, 1}, {0.5f, 0, 0, 1}, {0, 0, -2, 1}
+        });
+        TriangleClipper clipper = new TriangleClipper();
+        double[] uv1 = {0, 0}, uv2 = {1, 0}, uv3 = {0, 1};
+
+        assertEquals(TriangleClipper.CLIP, clipper.classify(mesh, 0, 1, 2));
+        int count = clipper.clip(mesh, 0, 1, 2, uv1, uv2, uv3, WIDTH, HEIGHT);
+
+        assertEquals(4, count);
+        assertEquals(2, mesh.getAddedVertexCount());
+        for (int i = 0; i < count; i++) {
+            int v = clipper.getVertex(i);
+            float z = mesh.clip[v * 3 + 2], w = mesh.clipW[v];
+            assertTrue(z >= -w - 1e-5, "vertex " + i + " behind near plane");
+            assertTrue(w > 0);
+            assertTrue(Float.isFinite(mesh.screen[v * 3]) && Float.isFinite(mesh.screen[v * 3 + 1]));
+        }
+
+        // Пересечение ребра v2-v3: z + w = 0 при t = 0.5, атрибуты берутся с тем же t
+        int added = mesh.getVertexCount() + 1;
+        assertEquals(1.5, mesh.world[added * 3], 1e-6);
+        boolean found = false;
+        for (int i = 0; i < count; i++) {
+            if (clipper.getVertex(i) == added) {
+                assertArrayEquals(new double[]{0.5, 0.5}, clipper.getUv(i), 1e-9);
+                found = true;
+            }
+        }
+        assertTrue(found);
+    }
+
+    @Test
+    public void testGuardBandClipKeepsScreenCoordinatesBounded() {
+        TransformedMesh mesh = createMesh(new float[][]{
+                {0, 0, 0, 1}, {100, 0, 0, 1}, {0, 1, 0, 1}
+        });
+        TriangleClipper clipper = new TriangleClipper();
+        double[] uv = {0, 0};
+
+        assertEquals(TriangleClipper.CLIP, clipper.classify(mesh, 0, 1, 2));
+        int count = clipper.clip(mesh, 0, 1, 2, uv, uv, uv, WIDTH, HEIGHT);
+
+        assertEquals(4, count);
+        double maxX = (TriangleClipper.GUARD_BAND + 1) * 0.5 * WIDTH;
+        for (int i = 0; i < count; i++) {
+            assertTrue(mesh.screen[clipper.getVertex(i) * 3] <= maxX + 1e-3);
+        }
+    }
+}
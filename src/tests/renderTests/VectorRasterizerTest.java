@@ -0,0 +1,144 @@
+package renderTests;
+
+import javafx.scene.paint.Color;
+import math.Camera;
+import math.LinealAlgebra.Vector3D;
+import org.junit.jupiter.api.Test;
+import scene_master.model.Model3D;
+import scene_master.model.Polygon;
+import scene_master.renderer.FrameBuffer;
+import scene_master.renderer.SoftwareRenderer;
+import scene_master.renderer.VectorSupport;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class VectorRasterizerTest {
+    private static final int WIDTH = 160, HEIGHT = 120;
+
+    /**
+     * Сфера из широт и долгот с нормалями вершин
+     */
+    static Model3D createSphere(String name, double x, double z, Color color, int segments) {
+        Model3D model = new Model3D(name);
+        for (int i = 0; i <= segments; i++) {
+            double theta = Math.PI * i / segments;
+            for (int j = 0; j < segments * 2; j++) {
+                double phi = Math.PI * j / segments;
+                model.getVertices().add(new Vector3D(
+                        (float) (Math.sin(theta) * Math.cos(phi)),
+                        (float) Math.cos(theta),
+                        (float) (Math.sin(theta) * Math.sin(phi))));
+            }
+        }
+        int ring = segments * 2;
+        for (int i = 0; i < segments; i++) {
+            for (int j = 0; j < ring; j++) {
+                int a = i * ring + j, b = i * ring + (j + 1) % ring;
+                int c = a + ring, d = b + ring;
+                model.getPolygons().add(createFace(model, a, c, b));
+                model.getPolygons().add(createFace(model, b, c, d));
+            }
+        }
+        model.calculateVertexNormals();
+        model.translateXProperty().set(x);
+        model.translateZProperty().set(z);
+        model.setBaseColor(color);
+        return model;
+    }
+
+    /**
+     * Грань единичной сферы: нормаль направлена из центра через середину грани
+     */
+    private static Polygon createFace(Model3D model, int... indices) {
+        Polygon polygon = new Polygon(indices);
+        double x = 0, y = 0, z = 0;
+        for (int index : indices) {
+            Vector3D vertex = model.getVertices().get(index);
+            x += vertex.getX();
+            y += vertex.getY();
+            z += vertex.getZ();
+        }
+        polygon.setNormal(new Vector3D((float) x, (float) y, (float) z).normalize());
+        return polygon;
+    }
+
+    private List<Model3D> createScene() {
+        return List.of(
+                createSphere("red", -0.6, 0, Color.INDIANRED, 16),
+                createSphere("green", 0.6, -0.5, Color.SEAGREEN, 16),
+                createSphere("blue", 0, -2, Color.rgb(60, 90, 200, 0.8), 16));
+    }
+
+    private int[] render(Consumer<SoftwareRenderer> settings) {
+        Camera camera = new Camera(new Vector3D(0, 1, 5), new Vector3D(0, 0, 0));
+        SoftwareRenderer renderer = new SoftwareRenderer(null, camera);
+        renderer.setBackFaceCulling(false);
+        settings.accept(renderer);
+        FrameBuffer frame = new FrameBuffer(WIDTH, HEIGHT);
+        renderer.renderToBuffer(createScene(), frame);
+        return frame.getPixels().clone();
+    }
+
+    @Test
+    public void testFlatShadingMatchesScalarPath() {
+        assumeTrue(VectorSupport.isAvailable());
+        int[] scalar = render(r -> r.setVectorShading(false));
+        int[] vector = render(r -> r.setVectorShading(true));
+        assertTrue(Arrays.stream(scalar).anyMatch(pixel -> pixel != scalar[0]));
+        assertArrayEquals(scalar, vector);
+    }
+
+    @Test
+    public void testGouraudShadingMatchesScalarPath() {
+        assumeTrue(VectorSupport.isAvailable());
+        Consumer<SoftwareRenderer> gouraud = r -> {
+            r.setUseLighting(true);
+            r.setGouraudShading(true);
+        };
+        int[] scalar = render(gouraud.andThen(r -> r.setVectorShading(false)));
+        int[] vector = render(gouraud.andThen(r -> r.setVectorShading(true)));
+
+        // Вектор считает освещённость во float, допускается расхождение на единицу в канале
+        for (int i = 0; i < scalar.length; i++) {
+            for (int shift = 0; shift < 32; shift += 8) {
+                int expected = (scalar[i] >>> shift) & 0xFF, actual = (vector[i] >>> shift) & 0xFF;
+                assertTrue(Math.abs(expected - actual) <= 1,
+                        "pixel " + (i % WIDTH) + "," + (i / WIDTH) + ": " + Integer.toHexString(scalar[i])
+                                + " vs " + Integer.toHexString(vector[i]));
+            }
+        }
+    }
+
+    @Test
+    public void testGouraudDiffersFromPerPixelLighting() {
+        int[] perPixel = render(r -> r.setUseLighting(true));
+        int[] gouraud = render(r -> {
+            r.setUseLighting(true);
+            r.setGouraudShading(true);
+        });
+        int background = perPixel[0];
+        int covered = 0, different = 0;
+        for (int i = 0; i < perPixel.length; i++) {
+            if (perPixel[i] == background) continue;
+            covered++;
+            if (perPixel[i] != gouraud[i]) different++;
+        }
+        assertTrue(covered > 0);
+        assertTrue(different > 0);
+    }
+
+    @Test
+    public void testScalarFallbackWhenVectorUnavailable() {
+        SoftwareRenderer renderer = new SoftwareRenderer(null, new Camera(new Vector3D(0, 0, 5), new Vector3D(0, 0, 0)));
+        assertEquals(VectorSupport.isAvailable(), renderer.isVectorShading());
+        renderer.setVectorShading(true);
+        assertEquals(VectorSupport.isAvailable(), renderer.isVectorShading());
+        renderer.setVectorShading(false);
+        assertFalse(renderer.isVectorShading());
+    }
+}
@@ -0,0 +1,59 @@
+package renderTests;
+
+import javafx.scene.paint.Color;
+import math.Camera;
+import math.LinealAlgebra.Vector3D;
+import scene_master.model.Model3D;
+import scene_master.renderer.FrameBuffer;
+import scene_master.renderer.SoftwareRenderer;
+import scene_master.renderer.VectorSupport;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Сравнение скалярного и векторного (Vector API) пути растеризации: сцена из крупных сфер,
+ * плоское затенение и затенение по Гуро. Запуск с --add-modules jdk.incubator.vector
+ */
+public class VectorShadingBenchmark {
+    private static final int WIDTH = 1280, HEIGHT = 720;
+    private static final int WARMUP = 30, FRAMES = 60;
+
+    public static void main(String[] args) {
+        System.out.println("Vector API: " + (VectorSupport.isAvailable() ? "доступен" : "недоступен"));
+        List<Model3D> scene = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            scene.add(VectorRasterizerTest.createSphere("sphere" + i, i * 0.9 - 1.8, -i * 0.6,
+                    Color.hsb(i * 60, 0.6, 0.9), 16));
+        }
+
+        // Очистка буферов и прочие расходы кадра без треугольников
+        System.out.printf("пустой кадр: %.2f мс%n", measure(List.of(), false, false));
+        for (boolean gouraud : new boolean[]{false, true}) {
+            double scalar = measure(scene, gouraud, false);
+            String name = gouraud ? "Гуро" : "плоское";
+            System.out.printf("%s: скалярный %.2f мс%n", name, scalar);
+            if (VectorSupport.isAvailable()) {
+                double vector = measure(scene, gouraud, true);
+                System.out.printf("%s: векторный %.2f мс (x%.2f)%n", name, vector, scalar / vector);
+            }
+        }
+    }
+
+    private static double measure(List<Model3D> scene, boolean gouraud, boolean vector) {
+        SoftwareRenderer renderer = new SoftwareRenderer(null, new Camera(new Vector3D(0, 0.5f, 2), new Vector3D(0, 0, 0)));
+        renderer.setUseLighting(gouraud);
+        renderer.setGouraudShading(gouraud);
+        renderer.setVectorShading(vector);
+        FrameBuffer frame = new FrameBuffer(WIDTH, HEIGHT);
+
+        for (int i = 0; i < WARMUP; i++) {
+            renderer.renderToBuffer(scene, frame);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < FRAMES; i++) {
+            renderer.renderToBuffer(scene, frame);
+        }
+        return (System.nanoTime() - start) / 1e6 / FRAMES;
+    }
+}
@@ -0,0 +1,123 @@
+package renderTests;
+
+import javafx.scene.paint.Color;
+import math.Camera;
+import math.LinealAlgebra.Vector3D;
+import org.junit.jupiter.api.Test;
+import scene_master.model.Model3D;
+import scene_master.model.Polygon;
+import scene_master.renderer.FrameBuffer;
+import scene_master.renderer.SoftwareRenderer;
+import scene_master.renderer.TransformedMesh;
+import scene_master.renderer.VertexOverlay;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VertexOverlayTest {
+    private static final int WIDTH = 64, HEIGHT = 48;
+    private static final int VERTEX = 0xFFFFFF00;
+    private static final int SELECTED = 0xFFFF0000;
+    private static final int LABEL = 0xFFFFFFFF;
+
+    private int count(int[] pixels, int argb) {
+        int count = 0;
+        for (int pixel : pixels) {
+            if (pixel == argb) count++;
+        }
+        return count;
+    }
+
+    @Test
+    public void testVertexSpriteIsStampedAtProjectedPosition() {
+        TransformedMesh mesh = RasterFixtures.screenMesh(WIDTH, HEIGHT,
+                new float[]{10.5f, 10.5f}, new float[]{40.5f, 20.5f});
+        int[] pixels = new int[WIDTH * HEIGHT];
+        VertexOverlay overlay = new VertexOverlay();
+        overlay.begin(pixels, WIDTH, HEIGHT);
+        overlay.drawVertices(mesh, 2, 8, VERTEX, 1, SELECTED, false);
+
+        assertEquals(VERTEX, pixels[10 * WIDTH + 10]);
+        assertEquals(SELECTED, pixels[20 * WIDTH + 40]);
+        // Обводка круга чёрная
+        assertEquals(0xFF000000, pixels[10 * WIDTH + 6]);
+        assertEquals(count(pixels, VERTEX), count(pixels, SELECTED));
+    }
+
+    @Test
+    public void testOffscreenVerticesAndLabelsAreSkipped() {
+        TransformedMesh mesh = RasterFixtures.screenMesh(WIDTH, HEIGHT, new float[]{-100, 10}, new float[]{10, 500});
+        int[] pixels = new int[WIDTH * HEIGHT];
+        VertexOverlay overlay = new VertexOverlay();
+        overlay.begin(pixels, WIDTH, HEIGHT);
+        overlay.drawVertices(mesh, 2, 8, VERTEX, -1, SELECTED, true);
+
+        for (int pixel : pixels) {
+            assertEquals(0, pixel);
+        }
+    }
+
+    @Test
+    public void testDenseLabelsAreThinnedOut() {
+        // Десять вершин в одной точке: значки совпадают, подпись остаётся одна
+        float[][] points = new float[10][];
+        for (int i = 0; i < points.length; i++) {
+            points[i] = new float[]{20, 20};
+        }
+        int[] single = new int[WIDTH * HEIGHT];
+        VertexOverlay overlay = new VertexOverlay();
+        overlay.begin(single, WIDTH, HEIGHT);
+        overlay.drawVertices(RasterFixtures.screenMesh(WIDTH, HEIGHT, points[0]), 1, 8, VERTEX, -1, SELECTED, true);
+
+        int[] dense = new int[WIDTH * HEIGHT];
+        overlay.begin(dense, WIDTH, HEIGHT);
+        overlay.drawVertices(RasterFixtures.screenMesh(WIDTH, HEIGHT,
+                points), points.length, 8, VERTEX, -1, SELECTED, true);
+
+        assertTrue(count(single, LABEL) > 0);
+        assertArrayEquals(single, dense);
+    }
+
+    @Test
+    public void testPolygonCenterUsesProjectedCentroid() {
+        TransformedMesh mesh = RasterFixtures.screenMesh(WIDTH, HEIGHT,
+                new float[]{8, 8}, new float[]{24, 8}, new float[]{24, 24}, new float[]{8, 24});
+        int[] pixels = new int[WIDTH * HEIGHT];
+        VertexOverlay overlay = new VertexOverlay();
+        overlay.begin(pixels, WIDTH, HEIGHT);
+        overlay.drawPolygonCenters(mesh, List.of(new Polygon(new int[]{0, 1, 2, 3})));
+
+        int green = 0xFF32CD32;
+        assertEquals(green, pixels[16 * WIDTH + 16]);
+        assertEquals(green, pixels[12 * WIDTH + 12]);
+        assertNotEquals(green, pixels[11 * WIDTH + 11]);
+        // Подпись «P0» справа от квадрата
+        assertTrue(count(pixels, LABEL) > 0);
+    }
+
+    @Test
+    public void testRendererDrawsSelectedVertexOfActiveModel() {
+        Model3D model = new Model3D("triangle");
+        model.getVertices().addAll(List.of(
+                new Vector3D(-1, -1, 0), new Vector3D(1, -1, 0), new Vector3D(0, 1, 0)));
+        Polygon polygon = new Polygon(new int[]{0, 1, 2});
+        polygon.setNormal(new Vector3D(0, 0, 1));
+        model.getPolygons().add(polygon);
+
+        SoftwareRenderer renderer = new SoftwareRenderer(null, new Camera(new Vector3D(0, 0, 5), new Vector3D(0, 0, 0)));
+        renderer.setShowVertices(true);
+        renderer.setEditMode(true);
+        renderer.setVertexSize(8);
+        renderer.setSelection(model, 2, -1);
+
+        FrameBuffer frame = new FrameBuffer(WIDTH, HEIGHT);
+        // Рисуется снимок, выделение задано живой моделью: сравнение идёт по getRenderKey()
+        renderer.renderToBuffer(List.of(model.renderSnapshot()), frame);
+
+        int red = FrameBuffer.toArgb(Color.RED);
+        int yellow = FrameBuffer.toArgb(Color.YELLOW);
+        assertTrue(count(frame.getPixels(), red) > 0);
+        assertTrue(count(frame.getPixels(), yellow) > count(frame.getPixels(), red));
+    }
+}
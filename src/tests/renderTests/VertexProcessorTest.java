@@ -0,0 +1,51 @@
+package renderTests;
+
+import math.Camera;
+import math.LinealAlgebra.Vector3D;
+import math.Matrix.Matrix4x4;
+import org.junit.jupiter.api.Test;
+import scene_master.model.Model3D;
+import scene_master.renderer.SoftwareRenderer;
+import scene_master.renderer.TransformedMesh;
+import scene_master.renderer.VertexProcessor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VertexProcessorTest {
+
+    @Test
+    public void testMatchesPerVertexTransformAndProjection() {
+        Model3D model = new Model3D("test");
+        for (int i = 0; i < 8; i++) {
+            model.getVertices().add(new Vector3D((i & 1) * 2 - 1, (i >> 1 & 1) * 2 - 1, (i >> 2 & 1) * 2 - 1));
+        }
+        model.translateXProperty().set(0.5);
+        model.rotateYProperty().set(35);
+        model.rotateXProperty().set(-20);
+        model.scaleZProperty().set(1.5);
+
+        int width = 800, height = 600;
+        Camera camera = new Camera(new Vector3D(1, 2, 6), new Vector3D(0, 0, 0));
+        camera.setAspectRatio((float) width / height);
+        SoftwareRenderer renderer = new SoftwareRenderer(null, camera);
+        renderer.resize(width, height);
+
+        Matrix4x4 view = camera.getViewMatrix();
+        Matrix4x4 projection = camera.getProjectionMatrix();
+        TransformedMesh mesh = new VertexProcessor().process(model, projection.multiply(view), width, height);
+
+        assertEquals(8, mesh.getVertexCount());
+        for (int i = 0; i < 8; i++) {
+            double[] world = renderer.transformVertex(model.getVertices().get(i),
+                    0.5, 0, 0, Math.toRadians(-20), Math.toRadians(35), 0, 1, 1, 1.5);
+            double[] screen = renderer.projectWithCamera(world, view, projection);
+
+            for (int c = 0; c < 3; c++) {
+                assertEquals(world[c], mesh.world[i * 3 + c], 1e-4, "world " + i);
+            }
+            assertEquals(screen[0], mesh.screen[i * 3], 1e-2, "screen x " + i);
+            assertEquals(screen[1], mesh.screen[i * 3 + 1], 1e-2, "screen y " + i);
+            assertEquals(screen[2], mesh.screen[i * 3 + 2], 1e-4, "depth " + i);
+        }
+    }
+}
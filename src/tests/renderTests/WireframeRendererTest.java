@@ -0,0 +1,125 @@
+package renderTests;
+
+import math.LinealAlgebra.Vector3D;
+import org.junit.jupiter.api.Test;
+import scene_master.model.Model3D;
+import scene_master.model.Polygon;
+import scene_master.renderer.DepthBuffer;
+import scene_master.renderer.EdgeList;
+import scene_master.renderer.TransformedMesh;
+import scene_master.renderer.WireframeRenderer;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WireframeRendererTest {
+    private static final int WIDTH = 32, HEIGHT = 32;
+    private static final int COLOR = 0xFFFF0000;
+
+    private int countColored(int[] pixels) {
+        int count = 0;
+        for (int pixel : pixels) {
+            if (pixel == COLOR) count++;
+        }
+        return count;
+    }
+
+    @Test
+    public void testSharedEdgesAreListedOnce() {
+        // Два квадрата с общей стороной: 7 уникальных рёбер вместо 8
+        EdgeList edges = EdgeList.build(List.of(
+                new Polygon(new int[]{0, 1, 4, 3}),
+                new Polygon(new int[]{1, 2, 5, 4})), 0);
+
+        assertEquals(7, edges.getEdgeCount());
+        for (int i = 0; i < edges.getEdgeCount(); i++) {
+            assertTrue(edges.getFrom(i) < edges.getTo(i));
+            if (i > 0) {
+                long previous = ((long) edges.getFrom(i - 1) << 32) | edges.getTo(i - 1);
+                long current = ((long) edges.getFrom(i) << 32) | edges.getTo(i);
+                assertTrue(previous < current);
+            }
+        }
+    }
+
+    @Test
+    public void testEdgeListIsCachedUntilGeometryChanges() {
+        Model3D model = new Model3D("quad");
+        model.getVertices().addAll(List.of(
+                new Vector3D(0, 0, 0), new Vector3D(1, 0, 0), new Vector3D(1, 1, 0), new Vector3D(0, 1, 0)));
+        model.getPolygons().add(new Polygon(new int[]{0, 1, 2, 3}));
+
+        WireframeRenderer renderer = new WireframeRenderer();
+        EdgeList edges = renderer.getEdges(model);
+        assertSame(edges, renderer.getEdges(model));
+        assertSame(edges, renderer.getEdges(model.renderSnapshot()));
+
+        model.getPolygons().add(new Polygon(new int[]{0, 2, 3}));
+        EdgeList rebuilt = renderer.getEdges(model);
+        assertNotSame(edges, rebuilt);
+        assertEquals(5, rebuilt.getEdgeCount());
+    }
+
+    @Test
+    public void testLineIsClippedToViewport() {
+        // Горизонталь y = 10 от далеко слева до далеко справа: ровно ширина экрана пикселей
+        TransformedMesh mesh = RasterFixtures.screenMesh(WIDTH, HEIGHT,
+                new float[]{-1e7f, 10, 0}, new float[]{1e7f, 10, 0});
+        int[] pixels = new int[WIDTH * HEIGHT];
+        new WireframeRenderer().render(mesh, EdgeList.build(List.of(new Polygon(new int[]{0, 1})), 0),
+                pixels, null, WIDTH, HEIGHT, COLOR);
+
+        assertEquals(WIDTH, countColored(pixels));
+        for (int x = 0; x < WIDTH; x++) {
+            assertEquals(COLOR, pixels[10 * WIDTH + x]);
+        }
+    }
+
+    @Test
+    public void testLineOutsideViewportDrawsNothing() {
+        TransformedMesh mesh = RasterFixtures.screenMesh(WIDTH, HEIGHT,
+                new float[]{-50, -5, 0}, new float[]{100, -1, 0});
+        int[] pixels = new int[WIDTH * HEIGHT];
+        new WireframeRenderer().render(mesh, EdgeList.build(List.of(new Polygon(new int[]{0, 1})), 0),
+                pixels, null, WIDTH, HEIGHT, COLOR);
+        assertEquals(0, countColored(pixels));
+    }
+
+    @Test
+    public void testEdgeBehindNearPlaneIsSkipped() {
+        TransformedMesh mesh = RasterFixtures.screenMesh(WIDTH, HEIGHT, new float[]{2, 2, 0}, new float[]{20, 20, 0});
+        // Обе вершины за ближней плоскостью z < -w
+        mesh.setClip(0, 0, 0, -2, 1);
+        mesh.setClip(1, 0, 0, -3, 1);
+        int[] pixels = new int[WIDTH * HEIGHT];
+        new WireframeRenderer().render(mesh, EdgeList.build(List.of(new Polygon(new int[]{0, 1})), 0),
+                pixels, null, WIDTH, HEIGHT, COLOR);
+        assertEquals(0, countColored(pixels));
+    }
+
+    @Test
+    public void testDepthTestHidesOccludedPart() {
+        // Поверхность на глубине 0.5 закрывает правую половину экрана
+        DepthBuffer depth = new DepthBuffer(WIDTH, HEIGHT);
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int x = WIDTH / 2; x < WIDTH; x++) {
+                depth.getData()[y * WIDTH + x] = 0.5f;
+            }
+        }
+        EdgeList edges = EdgeList.build(List.of(new Polygon(new int[]{0, 1}), new Polygon(new int[]{2, 3})), 0);
+        TransformedMesh mesh = RasterFixtures.screenMesh(WIDTH, HEIGHT,
+                new float[]{0, 5, 0.9f}, new float[]{WIDTH - 1, 5, 0.9f},
+                new float[]{0, 20, 0.5f}, new float[]{WIDTH - 1, 20, 0.5f});
+
+        int[] pixels = new int[WIDTH * HEIGHT];
+        new WireframeRenderer().render(mesh, edges, pixels, depth.getData(), WIDTH, HEIGHT, COLOR);
+
+        for (int x = 0; x < WIDTH; x++) {
+            // Дальняя линия видна только там, где поверхности нет
+            assertEquals(x < WIDTH / 2 ? COLOR : 0, pixels[5 * WIDTH + x], "x = " + x);
+            // Линия на самой поверхности (ребро её же грани) видна целиком
+            assertEquals(COLOR, pixels[20 * WIDTH + x], "x = " + x);
+        }
+    }
+}